@@ -0,0 +1,424 @@
+package gui_gui;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Headless batch mode: solves every job of a job file (see BatchJob) and streams one result
+// line per job, in input order, to stdout or a file. Never touches AWT or Swing, so it runs on
+// servers without a display:
+//
+//   java -cp GUI_GUI.jar:exp4j.jar gui_gui.BatchCli jobs.txt [-o results.jsonl] [--threads N]
+//        [--window N] [--time-limit S] [--format json|text]
+//
+// Jobs run on --threads worker threads (default: one per core). At most --window jobs (default
+// 64 per thread) are read ahead of the writer, so memory stays bounded however long the file
+// is; the reader waits when the window is full. "-" reads the jobs from stdin.
+//
+// Methods and their parameters (tol defaults to 1e-6, f may also be given as expr):
+//   fixed-point   g x0 [tol] [maxIter=100]        newton     f x0 [tol]
+//   secant        f x0 x1 [tol]                   bisection  f a b [tol]
+//   false-position f a b [tol]                    brent      f a b [tol] [maxEvaluations=100]
+//   all-roots     f a b [tol] [samples=10000] [refinement=brent|bisection|false_position]
+//   evaluate      f x                             multiply   A B   (as the Matrix panel: [1,2;3,4] or file:...)
+//   cramer | gauss                 equations
+//   jacobi        equations [tol=1e-3] [iterations=100] [guess]
+//   gauss-seidel  equations [tol] [omega=1] [iterations=10000] [guess]
+// equations are separated by ';' (or given as a JSON array), guess as "1, 0, 0".
+//
+// JSON output, one object per line:
+//   {"line":3,"method":"bisection","status":"ok","evaluations":42,"iterations":40,"millis":0.12,
+//    "output":"Root ≈ 1.16...","x":[...]}
+// status is ok, error (with "error") or stopped (time limit or iteration budget). x is present
+// for the methods with a vector answer (linear systems, all-roots, evaluate).
+//
+// Jobs are reported to SolverMetrics; with -Dgui_gui.metrics.file the metrics file and the
+// MXBeans are published as in the GUI.
+public final class BatchCli {
+
+    public static final double DEFAULT_TOLERANCE = 1e-6;
+    public static final double DEFAULT_TIME_LIMIT_SECONDS = 30;
+    static final int WINDOW_PER_THREAD = 64;
+
+    private BatchCli() {
+    }
+
+    // A job's answer: the text the panel would show, plus the solution vector where there is one
+    record Output(String text, double[] x) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String input = null, output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int window = 0;
+        double timeLimit = DEFAULT_TIME_LIMIT_SECONDS;
+        boolean json = true;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-o", "--output" -> output = argument(args, ++i);
+                case "--threads" -> threads = Integer.parseInt(argument(args, ++i));
+                case "--window" -> window = Integer.parseInt(argument(args, ++i));
+                case "--time-limit" -> timeLimit = Double.parseDouble(argument(args, ++i));
+                case "--format" -> json = !"text".equalsIgnoreCase(argument(args, ++i));
+                default -> {
+                    if (input != null) usage("unexpected argument " + args[i]);
+                    input = args[i];
+                }
+            }
+        }
+        if (input == null) usage("no job file given");
+        if (threads < 1) usage("--threads must be at least 1");
+        if (window <= 0) window = WINDOW_PER_THREAD * threads;
+        if (System.getProperty("gui_gui.metrics.file") != null) SolverMetrics.install();
+
+        try (BufferedReader in = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(input), StandardCharsets.UTF_8);
+             Writer out = output == null
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                     : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8)) {
+            long[] counts = run(in, out, threads, window, (long) (timeLimit * 1e9), json);
+            if (output != null) {
+                System.err.printf("%d jobs: %d ok, %d failed or stopped%n", counts[0], counts[0] - counts[1], counts[1]);
+            }
+        }
+    }
+
+    private static String argument(String[] args, int i) {
+        if (i >= args.length) usage(args[i - 1] + " needs a value");
+        return args[i];
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("usage: BatchCli <jobs.txt|-> [-o results] [--threads N] [--window N] [--time-limit S] [--format json|text]");
+        System.exit(2);
+    }
+
+    // Reads jobs from in until it ends and writes one line per job to out, in input order.
+    // Returns {jobs, jobs that did not end ok}.
+    static long[] run(BufferedReader in, Writer out, int threads, int window, long timeLimitNanos, boolean json)
+            throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread t = new Thread(task, "batch-solver");
+            t.setDaemon(true);
+            return t;
+        });
+        // results in input order; put() blocks the reader once `window` jobs are pending
+        BlockingQueue<CompletableFuture<Result>> pending = new ArrayBlockingQueue<>(window);
+        CompletableFuture<Result> end = CompletableFuture.completedFuture(null);
+        long[] counts = new long[2];
+        // set by the writer when it dies; the reader then stops instead of waiting on a full window
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread writer = new Thread(() -> {
+            try {
+                while (true) {
+                    CompletableFuture<Result> next = pending.take();
+                    Result r = next.join();
+                    if (r == null) break;
+                    counts[0]++;
+                    if (!r.status().equals("ok")) counts[1]++;
+                    out.write(json ? r.json() : r.text());
+                    out.write('\n');
+                    if (pending.isEmpty()) out.flush(); // keep streaming while the solvers catch up
+                }
+                out.flush();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable ex) {
+                failure.set(ex);
+                pool.shutdownNow();
+                pending.clear();
+            }
+        }, "batch-writer");
+        writer.start();
+
+        try {
+            String text;
+            long line = 0;
+            while ((text = in.readLine()) != null && failure.get() == null) {
+                line++;
+                if (!BatchJob.isJob(text)) continue;
+                long lineNumber = line;
+                BatchJob job;
+                try {
+                    job = BatchJob.parse(lineNumber, text);
+                } catch (Exception ex) {
+                    enqueue(pending, CompletableFuture.completedFuture(Result.error(lineNumber, "?", ex)), failure);
+                    continue;
+                }
+                try {
+                    enqueue(pending, CompletableFuture.supplyAsync(() -> solve(job, SolverContext.DEFAULT_MAX_ITERATIONS, timeLimitNanos), pool), failure);
+                } catch (RejectedExecutionException ex) {
+                    break; // the writer failed and shut the pool down
+                }
+            }
+        } finally {
+            enqueue(pending, end, failure);
+            writer.join();
+            pool.shutdown();
+        }
+        Throwable ex = failure.get();
+        if (ex instanceof IOException io) throw io;
+        if (ex instanceof RuntimeException re) throw re;
+        if (ex instanceof Error e) throw e;
+        return counts;
+    }
+
+    // put(), except that it gives up once the writer has failed and nothing drains the queue
+    private static void enqueue(BlockingQueue<CompletableFuture<Result>> pending, CompletableFuture<Result> result,
+                                AtomicReference<Throwable> failure) throws InterruptedException {
+        while (failure.get() == null) {
+            if (pending.offer(result, 100, TimeUnit.MILLISECONDS)) return;
+        }
+    }
+
+    // ---------------------------------------------------------------- one job
+
+    // cached: answered by ResultCache, so evaluations and iterations are 0 and nanos is the lookup
+    record Result(long line, String method, String status, String output, double[] x, String error,
+                  long evaluations, long iterations, long nanos, boolean cached) {
+
+        static Result error(long line, String method, Exception ex) {
+            return new Result(line, method, "error", null, null, String.valueOf(ex.getMessage()), 0, 0, 0, false);
+        }
+
+        String json() {
+            StringBuilder sb = new StringBuilder(128);
+            sb.append('{');
+            if (line > 0) sb.append("\"line\":").append(line).append(',');
+            sb.append("\"method\":");
+            quote(sb, method);
+            sb.append(",\"status\":\"").append(status).append('"');
+            if (error != null) {
+                sb.append(",\"error\":");
+                quote(sb, error);
+            }
+            sb.append(",\"evaluations\":").append(evaluations).append(",\"iterations\":").append(iterations);
+            sb.append(",\"millis\":").append(String.format(Locale.ROOT, "%.3f", nanos / 1e6));
+            if (cached) sb.append(",\"cached\":true");
+            if (output != null) {
+                sb.append(",\"output\":");
+                quote(sb, output);
+            }
+            if (x != null) {
+                sb.append(",\"x\":[");
+                for (int i = 0; i < x.length; i++) {
+                    if (i > 0) sb.append(',');
+                    double v = x[i];
+                    if (Double.isFinite(v)) sb.append(v);
+                    else sb.append("null");
+                }
+                sb.append(']');
+            }
+            return sb.append('}').toString();
+        }
+
+        String text() {
+            String body = error != null ? "Error: " + error : output == null ? "" : output.replace("\n", "\n    ");
+            return "#" + line + " " + method + " [" + status + (cached ? ", cached" : "") + "]: " + body;
+        }
+
+        static void quote(StringBuilder sb, String s) {
+            sb.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"' -> sb.append("\\\"");
+                    case '\\' -> sb.append("\\\\");
+                    case '\n' -> sb.append("\\n");
+                    case '\r' -> sb.append("\\r");
+                    case '\t' -> sb.append("\\t");
+                    default -> {
+                        if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                        else sb.append(c);
+                    }
+                }
+            }
+            sb.append('"');
+        }
+    }
+
+    // The method names solve() accepts, after normalize()
+    static final List<String> METHODS = List.of("fixed-point", "newton", "secant", "bisection", "false-position",
+            "brent", "all-roots", "evaluate", "multiply", "cramer", "gauss", "jacobi", "gauss-seidel");
+
+    // Lower case, with '-' for '_' and spaces: "False_Position" and "false position" are "false-position"
+    static String normalize(String method) {
+        String m = method.strip().toLowerCase(Locale.ROOT).replace('_', '-').replace(' ', '-');
+        return m.equals("newton-raphson") ? "newton" : m;
+    }
+
+    static Result solve(BatchJob job, long maxIterations, long timeLimitNanos) {
+        String method = normalize(job.method());
+        SolverMetrics.Job metric = SolverMetrics.get().started(metricName(method));
+        ResultCache.Key key = cacheKey(method, job, maxIterations);
+        if (key != null) {
+            long start = System.nanoTime();
+            ResultCache.Cached hit = ResultCache.shared().get(key);
+            if (hit != null) {
+                long nanos = System.nanoTime() - start;
+                SolverMetrics.get().finished(metric, SolverMetrics.Outcome.COMPLETED,
+                        new SolverStats(0, 0, nanos, SolverStats.UNAVAILABLE), null);
+                return new Result(job.line(), method, "ok", hit.text(), hit.x(), null, 0, 0, nanos, true);
+            }
+        }
+
+        SolverContext ctx = new SolverContext(maxIterations, timeLimitNanos,
+                IterationTrace.Level.NONE, null);
+        SolverMetrics.Outcome outcome = SolverMetrics.Outcome.FAILED;
+        Result result;
+        try {
+            Output o = solve(method, job, ctx);
+            outcome = SolverMetrics.Outcome.COMPLETED;
+            result = new Result(job.line(), method, "ok", o.text().strip(), o.x(), null,
+                    ctx.evaluations(), ctx.iterations(), ctx.elapsedNanos(), false);
+            if (key != null) ResultCache.shared().put(key, new ResultCache.Cached(result.output(), o.x()));
+        } catch (SolverCancelledException ex) {
+            outcome = SolverMetrics.Outcome.STOPPED;
+            result = new Result(job.line(), method, "stopped", null, null, ex.getMessage(),
+                    ctx.evaluations(), ctx.iterations(), ctx.elapsedNanos(), false);
+        } catch (Exception | StackOverflowError ex) {
+            String message = ex instanceof StackOverflowError ? "recursion too deep for this input" : ex.getMessage();
+            result = new Result(job.line(), method, "error", null, null, String.valueOf(message),
+                    ctx.evaluations(), ctx.iterations(), ctx.elapsedNanos(), false);
+        }
+        SolverMetrics.get().finished(metric, outcome, new SolverStats(ctx.evaluations(), ctx.iterations(),
+                ctx.elapsedNanos(), SolverStats.UNAVAILABLE), result.error());
+        return result;
+    }
+
+    // The ResultCache key of a job, or null when its result must not be reused: all-roots reports
+    // its own timing, and a matrix read from a file may have changed since. The iteration budget
+    // is part of the key (a lower one may stop where a full one finished); the time limit is not,
+    // since a cached answer arrives within any limit.
+    private static ResultCache.Key cacheKey(String method, BatchJob job, long maxIterations) {
+        if (!ResultCache.shared().enabled() || !METHODS.contains(method) || method.equals("all-roots")) return null;
+        for (String value : job.params().values()) {
+            if (value.startsWith(MatrixIO.FILE_PREFIX)) return null;
+        }
+        return ResultCache.key("batch/" + method, job.params(), maxIterations);
+    }
+
+    // The GUI's sidebar names, so both report under the same method in SolverMetrics
+    private static String metricName(String method) {
+        return switch (method) {
+            case "fixed-point" -> "Fixed Point Iteration";
+            case "newton" -> "Newton-Raphson Method";
+            case "secant" -> "Secant Method";
+            case "bisection" -> "Bisection Method";
+            case "false-position" -> "False Position Method";
+            case "brent" -> "Brent's Method";
+            case "multiply" -> "Matrix Operations";
+            case "cramer" -> "Cramer's Rule";
+            case "gauss" -> "Gaussian Elimination";
+            case "jacobi" -> "Jacobi Method";
+            case "gauss-seidel" -> "Gauss-Seidel Method";
+            case "all-roots" -> "All Roots";
+            default -> "Expression";
+        };
+    }
+
+    private static Output solve(String method, BatchJob job, SolverContext ctx) throws Exception {
+        switch (method) {
+            case "fixed-point" -> {
+                return text(NumericalMethods.runFixedPointIteration(expression(job, "g", "f", "expr"), job.number("x0"),
+                        tol(job), job.integer("maxIter", 100), ctx));
+            }
+            case "newton" -> {
+                return text(NumericalMethods.runNewtonRaphsonAuto(expression(job), job.number("x0"), tol(job), ctx));
+            }
+            case "secant" -> {
+                return text(NumericalMethods.runSecantMethod(expression(job), job.number("x0"), job.number("x1"),
+                        tol(job), ctx));
+            }
+            case "bisection" -> {
+                return text(NumericalMethods.runBisectionMethod(expression(job), job.number("a"), job.number("b"),
+                        tol(job), ctx));
+            }
+            case "false-position" -> {
+                return text(NumericalMethods.runFalsePositionMethod(expression(job), job.number("a"), job.number("b"),
+                        tol(job), ctx));
+            }
+            case "brent" -> {
+                return text(NumericalMethods.runBrentMethod(expression(job), job.number("a"), job.number("b"), tol(job),
+                        job.integer("maxEvaluations", 100), ctx));
+            }
+            case "all-roots" -> {
+                String refinement = job.get("refinement");
+                RootScan.Result r = RootScan.findAll(expression(job), job.number("a"), job.number("b"),
+                        job.integer("samples", RootScan.DEFAULT_SAMPLES), tol(job),
+                        refinement == null ? RootScan.Refinement.BRENT
+                                : RootScan.Refinement.valueOf(refinement.strip().toUpperCase(Locale.ROOT).replace('-', '_')),
+                        ForkJoinPool.commonPool(), ctx);
+                return new Output(r.summary(), r.xs());
+            }
+            case "evaluate" -> {
+                double value = MathParser.evaluate(expression(job), job.number("x"));
+                return new Output(String.valueOf(value), new double[] {value});
+            }
+            case "multiply" -> {
+                DenseMatrix product = NumericalMethods.multiplyMatrices(MatrixIO.load(job.require("A", "a")),
+                        MatrixIO.load(job.require("B", "b")), ctx);
+                return text(MatrixIO.format(product));
+            }
+            case "cramer" -> {
+                LinearSystem system = system(job);
+                double[] x = DenseSolvers.cramerRule(system.A(), system.b(), ctx).x();
+                return new Output(system.format(x), x);
+            }
+            case "gauss" -> {
+                LinearSystem system = system(job);
+                double[] x = DenseSolvers.gaussianElimination(system.A(), system.b(), ctx);
+                return new Output(system.format(x), x);
+            }
+            case "jacobi" -> {
+                LinearSystem system = system(job);
+                double[] x = DenseSolvers.jacobi(system.A(), system.b(), system.parseVector(job.get("guess")),
+                        job.integer("iterations", 100), job.number("tol", 1e-3), ctx);
+                return new Output("After " + ctx.iterations() + " iterations:\n" + system.format(x), x);
+            }
+            case "gauss-seidel" -> {
+                LinearSystem system = system(job);
+                double[] x = DenseSolvers.sor(system.A(), system.b(), system.parseVector(job.get("guess")),
+                        job.integer("iterations", 10_000), tol(job), job.number("omega", 1), system.variables(), ctx);
+                return new Output(NumericalMethods.gaussSeidelReport(system.variables(), x, ctx), x);
+            }
+            default -> throw new Exception("unknown method \"" + job.method() + "\"");
+        }
+    }
+
+    private static Output text(String text) {
+        return new Output(text, null);
+    }
+
+    private static String expression(BatchJob job, String... keys) throws Exception {
+        return NumericalMethods.cleanExpression(job.require(keys.length == 0 ? new String[] {"f", "expr"} : keys));
+    }
+
+    private static double tol(BatchJob job) throws Exception {
+        return job.number("tol", DEFAULT_TOLERANCE);
+    }
+
+    private static LinearSystem system(BatchJob job) throws Exception {
+        return LinearSystem.parse(job.require("equations", "eq"));
+    }
+}
@@ -0,0 +1,174 @@
+package gui_gui;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// f over whole arrays of x: out[i] = f(xs[i]). Instead of walking the expression once per point,
+// the points are taken in blocks of BLOCK and the expression is walked once per block, each node
+// computing its value for the whole block into its own buffer. The per-node loops run on the
+// Vector API (VectorKernels) when the jdk.incubator.vector module is present
+// (--add-modules jdk.incubator.vector), and as plain loops otherwise.
+//
+// Values follow ExpressionTree's runtime semantics; the vector sin, exp, ..., x^3 and x^4 taken as
+// products and e^x taken as exp(x) may differ from Math.pow and friends in the last bit. Division
+// by zero anywhere in a block throws ArithmeticException for the whole call. The buffers make an
+// instance single-threaded; copy() gets fresh ones.
+final class BatchExpression {
+
+    static final int BLOCK = 256;
+
+    private static final int E_POWER = 1;
+
+    // Elementwise kernels over entries [from, to) of the buffers
+    interface Kernels {
+        void negate(double[] a, double[] out, int from, int to);
+
+        void binary(ExpressionTree.Op op, double[] a, double[] b, double[] out, int from, int to);
+
+        // b holds the second argument of two-argument functions and is null otherwise
+        void call(ExpressionTree.Function fn, double[] a, double[] b, double[] out, int from, int to);
+    }
+
+    static final Kernels SCALAR = new Kernels() {
+        @Override
+        public void negate(double[] a, double[] out, int from, int to) {
+            for (int i = from; i < to; i++) out[i] = -a[i];
+        }
+
+        @Override
+        public void binary(ExpressionTree.Op op, double[] a, double[] b, double[] out, int from, int to) {
+            for (int i = from; i < to; i++) out[i] = ExpressionTree.apply(op, a[i], b[i]);
+        }
+
+        @Override
+        public void call(ExpressionTree.Function fn, double[] a, double[] b, double[] out, int from, int to) {
+            for (int i = from; i < to; i++) out[i] = ExpressionTree.apply(fn, a[i], b == null ? 0d : b[i]);
+        }
+    };
+
+    private static final boolean VECTOR_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    private static final Kernels PREFERRED = VECTOR_AVAILABLE ? new VectorKernels() : SCALAR;
+
+    private final List<ExpressionTree.Node> nodes;
+    private final int[] left;  // slot of the first operand, -1 for leaves
+    private final int[] right; // slot of the second operand, -1 when there is none
+    private final int[] power; // 2..4 for a^2 .. a^4, E_POWER for e^b, 0 for any other power
+    private final Kernels kernels;
+    private final double[][] buffers;
+
+    private BatchExpression(List<ExpressionTree.Node> nodes, int[] left, int[] right, int[] power, Kernels kernels) {
+        this.nodes = nodes;
+        this.left = left;
+        this.right = right;
+        this.power = power;
+        this.kernels = kernels;
+        this.buffers = new double[nodes.size()][BLOCK];
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i) instanceof ExpressionTree.Constant c) Arrays.fill(buffers[i], c.value());
+        }
+    }
+
+    // Vector kernels when available. Throws IllegalArgumentException for anything ExpressionTree
+    // cannot parse.
+    static BatchExpression compile(String expression) {
+        return compile(expression, true);
+    }
+
+    // vector = false forces the plain loops, e.g. to compare the two
+    static BatchExpression compile(String expression, boolean vector) {
+        List<ExpressionTree.Node> nodes = ExpressionTree.postorder(ExpressionTree.parse(expression, "x"));
+        int n = nodes.size();
+        int[] left = new int[n];
+        int[] right = new int[n];
+        int[] power = new int[n];
+        Map<ExpressionTree.Node, Integer> slot = new IdentityHashMap<>();
+        for (int i = 0; i < n; i++) {
+            ExpressionTree.Node node = nodes.get(i);
+            slot.put(node, i);
+            left[i] = -1;
+            right[i] = -1;
+            switch (node) {
+                case ExpressionTree.Negate neg -> left[i] = slot.get(neg.operand());
+                case ExpressionTree.Binary bin -> {
+                    left[i] = slot.get(bin.left());
+                    right[i] = slot.get(bin.right());
+                    if (bin.op() == ExpressionTree.Op.POW) power[i] = powerKind(bin.left(), bin.right());
+                }
+                case ExpressionTree.Call c -> {
+                    left[i] = slot.get(c.args()[0]);
+                    if (c.args().length > 1) right[i] = slot.get(c.args()[1]);
+                    if (c.function() == ExpressionTree.Function.POW) power[i] = powerKind(c.args()[0], c.args()[1]);
+                }
+                default -> {
+                }
+            }
+        }
+        return new BatchExpression(nodes, left, right, power, vector ? PREFERRED : SCALAR);
+    }
+
+    // Polynomials are mostly a^2 .. a^4, which cost a few multiplications instead of a pow
+    // (a * a is exactly Math.pow(a, 2); a^3 and a^4 may differ from pow in the last bit), and
+    // e^b is exp(b), which has a vector kernel
+    private static int powerKind(ExpressionTree.Node base, ExpressionTree.Node exponent) {
+        if (base instanceof ExpressionTree.Constant c && c.value() == Math.E) return E_POWER;
+        if (exponent instanceof ExpressionTree.Constant c && (c.value() == 2 || c.value() == 3 || c.value() == 4)) {
+            return (int) c.value();
+        }
+        return 0;
+    }
+
+    static boolean vectorAvailable() {
+        return VECTOR_AVAILABLE;
+    }
+
+    boolean isVectorized() {
+        return kernels != SCALAR;
+    }
+
+    BatchExpression copy() {
+        return new BatchExpression(nodes, left, right, power, kernels);
+    }
+
+    // out[i] = f(xs[i]) for every i; out may be xs itself
+    void evaluate(double[] xs, double[] out) {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("Output holds " + out.length + " values, expected " + xs.length);
+        }
+        int last = nodes.size() - 1;
+        for (int from = 0; from < xs.length; from += BLOCK) {
+            int n = Math.min(BLOCK, xs.length - from);
+            for (int i = 0; i <= last; i++) {
+                int l = left[i], r = right[i];
+                double[] buf = buffers[i];
+                switch (nodes.get(i)) {
+                    case ExpressionTree.Constant c -> {
+                    }
+                    case ExpressionTree.Variable v -> System.arraycopy(xs, from, buf, 0, n);
+                    case ExpressionTree.Negate neg -> kernels.negate(buffers[l], buf, 0, n);
+                    case ExpressionTree.Binary bin -> {
+                        if (power[i] != 0) power(power[i], buffers[l], buffers[r], buf, n);
+                        else kernels.binary(bin.op(), buffers[l], buffers[r], buf, 0, n);
+                    }
+                    case ExpressionTree.Call c -> {
+                        if (power[i] != 0) power(power[i], buffers[l], buffers[r], buf, n);
+                        else kernels.call(c.function(), buffers[l], r < 0 ? null : buffers[r], buf, 0, n);
+                    }
+                }
+            }
+            System.arraycopy(buffers[last], 0, out, from, n);
+        }
+    }
+
+    // buf = e^b, or a^k for k = 2, 3, 4 as a*a, (a*a)*a, (a*a)*(a*a)
+    private void power(int k, double[] a, double[] b, double[] buf, int n) {
+        if (k == E_POWER) {
+            kernels.call(ExpressionTree.Function.EXP, b, null, buf, 0, n);
+            return;
+        }
+        kernels.binary(ExpressionTree.Op.MUL, a, a, buf, 0, n);
+        if (k == 3) kernels.binary(ExpressionTree.Op.MUL, buf, a, buf, 0, n);
+        if (k == 4) kernels.binary(ExpressionTree.Op.MUL, buf, buf, buf, 0, n);
+    }
+}
@@ -0,0 +1,230 @@
+package gui_gui;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// One job of a BatchCli job file: a method name and its parameters, from either form of line
+//   bisection f="x^3 - 4cos(x)" a=1 b=2 tol=1e-8
+//   {"method": "gauss", "equations": ["2x - y = 1", "x + y = 5"]}
+// Values are kept as text and converted by the accessors. Quoted values may hold spaces; JSON
+// arrays become their elements joined by "; ", which is what the equation and vector fields take.
+public record BatchJob(long line, String method, Map<String, String> params) {
+
+    // Blank lines and lines starting with '#' hold no job
+    public static boolean isJob(String text) {
+        String t = text.strip();
+        return !t.isEmpty() && t.charAt(0) != '#';
+    }
+
+    public static BatchJob parse(long line, String text) throws Exception {
+        String t = text.strip();
+        Map<String, String> params = t.startsWith("{") ? new JsonObject(t).parse() : keyValues(t);
+        String method = params.remove("method");
+        if (method == null || method.isBlank()) throw new Exception("no method given");
+        return new BatchJob(line, method.strip().toLowerCase(Locale.ROOT), params);
+    }
+
+    // A JSON object holding only the parameters, for a method named elsewhere (SolverServer's path)
+    public static BatchJob fromJson(String method, String json) throws Exception {
+        Map<String, String> params = json.isBlank() ? new LinkedHashMap<>() : new JsonObject(json.strip()).parse();
+        params.remove("method");
+        return new BatchJob(0, method.strip().toLowerCase(Locale.ROOT), params);
+    }
+
+    // Removes key and returns its value, or null; for options that are not solver parameters
+    public String take(String key) {
+        return params.remove(key);
+    }
+
+    public String get(String key) {
+        return params.get(key);
+    }
+
+    // The first of the keys that is present (aliases such as f / expr), or an error naming the first
+    public String require(String... keys) throws Exception {
+        for (String key : keys) {
+            String value = params.get(key);
+            if (value != null) return value;
+        }
+        throw new Exception(method + " needs " + keys[0]);
+    }
+
+    public double number(String key) throws Exception {
+        return toDouble(key, require(key));
+    }
+
+    public double number(String key, double otherwise) throws Exception {
+        String value = params.get(key);
+        return value == null ? otherwise : toDouble(key, value);
+    }
+
+    public int integer(String key, int otherwise) throws Exception {
+        String value = params.get(key);
+        if (value == null) return otherwise;
+        try {
+            return Integer.parseInt(value.strip());
+        } catch (NumberFormatException ex) {
+            throw new Exception(key + " must be a whole number, got \"" + value + "\"");
+        }
+    }
+
+    private static double toDouble(String key, String value) throws Exception {
+        try {
+            return Double.parseDouble(value.strip());
+        } catch (NumberFormatException ex) {
+            throw new Exception(key + " must be a number, got \"" + value + "\"");
+        }
+    }
+
+    // method key=value key="value with spaces" ...
+    private static Map<String, String> keyValues(String text) throws Exception {
+        Map<String, String> params = new LinkedHashMap<>();
+        int n = text.length();
+        int i = 0;
+        while (i < n && !Character.isWhitespace(text.charAt(i))) i++;
+        params.put("method", text.substring(0, i));
+        while (true) {
+            while (i < n && Character.isWhitespace(text.charAt(i))) i++;
+            if (i >= n) return params;
+            int eq = text.indexOf('=', i);
+            if (eq < 0) throw new Exception("expected key=value at \"" + text.substring(i) + "\"");
+            String key = text.substring(i, eq).strip();
+            if (key.isEmpty() || key.chars().anyMatch(Character::isWhitespace)) {
+                throw new Exception("expected key=value at \"" + text.substring(i) + "\"");
+            }
+            i = eq + 1;
+            StringBuilder value = new StringBuilder();
+            if (i < n && text.charAt(i) == '"') {
+                i++;
+                while (i < n && text.charAt(i) != '"') {
+                    char c = text.charAt(i++);
+                    if (c == '\\' && i < n) c = text.charAt(i++);
+                    value.append(c);
+                }
+                if (i >= n) throw new Exception("unterminated quote in " + key);
+                i++;
+            } else {
+                while (i < n && !Character.isWhitespace(text.charAt(i))) value.append(text.charAt(i++));
+            }
+            params.put(key, value.toString());
+        }
+    }
+
+    // A flat JSON object: string, number, boolean and null members, and arrays of those
+    private static final class JsonObject {
+        private final String text;
+        private int i;
+
+        JsonObject(String text) {
+            this.text = text;
+        }
+
+        Map<String, String> parse() throws Exception {
+            Map<String, String> params = new LinkedHashMap<>();
+            expect('{');
+            skip();
+            if (peek() == '}') {
+                i++;
+                return params;
+            }
+            while (true) {
+                skip();
+                String key = string();
+                skip();
+                expect(':');
+                skip();
+                String value = peek() == '[' ? array() : scalar();
+                if (value != null) params.put(key, value);
+                skip();
+                char c = next();
+                if (c == '}') break;
+                if (c != ',') throw error("expected ',' or '}'");
+            }
+            skip();
+            if (i < text.length()) throw error("unexpected text after the object");
+            return params;
+        }
+
+        private String array() throws Exception {
+            expect('[');
+            StringBuilder sb = new StringBuilder();
+            skip();
+            if (peek() == ']') {
+                i++;
+                return "";
+            }
+            while (true) {
+                skip();
+                String element = scalar();
+                if (sb.length() > 0) sb.append("; ");
+                if (element != null) sb.append(element);
+                skip();
+                char c = next();
+                if (c == ']') return sb.toString();
+                if (c != ',') throw error("expected ',' or ']'");
+            }
+        }
+
+        // null for JSON null
+        private String scalar() throws Exception {
+            char c = peek();
+            if (c == '"') return string();
+            int start = i;
+            while (i < text.length() && "+-.0123456789eEtrufalsn".indexOf(text.charAt(i)) >= 0) i++;
+            String word = text.substring(start, i);
+            if (word.isEmpty()) throw error("expected a value");
+            return word.equals("null") ? null : word;
+        }
+
+        private String string() throws Exception {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char e = next();
+                switch (e) {
+                    case 'n' -> sb.append('\n');
+                    case 't' -> sb.append('\t');
+                    case 'r' -> sb.append('\r');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (i + 4 > text.length()) throw error("bad \\u escape");
+                        sb.append((char) Integer.parseInt(text.substring(i, i + 4), 16));
+                        i += 4;
+                    }
+                    default -> sb.append(e);
+                }
+            }
+        }
+
+        private void skip() {
+            while (i < text.length() && Character.isWhitespace(text.charAt(i))) i++;
+        }
+
+        private char peek() throws Exception {
+            if (i >= text.length()) throw error("unexpected end of line");
+            return text.charAt(i);
+        }
+
+        private char next() throws Exception {
+            char c = peek();
+            i++;
+            return c;
+        }
+
+        private void expect(char c) throws Exception {
+            if (next() != c) throw error("expected '" + c + "'");
+        }
+
+        private Exception error(String message) {
+            return new Exception("JSON: " + message + " at column " + (i + 1));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package gui_gui;
+
+import java.util.function.DoubleUnaryOperator;
+
+// Refines one sign-changing bracket [a, b] with the panels' bisection and false-position rules,
+// for the callers that solve many brackets without a trace (ParameterSweep, RootScan), and with
+// Brent's method, which the Brent panel also runs with a trace
+final class Bracketing {
+
+    private static final double EPS = Math.ulp(1d);
+
+    private Bracketing() {
+    }
+
+    // The last estimate and the iterations it took; converged is false when maxIter ran out
+    record Refined(double root, int iterations, boolean converged) {
+    }
+
+    // Stops as runBisectionMethod: |f(c)| < tol or half the bracket below tol
+    static Refined bisection(DoubleUnaryOperator f, double a, double b, double fa, double tol, int maxIter) {
+        double c = a;
+        for (int i = 1; i <= maxIter; i++) {
+            c = (a + b) / 2;
+            double fc = f.applyAsDouble(c);
+            if (Math.abs(fc) < tol || (b - a) / 2 < tol) return new Refined(c, i, true);
+            if (fa * fc < 0) {
+                b = c;
+            } else {
+                a = c;
+                fa = fc;
+            }
+        }
+        return new Refined(c, maxIter, false);
+    }
+
+    // Stops as runFalsePositionMethod: |f(x2)| <= tol, but within maxIter
+    static Refined falsePosition(DoubleUnaryOperator f, double a, double b, double fa, double fb, double tol, int maxIter) {
+        double c = a;
+        for (int i = 1; i <= maxIter; i++) {
+            c = b - fb * (b - a) / (fb - fa);
+            double fc = f.applyAsDouble(c);
+            if (Math.abs(fc) <= tol) return new Refined(c, i, true);
+            if (fa * fc < 0) {
+                b = c;
+                fb = fc;
+            } else {
+                a = c;
+                fa = fc;
+            }
+        }
+        return new Refined(c, maxIter, false);
+    }
+
+    static Refined brent(DoubleUnaryOperator f, double a, double b, double fa, double fb, double tol, int maxEvaluations) {
+        return brent(f, a, b, fa, fb, tol, maxEvaluations, null, null);
+    }
+
+    // Brent's method: inverse quadratic interpolation or a secant step when it lands well inside
+    // the bracket and shrinks it fast enough, a bisection step otherwise, so it is never slower
+    // than bisection by more than a constant factor and superlinear near a simple root. Stops when
+    // the bracket around the best estimate is within tol (plus rounding), or f is exactly 0 there.
+    // Here iterations counts the evaluations of f beyond fa and fb, at most maxEvaluations; when
+    // the budget runs out root is the best estimate so far. trace and ctx may be null.
+    static Refined brent(DoubleUnaryOperator f, double a, double b, double fa, double fb, double tol, int maxEvaluations,
+                         IterationTrace trace, SolverContext ctx) {
+        double c = b, fc = fb;
+        double d = b - a, e = d; // the last step and the one before it
+        int evaluations = 0;
+        while (true) {
+            if ((fb > 0 && fc > 0) || (fb < 0 && fc < 0)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            // b is the best estimate, c the other end of the bracket, a the previous b
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+            if (trace != null && evaluations > 0) trace.record(evaluations, Math.min(b, c), Math.max(b, c), b, fb);
+            double tol1 = 2 * EPS * Math.abs(b) + 0.5 * tol;
+            double xm = 0.5 * (c - b);
+            if (Math.abs(xm) <= tol1 || fb == 0) return new Refined(b, evaluations, true);
+            if (evaluations >= maxEvaluations) return new Refined(b, evaluations, false);
+
+            if (Math.abs(e) >= tol1 && Math.abs(fa) > Math.abs(fb)) {
+                double s = fb / fa, p, q;
+                if (a == c) {
+                    // secant
+                    p = 2 * xm * s;
+                    q = 1 - s;
+                } else {
+                    // inverse quadratic interpolation through a, b and c
+                    double r = fb / fc;
+                    q = fa / fc;
+                    p = s * (2 * xm * q * (q - r) - (b - a) * (r - 1));
+                    q = (q - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) q = -q;
+                p = Math.abs(p);
+                if (2 * p < Math.min(3 * xm * q - Math.abs(tol1 * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = xm;
+                    e = d;
+                }
+            } else {
+                d = xm;
+                e = d;
+            }
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tol1 ? d : Math.copySign(tol1, xm);
+            fb = f.applyAsDouble(b);
+            evaluations++;
+            if (ctx != null) ctx.checkpoint();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package gui_gui;
+
+import java.util.Arrays;
+
+// Compressed sparse row matrix: the nonzeros of row i are values[rowPtr[i] .. rowPtr[i + 1])
+// at columns colIdx[same range], columns ascending within a row. Memory is O(nnz + rows) and
+// a matrix-vector product touches only the nonzeros. Immutable once built.
+public final class CsrMatrix {
+
+    private final int rows;
+    private final int cols;
+    private final int[] rowPtr;
+    private final int[] colIdx;
+    private final double[] values;
+
+    // Takes the arrays as they are; use Builder or fromDense unless they are known to be valid
+    CsrMatrix(int rows, int cols, int[] rowPtr, int[] colIdx, double[] values) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+
+    public static CsrMatrix fromDense(DenseMatrix A) {
+        int r = A.rows();
+        int c = A.cols();
+        double[] a = A.data();
+        int nnz = 0;
+        for (double v : a) {
+            if (v != 0) nnz++;
+        }
+        int[] ptr = new int[r + 1];
+        int[] idx = new int[nnz];
+        double[] val = new double[nnz];
+        int k = 0;
+        for (int i = 0; i < r; i++) {
+            for (int j = 0; j < c; j++) {
+                double v = a[i * c + j];
+                if (v != 0) {
+                    idx[k] = j;
+                    val[k++] = v;
+                }
+            }
+            ptr[i + 1] = k;
+        }
+        return new CsrMatrix(r, c, ptr, idx, val);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public boolean isSquare() {
+        return rows == cols;
+    }
+
+    public int nnz() {
+        return rowPtr[rows];
+    }
+
+    // Raw arrays, for solvers; not to be modified
+    int[] rowPtr() {
+        return rowPtr;
+    }
+
+    int[] colIdx() {
+        return colIdx;
+    }
+
+    double[] values() {
+        return values;
+    }
+
+    public double get(int i, int j) {
+        int k = Arrays.binarySearch(colIdx, rowPtr[i], rowPtr[i + 1], j);
+        return k >= 0 ? values[k] : 0;
+    }
+
+    public double[] diagonal() {
+        double[] d = new double[Math.min(rows, cols)];
+        for (int i = 0; i < d.length; i++) d[i] = get(i, i);
+        return d;
+    }
+
+    public double[] multiply(double[] x) {
+        if (x.length != cols) throw new IllegalArgumentException("Vector length " + x.length + " does not match " + cols + " columns");
+        double[] y = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            double sum = 0;
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) sum += values[k] * x[colIdx[k]];
+            y[i] = sum;
+        }
+        return y;
+    }
+
+    public DenseMatrix toDense() {
+        DenseMatrix D = new DenseMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) D.set(i, colIdx[k], values[k]);
+        }
+        return D;
+    }
+
+    @Override
+    public String toString() {
+        return rows + "x" + cols + " sparse matrix, " + nnz() + " nonzeros";
+    }
+
+    // Collects (row, column, value) entries in any order; build() sorts them into rows, sums
+    // duplicates and drops explicit zeros. Grows like an ArrayList.
+    public static final class Builder {
+        private final int rows;
+        private final int cols;
+        private int[] entryRow;
+        private int[] entryCol;
+        private double[] entryVal;
+        private int size;
+
+        public Builder(int rows, int cols, int expectedEntries) {
+            if (rows < 0 || cols < 0) throw new IllegalArgumentException("Negative matrix dimension");
+            this.rows = rows;
+            this.cols = cols;
+            int capacity = Math.max(16, expectedEntries);
+            entryRow = new int[capacity];
+            entryCol = new int[capacity];
+            entryVal = new double[capacity];
+        }
+
+        public Builder add(int i, int j, double value) {
+            if (i < 0 || i >= rows || j < 0 || j >= cols) {
+                throw new IndexOutOfBoundsException("Entry (" + i + ", " + j + ") outside " + rows + "x" + cols);
+            }
+            if (size == entryRow.length) {
+                int capacity = Math.max(16, size * 2);
+                entryRow = Arrays.copyOf(entryRow, capacity);
+                entryCol = Arrays.copyOf(entryCol, capacity);
+                entryVal = Arrays.copyOf(entryVal, capacity);
+            }
+            entryRow[size] = i;
+            entryCol[size] = j;
+            entryVal[size++] = value;
+            return this;
+        }
+
+        public CsrMatrix build() {
+            // counting sort by row
+            int[] ptr = new int[rows + 1];
+            for (int e = 0; e < size; e++) ptr[entryRow[e] + 1]++;
+            for (int i = 0; i < rows; i++) ptr[i + 1] += ptr[i];
+            int[] next = Arrays.copyOf(ptr, rows);
+            int[] idx = new int[size];
+            double[] val = new double[size];
+            for (int e = 0; e < size; e++) {
+                int k = next[entryRow[e]]++;
+                idx[k] = entryCol[e];
+                val[k] = entryVal[e];
+            }
+
+            // sort each row by column, merge duplicates and zeros, compacting in place
+            int out = 0;
+            long[] keys = new long[0];
+            for (int i = 0; i < rows; i++) {
+                int start = ptr[i];
+                int end = ptr[i + 1];
+                ptr[i] = out;
+                int len = end - start;
+                if (len > 1 && !isSorted(idx, start, end)) {
+                    // sort (column, position) pairs so the values can follow their columns
+                    if (keys.length < len) keys = new long[len];
+                    for (int k = 0; k < len; k++) keys[k] = ((long) idx[start + k] << 32) | k;
+                    Arrays.sort(keys, 0, len);
+                    double[] rowVal = Arrays.copyOfRange(val, start, end);
+                    for (int k = 0; k < len; k++) {
+                        idx[start + k] = (int) (keys[k] >>> 32);
+                        val[start + k] = rowVal[(int) keys[k]];
+                    }
+                }
+                for (int k = start; k < end; k++) {
+                    if (out > ptr[i] && idx[out - 1] == idx[k]) {
+                        val[out - 1] += val[k];
+                    } else {
+                        idx[out] = idx[k];
+                        val[out++] = val[k];
+                    }
+                }
+                // drop explicit (or cancelled) zeros
+                int kept = ptr[i];
+                for (int k = ptr[i]; k < out; k++) {
+                    if (val[k] != 0) {
+                        idx[kept] = idx[k];
+                        val[kept++] = val[k];
+                    }
+                }
+                out = kept;
+            }
+            ptr[rows] = out;
+            return new CsrMatrix(rows, cols, ptr, Arrays.copyOf(idx, out), Arrays.copyOf(val, out));
+        }
+
+        private static boolean isSorted(int[] a, int from, int to) {
+            for (int k = from + 1; k < to; k++) {
+                if (a[k] < a[k - 1]) return false;
+            }
+            return true;
+        }
+    }
+}
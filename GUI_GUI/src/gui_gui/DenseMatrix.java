@@ -0,0 +1,125 @@
+package gui_gui;
+
+import java.util.Arrays;
+
+// Dense matrix stored as one flat row-major double[]: element (i, j) lives at data[i * cols + j].
+// One allocation and one object header for the whole matrix, and rows sit next to each
+// other in memory, which is what the elimination and iteration loops stream through.
+public final class DenseMatrix {
+
+    private final int rows;
+    private final int cols;
+    private final double[] data;
+
+    public DenseMatrix(int rows, int cols) {
+        this(rows, cols, new double[checkedSize(rows, cols)]);
+    }
+
+    // Wraps (does not copy) a row-major array of length rows * cols
+    public DenseMatrix(int rows, int cols, double[] data) {
+        if (data.length != checkedSize(rows, cols)) {
+            throw new IllegalArgumentException("Expected " + rows + "x" + cols + " = " + (long) rows * cols
+                    + " values, got " + data.length);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+    }
+
+    private static int checkedSize(int rows, int cols) {
+        if (rows < 0 || cols < 0) throw new IllegalArgumentException("Negative matrix dimension");
+        long size = (long) rows * cols;
+        if (size > Integer.MAX_VALUE - 8) throw new IllegalArgumentException(rows + "x" + cols + " is too large for a dense matrix");
+        return (int) size;
+    }
+
+    // Copies a jagged double[][] (all rows must have the same length)
+    public static DenseMatrix of(double[][] m) {
+        int r = m.length;
+        int c = r == 0 ? 0 : m[0].length;
+        DenseMatrix out = new DenseMatrix(r, c);
+        for (int i = 0; i < r; i++) {
+            if (m[i].length != c) throw new IllegalArgumentException("Row " + i + " has " + m[i].length + " entries, expected " + c);
+            System.arraycopy(m[i], 0, out.data, i * c, c);
+        }
+        return out;
+    }
+
+    public static DenseMatrix identity(int n) {
+        DenseMatrix I = new DenseMatrix(n, n);
+        for (int i = 0; i < n; i++) I.data[i * n + i] = 1;
+        return I;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public boolean isSquare() {
+        return rows == cols;
+    }
+
+    public double get(int i, int j) {
+        return data[i * cols + j];
+    }
+
+    public void set(int i, int j, double value) {
+        data[i * cols + j] = value;
+    }
+
+    public void add(int i, int j, double value) {
+        data[i * cols + j] += value;
+    }
+
+    // The backing array; row i starts at offset i * cols()
+    public double[] data() {
+        return data;
+    }
+
+    public DenseMatrix copy() {
+        return new DenseMatrix(rows, cols, data.clone());
+    }
+
+    public void swapRows(int r1, int r2) {
+        if (r1 == r2) return;
+        int a = r1 * cols;
+        int b = r2 * cols;
+        for (int k = 0; k < cols; k++) {
+            double t = data[a + k];
+            data[a + k] = data[b + k];
+            data[b + k] = t;
+        }
+    }
+
+    // Matrix-vector product A * x
+    public double[] multiply(double[] x) {
+        if (x.length != cols) throw new IllegalArgumentException("Vector length " + x.length + " does not match " + cols + " columns");
+        double[] y = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            int row = i * cols;
+            double sum = 0;
+            for (int j = 0; j < cols; j++) sum += data[row + j] * x[j];
+            y[i] = sum;
+        }
+        return y;
+    }
+
+    public double[][] toArray() {
+        double[][] m = new double[rows][];
+        for (int i = 0; i < rows; i++) m[i] = Arrays.copyOfRange(data, i * cols, (i + 1) * cols);
+        return m;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            sb.append(Arrays.toString(Arrays.copyOfRange(data, i * cols, (i + 1) * cols))).append("\n");
+        }
+        return sb.toString();
+    }
+}
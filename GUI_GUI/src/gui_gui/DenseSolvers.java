@@ -0,0 +1,341 @@
+package gui_gui;
+
+// Solvers for square dense systems A x = b of any size, on flat row-major storage.
+// Shared by the Gaussian Elimination, Cramer's Rule, Jacobi and Gauss-Seidel panels.
+// Inputs are never modified; the eliminations work on copies.
+public final class DenseSolvers {
+
+    // Same zero-pivot threshold the original 3x3 elimination used
+    static final double PIVOT_EPSILON = 1e-10;
+
+    // The iterative solvers show at most this many unknowns per trace row
+    static final int TRACE_COLUMNS = 10;
+
+    // Largest system whose solution report() lists in full
+    static final int REPORT_UNKNOWNS = 20;
+
+    private DenseSolvers() {
+    }
+
+    // x, y, z for up to three unknowns (what the panels always used), x1..xn beyond that
+    public static String[] defaultNames(int n) {
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++) names[i] = n <= 3 ? String.valueOf("xyz".charAt(i)) : "x" + (i + 1);
+        return names;
+    }
+
+    // ---------------------------------------------------------------- direct methods
+
+    // Gaussian elimination with partial pivoting: the kernel for large systems, iterative
+    // throughout (NumericalMethods.gaussianElimination is the recursive teaching version).
+    // The working copy holds one array per row, so
+    //   - a row exchange swaps two references, O(1), instead of copying n values, and
+    //   - the update rj[k] -= f * ri[k] reads and writes two distinct arrays at the same index,
+    //     a loop C2 vectorises; on flat storage the same update within one array is not
+    //     vectorised, and copying rows out and back costs about as much as it saves.
+    public static double[] gaussianElimination(DenseMatrix A, double[] b, SolverContext ctx) throws Exception {
+        int n = checkSquare(A, b);
+        double[][] rows = A.toArray();
+        double[] y = b.clone();
+
+        IterationTrace trace = ctx.startTrace("", "", 0);
+        trace.snapshot("Input system [A | B]:", rows, y);
+
+        for (int i = 0; i < n; i++) {
+            ctx.checkpoint();
+            int pivot = i;
+            double best = Math.abs(rows[i][i]);
+            for (int k = i + 1; k < n; k++) {
+                double v = Math.abs(rows[k][i]);
+                if (v > best) {
+                    best = v;
+                    pivot = k;
+                }
+            }
+            if (best < PIVOT_EPSILON) throw new Exception("No unique solution (zero pivot encountered)");
+            double[] t = rows[i]; rows[i] = rows[pivot]; rows[pivot] = t;
+            double s = y[i]; y[i] = y[pivot]; y[pivot] = s;
+
+            double[] ri = rows[i];
+            double diag = ri[i];
+            for (int j = i + 1; j < n; j++) {
+                double[] rj = rows[j];
+                double factor = rj[i] / diag;
+                if (factor == 0) continue;
+                rj[i] = 0;
+                for (int k = i + 1; k < n; k++) rj[k] -= factor * ri[k];
+                y[j] -= factor * y[i];
+            }
+            trace.snapshot("After pivoting step " + i + ":", rows, y);
+        }
+        return backSubstitute(rows, y);
+    }
+
+    // Solves U x = y for the upper triangle of U, bottom row first
+    static double[] backSubstitute(double[][] U, double[] y) {
+        int n = U.length;
+        double[] x = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            double[] u = U[i];
+            double sum = y[i];
+            for (int j = i + 1; j < n; j++) sum -= u[j] * x[j];
+            x[i] = sum / u[i];
+        }
+        return x;
+    }
+
+    // Gaussian elimination on off-heap storage that is left as it is: the elimination runs on a
+    // native copy that is freed on return. For a writable .gmat file, gaussianEliminationInPlace
+    // on MatrixFile.openPrivate copies pages as they are first written instead of up front.
+    public static double[] gaussianElimination(SegmentMatrix A, double[] b, SolverContext ctx) throws Exception {
+        checkSystem(A, b);
+        try (SegmentMatrix M = A.copy()) {
+            return gaussianEliminationInPlace(M, b, ctx);
+        }
+    }
+
+    // Gaussian elimination that overwrites M with its row-swapped upper triangle; b is left as it
+    // is. On a private mapping of a .gmat file the file never changes; the first pivot step
+    // writes every row below it, so nearly every page is copied then. Each row is copied into a
+    // heap buffer, updated against a copy of the pivot row and written back, so the heap never
+    // holds more than a few rows.
+    public static double[] gaussianEliminationInPlace(SegmentMatrix M, double[] b, SolverContext ctx) throws Exception {
+        checkSystem(M, b);
+        int n = M.rows();
+
+        double[] y = b.clone();
+        IterationTrace trace = ctx.startTrace("", "", 0);
+        trace.snapshot("Input system [A | B]:", M, y);
+        double[] pivotRow = new double[n];
+        double[] row = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            ctx.checkpoint();
+            int pivot = i;
+            double best = Math.abs(M.get(i, i));
+            for (int k = i + 1; k < n; k++) {
+                double v = Math.abs(M.get(k, i));
+                if (v > best) {
+                    best = v;
+                    pivot = k;
+                }
+            }
+            if (best < PIVOT_EPSILON) throw new Exception("No unique solution (zero pivot encountered)");
+
+            // columns left of i are already zero in both rows, so only [i, n) moves
+            M.readRow(pivot, i, pivotRow, i, n - i);
+            if (pivot != i) {
+                M.readRow(i, i, row, i, n - i);
+                M.writeRow(pivot, i, row, i, n - i);
+                M.writeRow(i, i, pivotRow, i, n - i);
+                double t = y[i]; y[i] = y[pivot]; y[pivot] = t;
+            }
+
+            double diag = pivotRow[i];
+            for (int j = i + 1; j < n; j++) {
+                double factor = M.get(j, i) / diag;
+                if (factor == 0) continue;
+                M.readRow(j, i, row, i, n - i);
+                for (int k = i; k < n; k++) row[k] -= factor * pivotRow[k];
+                M.writeRow(j, i, row, i, n - i);
+                y[j] -= factor * y[i];
+            }
+            trace.snapshot("After pivoting step " + i + ":", M, y);
+        }
+
+        double[] x = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            M.readRow(i, i, row, i, n - i);
+            double sum = y[i];
+            for (int j = i + 1; j < n; j++) sum -= row[j] * x[j];
+            x[i] = sum / row[i];
+        }
+        return x;
+    }
+
+    private static void checkSystem(SegmentMatrix A, double[] b) throws Exception {
+        if (!A.isSquare()) throw new Exception("Coefficient matrix must be square, got " + A.rows() + "x" + A.cols());
+        if (b.length != A.rows()) throw new Exception("Right-hand side has " + b.length + " entries, expected " + A.rows());
+    }
+
+    // Determinant from a pivoted LU factorisation, O(n^3); see LuDecomposition for the log form
+    public static double determinant(DenseMatrix A) {
+        if (!A.isSquare()) throw new IllegalArgumentException("Determinant needs a square matrix");
+        return LuDecomposition.decompose(A, SolverContext.defaults()).determinant();
+    }
+
+    // det(A) = sign * e^logAbsDet and the solution x; x[i] = det(A_i) / det(A)
+    public record CramerResult(double[] x, int sign, double logAbsDet) {
+
+        public double determinant() {
+            return sign * Math.exp(logAbsDet);
+        }
+
+        // det(A_i), A with column i replaced by b
+        public double columnDeterminant(int i) {
+            return determinant() * x[i];
+        }
+
+        public String formatDeterminant() {
+            return LuDecomposition.formatDeterminant(sign, logAbsDet);
+        }
+
+        public String formatColumnDeterminant(int i) {
+            return LuDecomposition.formatDeterminant(sign * (int) Math.signum(x[i]), logAbsDet + Math.log(Math.abs(x[i])));
+        }
+    }
+
+    public static double[] cramer(DenseMatrix A, double[] b) throws Exception {
+        return cramerRule(A, b, SolverContext.defaults()).x();
+    }
+
+    // Cramer's rule, x_i = det(A_i) / det(A) with A_i = A with column i replaced by b, from a
+    // single LU factorisation instead of n + 1 separate determinants. A_i is a rank-one update
+    // of A, A_i = A + (b - a_i) e_i^T, so by the matrix determinant lemma
+    //   det(A_i) = det(A) * (1 + e_i^T A^-1 (b - a_i)) = det(A) * (A^-1 b)_i,
+    // since A^-1 a_i = e_i. One O(n^3) factorisation and one O(n^2) solve give every det(A_i).
+    public static CramerResult cramerRule(DenseMatrix A, double[] b, SolverContext ctx) throws Exception {
+        checkSquare(A, b);
+        LuDecomposition lu = LuDecomposition.factor(A, ctx);
+        if (lu.isSingular()) throw new Exception("System has no unique solution (det = 0)");
+        return new CramerResult(lu.solve(b), lu.determinantSign(), lu.logAbsDeterminant());
+    }
+
+    // ---------------------------------------------------------------- iterative methods
+
+    // Jacobi iteration from x0 (null = zeros); stops after maxIterations or once no unknown
+    // moves by more than epsilon in one sweep. ParallelJacobi runs the same sweep over a
+    // fork-join pool.
+    public static double[] jacobi(DenseMatrix A, double[] b, double[] x0, int maxIterations, double epsilon,
+                                  SolverContext ctx) throws Exception {
+        int n = checkSquare(A, b);
+        checkDiagonal(A);
+        double[] a = A.data();
+        double[] x = x0 == null ? new double[n] : x0.clone();
+        double[] next = new double[n];
+
+        for (int iter = 0; iter < maxIterations; iter++) {
+            ctx.checkpoint();
+            double maxDelta = jacobiRows(a, b, x, next, n, 0, n);
+            // Double buffering: the new iterate becomes the current one, the old one is overwritten next sweep
+            double[] t = x; x = next; next = t;
+            checkFinite(maxDelta, iter + 1);
+            if (maxDelta < epsilon) break;
+        }
+        return x;
+    }
+
+    // One Jacobi update of rows [from, to): next[i] = (b[i] - sum_{j != i} a[i][j] * x[j]) / a[i][i].
+    // Reads only x and writes only next[from..to), so disjoint row ranges can run concurrently.
+    // Returns the largest |next[i] - x[i]| in the range.
+    static double jacobiRows(double[] a, double[] b, double[] x, double[] next, int n, int from, int to) {
+        double maxDelta = 0;
+        for (int i = from; i < to; i++) {
+            int row = i * n;
+            double sum = 0;
+            for (int j = 0; j < i; j++) sum += a[row + j] * x[j];
+            for (int j = i + 1; j < n; j++) sum += a[row + j] * x[j];
+            double updated = (b[i] - sum) / a[row + i];
+            maxDelta = Math.max(maxDelta, Math.abs(updated - x[i]));
+            next[i] = updated;
+        }
+        return maxDelta;
+    }
+
+    // Gauss-Seidel sweeps from x0 (null = zeros) until no unknown moves by more than epsilon,
+    // or maxIterations sweeps; each sweep is recorded in the trace under the given names
+    // (null = defaultNames).
+    public static double[] gaussSeidel(DenseMatrix A, double[] b, double[] x0, int maxIterations, double epsilon,
+                                       String[] names, SolverContext ctx) throws Exception {
+        return sor(A, b, x0, maxIterations, epsilon, 1.0, names, ctx);
+    }
+
+    // Successive over-relaxation: each Gauss-Seidel update is scaled by omega,
+    // x[i] += omega * (gs[i] - x[i]). omega = 1 is plain Gauss-Seidel.
+    public static double[] sor(DenseMatrix A, double[] b, double[] x0, int maxIterations, double epsilon,
+                               double omega, String[] names, SolverContext ctx) throws Exception {
+        int n = checkSquare(A, b);
+        checkDiagonal(A);
+        checkRelaxation(omega);
+        double[] a = A.data();
+        double[] x = x0 == null ? new double[n] : x0.clone();
+        if (names == null) names = defaultNames(n);
+
+        IterationTrace trace = ctx.startTrace("", iterationFormat(names), Math.min(n, TRACE_COLUMNS));
+        int iteration = 0;
+        double maxDelta;
+        do {
+            iteration++;
+            maxDelta = 0;
+            for (int i = 0; i < n; i++) {
+                int row = i * n;
+                double sum = b[i];
+                for (int j = 0; j < n; j++) {
+                    if (j != i) sum -= a[row + j] * x[j];
+                }
+                double updated = sum / a[row + i];
+                if (omega != 1) updated = x[i] + omega * (updated - x[i]);
+                maxDelta = Math.max(maxDelta, Math.abs(updated - x[i]));
+                x[i] = updated;
+            }
+            trace.record(iteration, x);
+            ctx.checkpoint();
+            checkFinite(maxDelta, iteration);
+        } while (maxDelta > epsilon && iteration < maxIterations);
+        return x;
+    }
+
+    // "Iteration %d:\nx = %.6f, y = %.6f, z = %.6f\n\n", truncated to TRACE_COLUMNS unknowns
+    static String iterationFormat(String[] names) {
+        StringBuilder sb = new StringBuilder("Iteration %d:\n");
+        int shown = Math.min(names.length, TRACE_COLUMNS);
+        for (int i = 0; i < shown; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(names[i].replace("%", "%%")).append(" = %.6f");
+        }
+        if (shown < names.length) sb.append(", ... (").append(names.length - shown).append(" more)");
+        return sb.append("\n\n").toString();
+    }
+
+    // ---------------------------------------------------------------- checks
+
+    // heading, the residual max-norm |Ax - b| (ax = A * x) and the first REPORT_UNKNOWNS unknowns;
+    // the result view for systems loaded from files, too large to list in full
+    static String report(String heading, double[] ax, double[] b, double[] x) {
+        double residual = 0;
+        for (int i = 0; i < ax.length; i++) residual = Math.max(residual, Math.abs(ax[i] - b[i]));
+
+        StringBuilder sb = new StringBuilder(heading).append('\n');
+        sb.append(String.format("Residual max |Ax - b| = %.3e\n", residual));
+        int shown = Math.min(x.length, REPORT_UNKNOWNS);
+        for (int i = 0; i < shown; i++) sb.append("x").append(i + 1).append(" = ").append(x[i]).append('\n');
+        if (shown < x.length) sb.append("... (").append(x.length - shown).append(" more)\n");
+        return sb.toString();
+    }
+
+    static int checkSquare(DenseMatrix A, double[] b) throws Exception {
+        if (!A.isSquare()) throw new Exception("Coefficient matrix must be square, got " + A.rows() + "x" + A.cols());
+        if (b.length != A.rows()) throw new Exception("Right-hand side has " + b.length + " entries, expected " + A.rows());
+        return A.rows();
+    }
+
+    static void checkDiagonal(DenseMatrix A) throws Exception {
+        for (int i = 0; i < A.rows(); i++) {
+            if (A.get(i, i) == 0) {
+                throw new Exception("Zero on the diagonal in row " + (i + 1) + "; reorder the equations.");
+            }
+        }
+    }
+
+    static void checkRelaxation(double omega) throws Exception {
+        if (!(omega > 0 && omega < 2)) throw new Exception("Relaxation factor ω must be between 0 and 2, got " + omega);
+    }
+
+    // NaN would make every convergence test pass, so stop with an explanation instead
+    static void checkFinite(double maxDelta, int iteration) throws Exception {
+        if (!Double.isFinite(maxDelta)) {
+            throw new Exception("Diverged after " + iteration + " iterations "
+                    + "(is the matrix diagonally dominant?)");
+        }
+    }
+}
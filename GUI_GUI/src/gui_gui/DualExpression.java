@@ -0,0 +1,184 @@
+package gui_gui;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Forward-mode automatic differentiation of f(x): every node carries a dual number a + a'ε
+// (ε² = 0), so one pass over the expression yields f(x) and the exact f'(x) together. Further
+// variables (parameters) are held constant: the derivative is always d/dx.
+//
+// The tree is flattened once into postorder, operands before the node that uses them, and
+// evaluated into two scratch arrays (values and derivatives) indexed by node. Values follow
+// ExpressionTree's runtime semantics, so they match the other engines. The scratch arrays make
+// an instance single-threaded; copy() shares the flattened tree and gets fresh scratch.
+final class DualExpression {
+
+    private static final int CONSTANT = 0, VARIABLE = 1, NEGATE = 2, BINARY = 3, CALL = 4;
+    private static final double LN2 = Math.log(2d);
+    private static final double LN10 = Math.log(10d);
+
+    private final int[] kind;
+    private final double[] constant; // value of a constant, index of a variable
+    private final ExpressionTree.Op[] op;
+    private final ExpressionTree.Function[] fn;
+    private final int[] left;  // slot of the first operand, -1 for leaves
+    private final int[] right; // slot of the second operand, -1 when there is none
+    private final double[] vars;
+    private final double[] val;
+    private final double[] dot;
+
+    private DualExpression(int variables, int[] kind, double[] constant, ExpressionTree.Op[] op,
+                           ExpressionTree.Function[] fn, int[] left, int[] right) {
+        this.kind = kind;
+        this.constant = constant;
+        this.op = op;
+        this.fn = fn;
+        this.left = left;
+        this.right = right;
+        this.vars = new double[variables];
+        this.val = new double[kind.length];
+        this.dot = new double[kind.length];
+    }
+
+    // Throws IllegalArgumentException for anything ExpressionTree cannot parse
+    static DualExpression compile(String expression) {
+        return compile(expression, "x");
+    }
+
+    // f(x, p1, p2, ...), differentiated with respect to the first variable
+    static DualExpression compile(String expression, String... variables) {
+        List<ExpressionTree.Node> nodes = ExpressionTree.postorder(ExpressionTree.parse(expression, variables));
+        int n = nodes.size();
+        int[] kind = new int[n];
+        double[] constant = new double[n];
+        ExpressionTree.Op[] op = new ExpressionTree.Op[n];
+        ExpressionTree.Function[] fn = new ExpressionTree.Function[n];
+        int[] left = new int[n];
+        int[] right = new int[n];
+        Map<ExpressionTree.Node, Integer> slot = new IdentityHashMap<>();
+        for (int i = 0; i < n; i++) {
+            ExpressionTree.Node node = nodes.get(i);
+            slot.put(node, i);
+            left[i] = -1;
+            right[i] = -1;
+            switch (node) {
+                case ExpressionTree.Constant c -> {
+                    kind[i] = CONSTANT;
+                    constant[i] = c.value();
+                }
+                case ExpressionTree.Variable v -> {
+                    kind[i] = VARIABLE;
+                    constant[i] = v.index();
+                }
+                case ExpressionTree.Negate neg -> {
+                    kind[i] = NEGATE;
+                    left[i] = slot.get(neg.operand());
+                }
+                case ExpressionTree.Binary bin -> {
+                    kind[i] = BINARY;
+                    op[i] = bin.op();
+                    left[i] = slot.get(bin.left());
+                    right[i] = slot.get(bin.right());
+                }
+                case ExpressionTree.Call c -> {
+                    kind[i] = CALL;
+                    fn[i] = c.function();
+                    left[i] = slot.get(c.args()[0]);
+                    if (c.args().length > 1) right[i] = slot.get(c.args()[1]);
+                }
+            }
+        }
+        return new DualExpression(variables.length, kind, constant, op, fn, left, right);
+    }
+
+    DualExpression copy() {
+        return new DualExpression(vars.length, kind, constant, op, fn, left, right);
+    }
+
+    // Value of variable index (1 = the first parameter) for the following evaluations
+    void setParameter(int index, double value) {
+        vars[index] = value;
+    }
+
+    // out[0] = f(x), out[1] = f'(x). Evaluation errors surface as ArithmeticException.
+    void evaluate(double x, double[] out) {
+        vars[0] = x;
+        int n = kind.length;
+        for (int i = 0; i < n; i++) {
+            int l = left[i], r = right[i];
+            switch (kind[i]) {
+                case CONSTANT -> {
+                    val[i] = constant[i];
+                    dot[i] = 0d;
+                }
+                case VARIABLE -> {
+                    int index = (int) constant[i];
+                    val[i] = vars[index];
+                    dot[i] = index == 0 ? 1d : 0d;
+                }
+                case NEGATE -> {
+                    val[i] = -val[l];
+                    dot[i] = -dot[l];
+                }
+                case BINARY -> binary(i, op[i], val[l], dot[l], val[r], dot[r]);
+                default -> call(i, fn[i], val[l], dot[l], r < 0 ? 0d : val[r], r < 0 ? 0d : dot[r]);
+            }
+        }
+        out[0] = val[n - 1];
+        out[1] = dot[n - 1];
+    }
+
+    private void binary(int i, ExpressionTree.Op op, double a, double da, double b, double db) {
+        double v = ExpressionTree.apply(op, a, b);
+        val[i] = v;
+        dot[i] = switch (op) {
+            case ADD -> da + db;
+            case SUB -> da - db;
+            case MUL -> da * b + a * db;
+            case DIV -> (da - v * db) / b;
+            case MOD -> da - (a - v) / b * db; // a % b = a - trunc(a / b) * b
+            case POW -> power(v, a, da, b, db);
+        };
+    }
+
+    private void call(int i, ExpressionTree.Function fn, double a, double da, double b, double db) {
+        double v = ExpressionTree.apply(fn, a, b);
+        val[i] = v;
+        dot[i] = switch (fn) {
+            case SIN -> Math.cos(a) * da;
+            case COS -> -Math.sin(a) * da;
+            case TAN -> {
+                double c = Math.cos(a);
+                yield da / (c * c);
+            }
+            case COT -> -(1d + v * v) * da;
+            case ASIN -> da / Math.sqrt(1d - a * a);
+            case ACOS -> -da / Math.sqrt(1d - a * a);
+            case ATAN -> da / (1d + a * a);
+            case SINH -> Math.cosh(a) * da;
+            case COSH -> Math.sinh(a) * da;
+            case TANH -> (1d - v * v) * da;
+            case ABS -> ExpressionTree.signum(a) * da;
+            case LOG -> da / a;
+            case LOG10 -> da / (a * LN10);
+            case LOG2 -> da / (a * LN2);
+            case LOG1P -> da / (1d + a);
+            case SQRT -> da / (2d * v);
+            case CBRT -> da / (3d * v * v);
+            case POW -> power(v, a, da, b, db);
+            case EXP -> v * da;
+            case EXPM1 -> (v + 1d) * da;
+            case CEIL, FLOOR, SIGNUM -> 0d; // piecewise constant
+        };
+    }
+
+    // d(a^b) = b a^(b-1) da + a^b ln(a) db, each term only when its operand varies, so x^2 at
+    // x = 0 and x^3 for negative x stay finite
+    private static double power(double v, double a, double da, double b, double db) {
+        double d = 0d;
+        if (da != 0d) d += b * Math.pow(a, b - 1d) * da;
+        if (db != 0d) d += v * Math.log(a) * db;
+        return d;
+    }
+}
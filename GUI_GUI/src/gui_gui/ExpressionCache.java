@@ -0,0 +1,225 @@
+package gui_gui;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleUnaryOperator;
+
+import net.objecthunter.exp4j.Expression;
+import net.objecthunter.exp4j.ExpressionBuilder;
+
+// Bounded LRU cache of parsed exp4j expressions, keyed by the normalized expression text.
+// Parsing happens once per distinct expression; every thread evaluates its own copy.
+class ExpressionCache {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int capacity;
+    private final Map<String, CompiledExpression> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ExpressionCache(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Cache capacity must be at least 1");
+        this.capacity = capacity;
+        // accessOrder = true turns the map into an LRU list; guarded by synchronized (this)
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression> eldest) {
+                return size() > ExpressionCache.this.capacity;
+            }
+        };
+    }
+
+    public CompiledExpression get(String expression) throws Exception {
+        String key = normalize(expression);
+        synchronized (this) {
+            CompiledExpression cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+
+        // Parse outside the lock; two threads racing on the same new key both parse, first one wins
+        CompiledExpression compiled = CompiledExpression.parse(key);
+        synchronized (this) {
+            CompiledExpression raced = entries.putIfAbsent(key, compiled);
+            return raced != null ? raced : compiled;
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        long h = hitCount();
+        long m = missCount();
+        long total = h + m;
+        double rate = total == 0 ? 0.0 : 100.0 * h / total;
+        return String.format("Expression cache: %d/%d entries, %d hits, %d misses (%.1f%% hit rate)",
+                size(), capacity, h, m, rate);
+    }
+
+    // Trims and collapses whitespace runs so "x^2 +  1" and " x^2 + 1" share one entry.
+    // Returns the input untouched (no allocation) when it is already normalized.
+    static String normalize(String expression) {
+        if (expression == null) return "";
+        int len = expression.length();
+        boolean clean = len == 0
+                || (!Character.isWhitespace(expression.charAt(0)) && !Character.isWhitespace(expression.charAt(len - 1)));
+        for (int i = 1; clean && i < len; i++) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c) && (c != ' ' || Character.isWhitespace(expression.charAt(i - 1)))) {
+                clean = false;
+            }
+        }
+        if (clean) return expression;
+
+        StringBuilder sb = new StringBuilder(len);
+        boolean pendingSpace = false;
+        for (int i = 0; i < len; i++) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) sb.append(' ');
+                pendingSpace = false;
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // A parsed f(x). The parsed template is never evaluated directly because
+    // Expression.setVariable mutates the instance; each thread gets its own copy instead.
+    static final class CompiledExpression {
+        private final String text;
+        private final Expression template;
+        private final ThreadLocal<Expression> perThread;
+        private final DoubleUnaryOperator interpreted;
+        private volatile DoubleUnaryOperator bytecode; // compiled on first use of the BYTECODE engine
+        private volatile ThreadLocal<DualExpression> dual; // flattened on first dual(); null until then
+        private volatile boolean noDual;                   // DualExpression cannot parse this text
+        private volatile ThreadLocal<BatchExpression> batch; // built on first array evaluation
+        private volatile boolean noBatch;                    // BatchExpression cannot parse this text
+
+        private CompiledExpression(String text, Expression template) {
+            this.text = text;
+            this.template = template;
+            this.perThread = ThreadLocal.withInitial(() -> new Expression(this.template));
+            this.interpreted = x -> perThread.get().setVariable("x", x).evaluate();
+        }
+
+        static CompiledExpression parse(String text) throws Exception {
+            try {
+                return new CompiledExpression(text, new ExpressionBuilder(text).variable("x").build());
+            } catch (Exception ex) {
+                throw new Exception("Invalid expression: " + ex.getMessage());
+            }
+        }
+
+        public double evaluate(double x) throws Exception {
+            try {
+                return function(MathParser.engine()).applyAsDouble(x);
+            } catch (Exception ex) {
+                throw new Exception("Invalid expression: " + ex.getMessage());
+            }
+        }
+
+        // out[i] = f(xs[i]), a block of points per pass over the expression (BatchExpression), or
+        // point by point through the active engine when the batch evaluator cannot parse it
+        public void evaluate(double[] xs, double[] out) throws Exception {
+            if (out.length < xs.length) throw new Exception("Output holds " + out.length + " values, expected " + xs.length);
+            try {
+                BatchExpression b = batch();
+                if (b != null) {
+                    b.evaluate(xs, out);
+                    return;
+                }
+                DoubleUnaryOperator f = function(MathParser.engine());
+                for (int i = 0; i < xs.length; i++) out[i] = f.applyAsDouble(xs[i]);
+            } catch (ArithmeticException ex) {
+                throw new Exception("Invalid expression: " + ex.getMessage());
+            }
+        }
+
+        private BatchExpression batch() {
+            if (noBatch) return null;
+            ThreadLocal<BatchExpression> perThreadBatch = batch;
+            if (perThreadBatch == null) {
+                BatchExpression template;
+                try {
+                    template = BatchExpression.compile(text);
+                } catch (IllegalArgumentException ex) {
+                    noBatch = true;
+                    return null;
+                }
+                perThreadBatch = ThreadLocal.withInitial(template::copy);
+                batch = perThreadBatch;
+            }
+            return perThreadBatch.get();
+        }
+
+        // Thread-safe f(x) for the given engine. Evaluation errors surface as ArithmeticException.
+        public DoubleUnaryOperator function(MathParser.Engine engine) {
+            if (engine == MathParser.Engine.EXP4J) return interpreted;
+            DoubleUnaryOperator f = bytecode;
+            if (f == null) {
+                f = ExpressionCompiler.compileOrFallback(text, interpreted);
+                bytecode = f;
+            }
+            return f;
+        }
+
+        // f and f' in one pass for the calling thread, or null when the dual evaluator cannot
+        // parse the expression
+        public DualExpression dual() {
+            if (noDual) return null;
+            ThreadLocal<DualExpression> perThreadDual = dual;
+            if (perThreadDual == null) {
+                DualExpression template;
+                try {
+                    template = DualExpression.compile(text);
+                } catch (IllegalArgumentException ex) {
+                    noDual = true;
+                    return null;
+                }
+                perThreadDual = ThreadLocal.withInitial(template::copy);
+                dual = perThreadDual;
+            }
+            return perThreadDual.get();
+        }
+
+        // True when the BYTECODE engine produced real bytecode rather than falling back to exp4j
+        public boolean isCompiled() {
+            DoubleUnaryOperator f = bytecode;
+            return f != null && f != interpreted;
+        }
+
+        public String text() {
+            return text;
+        }
+    }
+}
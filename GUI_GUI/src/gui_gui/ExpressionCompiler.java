@@ -0,0 +1,279 @@
+package gui_gui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+// Compiles f(x) straight to JVM bytecode: one hidden class per expression implementing
+// DoubleUnaryOperator, whose applyAsDouble is the expression tree flattened into
+// dload/ldc2_w/dadd/.../invokestatic Math.* instructions. The JIT can then inline the
+// whole expression into a solver loop instead of walking exp4j's token stack each call.
+final class ExpressionCompiler {
+
+    // Sample points used to confirm the compiled code agrees with exp4j before we trust it
+    private static final double[] CHECK_POINTS = {-2.5, -1.0, -0.3, 0.0, 0.7, 1.5, 3.2};
+
+    private ExpressionCompiler() {
+    }
+
+    // Throws IllegalArgumentException when the expression uses something we cannot compile
+    static DoubleUnaryOperator compile(String expression) {
+        ExpressionTree.Node root = ExpressionTree.parse(expression, "x");
+        byte[] classBytes = new ClassWriter(root).toByteArray();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classBytes, true);
+            return (DoubleUnaryOperator) lookup.lookupClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            throw new IllegalArgumentException("Could not load compiled expression: " + ex, ex);
+        }
+    }
+
+    // Compiles when possible and falls back to the given interpreter otherwise
+    static DoubleUnaryOperator compileOrFallback(String expression, DoubleUnaryOperator interpreter) {
+        try {
+            DoubleUnaryOperator compiled = compile(expression);
+            for (double x : CHECK_POINTS) {
+                if (!sameResult(compiled, interpreter, x)) {
+                    return interpreter;
+                }
+            }
+            return compiled;
+        } catch (IllegalArgumentException ex) {
+            return interpreter;
+        }
+    }
+
+    private static boolean sameResult(DoubleUnaryOperator a, DoubleUnaryOperator b, double x) {
+        double ra, rb;
+        String ea = null, eb = null;
+        try {
+            ra = a.applyAsDouble(x);
+        } catch (RuntimeException ex) {
+            ra = Double.NaN;
+            ea = String.valueOf(ex.getMessage());
+        }
+        try {
+            rb = b.applyAsDouble(x);
+        } catch (RuntimeException ex) {
+            rb = Double.NaN;
+            eb = String.valueOf(ex.getMessage());
+        }
+        if (ea != null || eb != null) return ea != null && ea.equals(eb);
+        if (Double.isNaN(ra) || Double.isNaN(rb)) return Double.isNaN(ra) && Double.isNaN(rb);
+        return ra == rb || Math.abs(ra - rb) <= 1e-12 * Math.max(Math.abs(ra), Math.abs(rb));
+    }
+
+    // ---------------------------------------------------------------- class file emission
+
+    private static final class ClassWriter {
+        private static final int ACC_PUBLIC = 0x0001;
+        private static final int ACC_FINAL = 0x0010;
+        private static final int ACC_SUPER = 0x0020;
+        private static final int JAVA_8 = 52; // no branches, so no StackMapTable needed
+
+        private static final int DCONST_0 = 0x0e, DCONST_1 = 0x0f, LDC2_W = 0x14, DLOAD_1 = 0x27;
+        private static final int DADD = 0x63, DSUB = 0x67, DMUL = 0x6b, DNEG = 0x77, DRETURN = 0xaf;
+        private static final int ALOAD_0 = 0x2a, RETURN = 0xb1, INVOKESPECIAL = 0xb7, INVOKESTATIC = 0xb8;
+
+        private static final String HELPERS = "gui_gui/ExpressionTree";
+
+        private final ExpressionTree.Node root;
+        private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        private final DataOutputStream poolOut = new DataOutputStream(pool);
+        private final Map<String, Integer> poolIndex = new HashMap<>();
+        private int poolCount = 1;
+
+        ClassWriter(ExpressionTree.Node root) {
+            this.root = root;
+        }
+
+        byte[] toByteArray() {
+            try {
+                int thisClass = classRef("gui_gui/CompiledFunction");
+                int superClass = classRef("java/lang/Object");
+                int iface = classRef("java/util/function/DoubleUnaryOperator");
+                int codeAttr = utf8("Code");
+
+                ByteArrayOutputStream ctor = new ByteArrayOutputStream();
+                ctor.write(ALOAD_0);
+                ctor.write(INVOKESPECIAL);
+                writeShort(ctor, methodRef("java/lang/Object", "<init>", "()V"));
+                ctor.write(RETURN);
+
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                int maxStack = emit(root, body);
+                body.write(DRETURN);
+                if (body.size() > 65535) throw new IllegalArgumentException("Expression too large to compile");
+
+                int initName = utf8("<init>");
+                int initDesc = utf8("()V");
+                int applyName = utf8("applyAsDouble");
+                int applyDesc = utf8("(D)D");
+
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(JAVA_8);
+                out.writeShort(poolCount);
+                pool.writeTo(out);
+                out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+                out.writeShort(thisClass);
+                out.writeShort(superClass);
+                out.writeShort(1);
+                out.writeShort(iface);
+                out.writeShort(0); // fields
+                out.writeShort(2); // methods
+                writeMethod(out, ACC_PUBLIC, initName, initDesc, codeAttr, 1, 1, ctor.toByteArray());
+                writeMethod(out, ACC_PUBLIC | ACC_FINAL, applyName, applyDesc, codeAttr, maxStack, 3, body.toByteArray());
+                out.writeShort(0); // class attributes
+                return bytes.toByteArray();
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex); // in-memory streams do not throw
+            }
+        }
+
+        private void writeMethod(DataOutputStream out, int access, int name, int desc, int codeAttr,
+                                 int maxStack, int maxLocals, byte[] code) throws IOException {
+            out.writeShort(access);
+            out.writeShort(name);
+            out.writeShort(desc);
+            out.writeShort(1);
+            out.writeShort(codeAttr);
+            out.writeInt(12 + code.length);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(code.length);
+            out.write(code);
+            out.writeShort(0); // exception table
+            out.writeShort(0); // code attributes
+        }
+
+        // Emits code leaving the node's value on the operand stack; returns the stack slots needed
+        private int emit(ExpressionTree.Node node, ByteArrayOutputStream code) throws IOException {
+            switch (node) {
+                case ExpressionTree.Constant c -> {
+                    if (Double.doubleToRawLongBits(c.value()) == 0L) {
+                        code.write(DCONST_0);
+                    } else if (c.value() == 1d) {
+                        code.write(DCONST_1);
+                    } else {
+                        code.write(LDC2_W);
+                        writeShort(code, doubleConstant(c.value()));
+                    }
+                    return 2;
+                }
+                case ExpressionTree.Variable v -> {
+                    code.write(DLOAD_1);
+                    return 2;
+                }
+                case ExpressionTree.Negate n -> {
+                    int depth = emit(n.operand(), code);
+                    code.write(DNEG);
+                    return depth;
+                }
+                case ExpressionTree.Binary b -> {
+                    int left = emit(b.left(), code);
+                    int right = emit(b.right(), code);
+                    switch (b.op()) {
+                        case ADD -> code.write(DADD);
+                        case SUB -> code.write(DSUB);
+                        case MUL -> code.write(DMUL);
+                        case DIV -> invokeStatic(code, HELPERS, "divide", "(DD)D");
+                        case MOD -> invokeStatic(code, HELPERS, "modulo", "(DD)D");
+                        case POW -> invokeStatic(code, "java/lang/Math", "pow", "(DD)D");
+                    }
+                    return Math.max(left, 2 + right);
+                }
+                case ExpressionTree.Call c -> {
+                    int depth = 0;
+                    for (int i = 0; i < c.args().length; i++) {
+                        depth = Math.max(depth, 2 * i + emit(c.args()[i], code));
+                    }
+                    switch (c.function()) {
+                        case COT -> invokeStatic(code, HELPERS, "cot", "(D)D");
+                        case LOG2 -> invokeStatic(code, HELPERS, "log2", "(D)D");
+                        case SIGNUM -> invokeStatic(code, HELPERS, "signum", "(D)D");
+                        case POW -> invokeStatic(code, "java/lang/Math", "pow", "(DD)D");
+                        default -> invokeStatic(code, "java/lang/Math", c.function().symbol, "(D)D");
+                    }
+                    return depth;
+                }
+            }
+        }
+
+        private void invokeStatic(ByteArrayOutputStream code, String owner, String name, String desc) {
+            code.write(INVOKESTATIC);
+            writeShort(code, methodRef(owner, name, desc));
+        }
+
+        private static void writeShort(ByteArrayOutputStream out, int value) {
+            out.write(value >>> 8);
+            out.write(value);
+        }
+
+        // ------------------------------------------------------------ constant pool
+
+        private int utf8(String s) {
+            return intern("U" + s, 1, () -> {
+                poolOut.writeByte(1);
+                poolOut.writeUTF(s);
+            });
+        }
+
+        private int classRef(String internalName) {
+            int name = utf8(internalName);
+            return intern("C" + internalName, 1, () -> {
+                poolOut.writeByte(7);
+                poolOut.writeShort(name);
+            });
+        }
+
+        private int methodRef(String owner, String name, String desc) {
+            int cls = classRef(owner);
+            int nameIdx = utf8(name);
+            int descIdx = utf8(desc);
+            int nat = intern("N" + name + ":" + desc, 1, () -> {
+                poolOut.writeByte(12);
+                poolOut.writeShort(nameIdx);
+                poolOut.writeShort(descIdx);
+            });
+            return intern("M" + owner + "." + name + desc, 1, () -> {
+                poolOut.writeByte(10);
+                poolOut.writeShort(cls);
+                poolOut.writeShort(nat);
+            });
+        }
+
+        private int doubleConstant(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            return intern("D" + bits, 2, () -> {
+                poolOut.writeByte(6);
+                poolOut.writeLong(bits);
+            });
+        }
+
+        private interface PoolEntry {
+            void write() throws IOException;
+        }
+
+        private int intern(String key, int slots, PoolEntry entry) {
+            Integer existing = poolIndex.get(key);
+            if (existing != null) return existing;
+            try {
+                entry.write();
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+            int index = poolCount;
+            poolCount += slots; // long/double entries take two slots
+            if (poolCount > 65535) throw new IllegalArgumentException("Expression too large to compile");
+            poolIndex.put(key, index);
+            return index;
+        }
+    }
+}
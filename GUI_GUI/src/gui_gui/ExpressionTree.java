@@ -0,0 +1,363 @@
+package gui_gui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Parsed form of the expressions the panels accept. Mirrors the exp4j grammar we rely on:
+// + - * / % ^, unary minus, implicit multiplication (4x^2, 2(x+1)), the exp4j builtin
+// functions and the constants e, pi/π and φ. Anything else is rejected with
+// IllegalArgumentException so callers can fall back to exp4j.
+final class ExpressionTree {
+
+    private ExpressionTree() {
+    }
+
+    // ---------------------------------------------------------------- nodes
+
+    sealed interface Node permits Constant, Variable, Negate, Binary, Call {
+    }
+
+    record Constant(double value) implements Node {
+    }
+
+    // index into the variable names passed to parse()
+    record Variable(String name, int index) implements Node {
+    }
+
+    record Negate(Node operand) implements Node {
+    }
+
+    record Binary(Op op, Node left, Node right) implements Node {
+    }
+
+    record Call(Function function, Node[] args) implements Node {
+    }
+
+    enum Op {
+        ADD, SUB, MUL, DIV, MOD, POW
+    }
+
+    // exp4j 0.4.8 builtin functions
+    enum Function {
+        SIN("sin"), COS("cos"), TAN("tan"), COT("cot"),
+        ASIN("asin"), ACOS("acos"), ATAN("atan"),
+        SINH("sinh"), COSH("cosh"), TANH("tanh"),
+        ABS("abs"), LOG("log"), LOG10("log10"), LOG2("log2"), LOG1P("log1p"),
+        CEIL("ceil"), FLOOR("floor"), SQRT("sqrt"), CBRT("cbrt"),
+        POW("pow", 2), EXP("exp"), EXPM1("expm1"), SIGNUM("signum");
+
+        final String symbol;
+        final int arity;
+
+        Function(String symbol) {
+            this(symbol, 1);
+        }
+
+        Function(String symbol, int arity) {
+            this.symbol = symbol;
+            this.arity = arity;
+        }
+    }
+
+    // ---------------------------------------------------------------- runtime semantics shared by every engine
+
+    static double divide(double a, double b) {
+        if (b == 0d) throw new ArithmeticException("Division by zero!");
+        return a / b;
+    }
+
+    static double modulo(double a, double b) {
+        if (b == 0d) throw new ArithmeticException("Division by zero!");
+        return a % b;
+    }
+
+    static double cot(double a) {
+        double tan = Math.tan(a);
+        if (tan == 0d) throw new ArithmeticException("Division by zero in cotangent!");
+        return 1d / tan;
+    }
+
+    static double log2(double a) {
+        return Math.log(a) / Math.log(2d);
+    }
+
+    static double signum(double a) {
+        if (a > 0) return 1;
+        if (a < 0) return -1;
+        return 0;
+    }
+
+    static double apply(Function fn, double a, double b) {
+        return switch (fn) {
+            case SIN -> Math.sin(a);
+            case COS -> Math.cos(a);
+            case TAN -> Math.tan(a);
+            case COT -> cot(a);
+            case ASIN -> Math.asin(a);
+            case ACOS -> Math.acos(a);
+            case ATAN -> Math.atan(a);
+            case SINH -> Math.sinh(a);
+            case COSH -> Math.cosh(a);
+            case TANH -> Math.tanh(a);
+            case ABS -> Math.abs(a);
+            case LOG -> Math.log(a);
+            case LOG10 -> Math.log10(a);
+            case LOG2 -> log2(a);
+            case LOG1P -> Math.log1p(a);
+            case CEIL -> Math.ceil(a);
+            case FLOOR -> Math.floor(a);
+            case SQRT -> Math.sqrt(a);
+            case CBRT -> Math.cbrt(a);
+            case POW -> Math.pow(a, b);
+            case EXP -> Math.exp(a);
+            case EXPM1 -> Math.expm1(a);
+            case SIGNUM -> signum(a);
+        };
+    }
+
+    static double apply(Op op, double a, double b) {
+        return switch (op) {
+            case ADD -> a + b;
+            case SUB -> a - b;
+            case MUL -> a * b;
+            case DIV -> divide(a, b);
+            case MOD -> modulo(a, b);
+            case POW -> Math.pow(a, b);
+        };
+    }
+
+    // Tree-walking reference evaluator
+    static double evaluate(Node node, double[] vars) {
+        return switch (node) {
+            case Constant c -> c.value();
+            case Variable v -> vars[v.index()];
+            case Negate n -> -evaluate(n.operand(), vars);
+            case Binary b -> apply(b.op(), evaluate(b.left(), vars), evaluate(b.right(), vars));
+            case Call c -> apply(c.function(),
+                    evaluate(c.args()[0], vars),
+                    c.args().length > 1 ? evaluate(c.args()[1], vars) : 0d);
+        };
+    }
+
+    // Nodes in postorder: every operand before the node that uses it, the root last
+    static List<Node> postorder(Node root) {
+        List<Node> nodes = new ArrayList<>();
+        addPostorder(root, nodes);
+        return nodes;
+    }
+
+    private static void addPostorder(Node node, List<Node> nodes) {
+        switch (node) {
+            case Negate n -> addPostorder(n.operand(), nodes);
+            case Binary b -> {
+                addPostorder(b.left(), nodes);
+                addPostorder(b.right(), nodes);
+            }
+            case Call c -> {
+                for (Node arg : c.args()) addPostorder(arg, nodes);
+            }
+            default -> {
+            }
+        }
+        nodes.add(node);
+    }
+
+    // ---------------------------------------------------------------- parser
+
+    static Node parse(String expression, String... variables) {
+        Parser parser = new Parser(expression, variables);
+        Node root = parser.parseSum();
+        parser.skipSpaces();
+        if (!parser.atEnd()) {
+            throw parser.error("Unexpected '" + parser.peek() + "'");
+        }
+        return root;
+    }
+
+    private static final class Parser {
+        private final String src;
+        private final String[] variables;
+        private int pos;
+
+        Parser(String src, String[] variables) {
+            this.src = src;
+            this.variables = variables;
+        }
+
+        // sum := product (('+' | '-') product)*
+        Node parseSum() {
+            Node left = parseProduct();
+            while (true) {
+                skipSpaces();
+                if (accept('+')) {
+                    left = new Binary(Op.ADD, left, parseProduct());
+                } else if (accept('-')) {
+                    left = new Binary(Op.SUB, left, parseProduct());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        // product := unary (('*' | '/' | '%' | <implicit>) unary)*
+        Node parseProduct() {
+            Node left = parseUnary();
+            while (true) {
+                skipSpaces();
+                if (accept('*')) {
+                    left = new Binary(Op.MUL, left, parseUnary());
+                } else if (accept('/')) {
+                    left = new Binary(Op.DIV, left, parseUnary());
+                } else if (accept('%')) {
+                    left = new Binary(Op.MOD, left, parseUnary());
+                } else if (startsOperand()) {
+                    left = new Binary(Op.MUL, left, parsePower());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        // unary := ('-' | '+') unary | power      (so -x^2 is -(x^2), as in exp4j)
+        Node parseUnary() {
+            skipSpaces();
+            if (accept('-')) return new Negate(parseUnary());
+            if (accept('+')) return parseUnary();
+            return parsePower();
+        }
+
+        // power := primary ('^' unary)?           (right associative, e^-x allowed)
+        Node parsePower() {
+            Node base = parsePrimary();
+            skipSpaces();
+            if (accept('^')) {
+                return new Binary(Op.POW, base, parseUnary());
+            }
+            return base;
+        }
+
+        Node parsePrimary() {
+            skipSpaces();
+            if (atEnd()) throw error("Unexpected end of expression");
+            char c = peek();
+            if (accept('(')) {
+                Node inner = parseSum();
+                expect(')');
+                return inner;
+            }
+            if (Character.isDigit(c) || c == '.') {
+                return new Constant(parseNumber());
+            }
+            return parseName();
+        }
+
+        private double parseNumber() {
+            int start = pos;
+            while (!atEnd() && (Character.isDigit(peek()) || peek() == '.')) pos++;
+            // scientific notation only when digits follow, so "2e" stays 2 * e
+            if (!atEnd() && (peek() == 'e' || peek() == 'E')) {
+                int p = pos + 1;
+                if (p < src.length() && (src.charAt(p) == '+' || src.charAt(p) == '-')) p++;
+                if (p < src.length() && Character.isDigit(src.charAt(p))) {
+                    pos = p;
+                    while (!atEnd() && Character.isDigit(peek())) pos++;
+                }
+            }
+            try {
+                return Double.parseDouble(src.substring(start, pos));
+            } catch (NumberFormatException ex) {
+                throw error("Bad number '" + src.substring(start, pos) + "'");
+            }
+        }
+
+        // Longest known name wins, so "exp" is not read as e * xp and "xcos(x)" splits into x, cos
+        private Node parseName() {
+            String best = null;
+            Object target = null;
+            for (int i = 0; i < variables.length; i++) {
+                if (src.startsWith(variables[i], pos) && (best == null || variables[i].length() > best.length())) {
+                    best = variables[i];
+                    target = i;
+                }
+            }
+            for (Function fn : Function.values()) {
+                if (src.startsWith(fn.symbol, pos) && (best == null || fn.symbol.length() > best.length())) {
+                    best = fn.symbol;
+                    target = fn;
+                }
+            }
+            for (String constant : new String[] {"pi", "π", "e", "φ"}) {
+                if (src.startsWith(constant, pos) && (best == null || constant.length() > best.length())) {
+                    best = constant;
+                    target = constant;
+                }
+            }
+            if (best == null) throw error("Unknown symbol");
+            pos += best.length();
+
+            if (target instanceof Integer index) {
+                return new Variable(best, index);
+            }
+            if (target instanceof Function fn) {
+                return parseCall(fn);
+            }
+            return new Constant(switch (best) {
+                case "e" -> Math.E;
+                case "φ" -> 1.61803398874;
+                default -> Math.PI;
+            });
+        }
+
+        private Node parseCall(Function fn) {
+            skipSpaces();
+            expect('(');
+            List<Node> args = new ArrayList<>();
+            args.add(parseSum());
+            skipSpaces();
+            while (accept(',')) {
+                args.add(parseSum());
+                skipSpaces();
+            }
+            expect(')');
+            if (args.size() != fn.arity) {
+                throw error(fn.symbol + " expects " + fn.arity + " argument(s)");
+            }
+            return new Call(fn, args.toArray(new Node[0]));
+        }
+
+        private boolean startsOperand() {
+            if (atEnd()) return false;
+            char c = peek();
+            return c == '(' || c == '.' || Character.isLetterOrDigit(c) || c == 'π' || c == 'φ';
+        }
+
+        void skipSpaces() {
+            while (!atEnd() && Character.isWhitespace(peek())) pos++;
+        }
+
+        boolean atEnd() {
+            return pos >= src.length();
+        }
+
+        char peek() {
+            return src.charAt(pos);
+        }
+
+        private boolean accept(char c) {
+            if (!atEnd() && peek() == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            skipSpaces();
+            if (!accept(c)) throw error("Expected '" + c + "'");
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos + " in \"" + src + "\"");
+        }
+    }
+}
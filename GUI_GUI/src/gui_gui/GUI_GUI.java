@@ -1,20 +1,39 @@
 package gui_gui;
 import java.awt.*;
 import java.awt.event.*;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.swing.*;
-import net.objecthunter.exp4j.Expression;
-import net.objecthunter.exp4j.ExpressionBuilder;
 
 public class GUI_GUI extends JFrame {
 
+    // Method names, in sidebar order; SolverMetrics reports under the same names
+    static final String[] METHODS = {
+        "Fixed Point Iteration",
+        "Newton-Raphson Method",
+        "Secant Method",
+        "Bisection Method",
+        "False Position Method",
+        "Brent's Method",
+        "Matrix Operations",
+        "Cramer's Rule",
+        "Gaussian Elimination",
+        "Jacobi Method",
+        "Gauss-Seidel Method"
+    };
+
     private final CardLayout cardLayout;
     private final JPanel contentPanel;
-    private final HashMap<String, JPanel> methodPanels = new HashMap<>();
+    private final HashMap<String, JPanel> methodPanels = new HashMap<>(); // built on first showPanel
+    private final Color panelBg;
+    private final Color panelText;
+
+    // Last LU factorisation made by the Gaussian panel, reused while the coefficients stay the same
+    private LuDecomposition lastLu;
+    private DenseMatrix lastLuMatrix;
 
     public GUI_GUI() {
         setTitle("Numerical Methods GUI");
@@ -28,41 +47,25 @@ public class GUI_GUI extends JFrame {
         Color textColor = new Color(230, 230, 230);
         Color btnColor = new Color(55, 71, 79);
         Color btnHover = new Color(69, 90, 100);
+        panelBg = bgDark;
+        panelText = textColor;
 
         // Sidebar
         JPanel sidePanel = new JPanel();
-        sidePanel.setLayout(new GridLayout(10, 1, 5, 5));
+        sidePanel.setLayout(new GridLayout(0, 1, 5, 5));
         sidePanel.setBackground(bgDark);
         sidePanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-        // Method names
-        String[] methods = {
-            "Fixed Point Iteration",
-            "Newton-Raphson Method",
-            "Secant Method",
-            "Bisection Method",
-            "False Position Method",
-            "Matrix Operations",
-            "Cramer's Rule",
-            "Gaussian Elimination",
-            "Jacobi Method",
-            "Gauss-Seidel Method"
-        };
-
         // Content panel with CardLayout
         cardLayout = new CardLayout();
         contentPanel = new JPanel(cardLayout);
         contentPanel.setBackground(bgDark);
 
-        // Add method panels and buttons
-        for (String method : methods) {
+        // Sidebar buttons; each method's panel is built the first time it is shown
+        for (String method : METHODS) {
             JButton button = createSidebarButton(method, btnColor, btnHover, textColor);
             sidePanel.add(button);
 
-            JPanel methodPanel = createMethodPanel(method, bgDark, textColor);
-            methodPanels.put(method, methodPanel);
-            contentPanel.add(methodPanel, method);
-
             // Show panel on button click (not hover!)
             button.addActionListener(e -> showPanel(method));
         }
@@ -71,7 +74,7 @@ public class GUI_GUI extends JFrame {
         add(contentPanel, BorderLayout.CENTER);
 
         // Show first panel by default
-        showPanel(methods[0]);
+        showPanel(METHODS[0]);
     }
 
     private JButton createSidebarButton(String text, Color bg, Color hoverBg, Color fg) {
@@ -114,6 +117,8 @@ public class GUI_GUI extends JFrame {
         resultArea.setForeground(Color.WHITE);
         resultArea.setFont(new Font("Consolas", Font.PLAIN, 14));
 
+        SolverRunner runner = new SolverRunner(title, resultArea, bg, text);
+
         JTextField exprField = null; // For f(x) or g(x)
         JTextField xInput = new JTextField("1.0");
 
@@ -139,18 +144,16 @@ public class GUI_GUI extends JFrame {
                 runFixedPoint.addActionListener(e -> {
                     try {
                         String tempt = finalExprFieldFPI.getText();
-                        String gexpr = cleanExpression(tempt);
+                        String gexpr = NumericalMethods.cleanExpression(tempt);
                         double x0 = Double.parseDouble(fx0.getText());
                         double tol = Double.parseDouble(tolField.getText());
 
-                        StringBuilder sb = new StringBuilder();
-                        String result = runFixedPointIteration(gexpr, x0, tol, 1, 100, sb);
-
-                        resultArea.setText(result);
+                        runner.runCached(ctx -> NumericalMethods.runFixedPointIteration(gexpr, x0, tol, 100, ctx), gexpr, x0, tol);
                     } catch (Exception ex) {
                         resultArea.setText("Error: " + ex.getMessage());
                     }
                 });
+                addSweepRows(inputPanel, text, runner, resultArea, ParameterSweep.Method.FIXED_POINT, finalExprFieldFPI, fx0, null, tolField);
 
                 break;
 
@@ -175,16 +178,15 @@ public class GUI_GUI extends JFrame {
                 runNewton.addActionListener(e -> {
                     try {
                         String tempt = finalExprFieldNewton.getText();
-                        String fExpr = cleanExpression(tempt);
-                        Expression f = new ExpressionBuilder(fExpr).variable("x").build();
+                        String fExpr = NumericalMethods.cleanExpression(tempt);
                         double x0 = Double.parseDouble(newtonX0.getText());
                         double tol = Double.parseDouble(newtonTol.getText());
-                        String output = runNewtonRaphsonAuto(f, x0, tol);
-                        resultArea.setText(output);
+                        runner.runCached(ctx -> NumericalMethods.runNewtonRaphsonAuto(fExpr, x0, tol, ctx), fExpr, x0, tol);
                     } catch (Exception ex) {
                         resultArea.setText("Error: " + ex.getMessage());
                     }
                 });
+                addSweepRows(inputPanel, text, runner, resultArea, ParameterSweep.Method.NEWTON_RAPHSON, finalExprFieldNewton, newtonX0, null, newtonTol);
             break;
 
 
@@ -213,16 +215,16 @@ public class GUI_GUI extends JFrame {
                 runSecant.addActionListener(e -> {
                     try {
                         String tempt = finalExprFieldSec.getText();
-                        String fExpr = cleanExpression(tempt);
+                        String fExpr = NumericalMethods.cleanExpression(tempt);
                         double x0 = Double.parseDouble(secX0.getText());
                         double x1 = Double.parseDouble(secX1.getText());
                         double tol = Double.parseDouble(secTol.getText());
-                        String output = runSecantMethod(fExpr, x0, x1, tol);
-                        resultArea.setText(output);
+                        runner.runCached(ctx -> NumericalMethods.runSecantMethod(fExpr, x0, x1, tol, ctx), fExpr, x0, x1, tol);
                     } catch (Exception ex) {
                         resultArea.setText("Error: " + ex.getMessage());
                     }
                 });
+                addSweepRows(inputPanel, text, runner, resultArea, ParameterSweep.Method.SECANT, finalExprFieldSec, secX0, secX1, secTol);
                 break;
             case "Bisection Method":
                 inputPanel.add(createLabel("f(x) =", text));
@@ -249,16 +251,17 @@ public class GUI_GUI extends JFrame {
                 runBisection.addActionListener(e -> {
                     try {
                         String tempt = finalExprFieldBisect.getText();
-                        String fExpr = cleanExpression(tempt);
+                        String fExpr = NumericalMethods.cleanExpression(tempt);
                         double a = Double.parseDouble(aField.getText());
                         double b = Double.parseDouble(bField.getText());
                         double tol = Double.parseDouble(bisectTol.getText());
-                        String output = runBisectionMethod(fExpr, a, b, tol);
-                        resultArea.setText(output);
+                        runner.runCached(ctx -> NumericalMethods.runBisectionMethod(fExpr, a, b, tol, ctx), fExpr, a, b, tol);
                     } catch (Exception ex) {
                         resultArea.setText("Error: " + ex.getMessage());
                     }
                 });
+                addSweepRows(inputPanel, text, runner, resultArea, ParameterSweep.Method.BISECTION, finalExprFieldBisect, aField, bField, bisectTol);
+                addFindAllRows(inputPanel, text, runner, resultArea, RootScan.Refinement.BISECTION, finalExprFieldBisect, aField, bField, bisectTol);
             break;
             case "False Position Method":
                 inputPanel.add(createLabel("f(x) =", text));
@@ -285,16 +288,58 @@ public class GUI_GUI extends JFrame {
                 runFalsePosition.addActionListener(e -> {
                     try {
                         String tempt = finalExprFieldFalsePos.getText();
-                        String fExpr = cleanExpression(tempt);
+                        String fExpr = NumericalMethods.cleanExpression(tempt);
                         double x0 = Double.parseDouble(x0Field.getText());
                         double x1 = Double.parseDouble(x1Field.getText());
                         double tol = Double.parseDouble(gstolField.getText());
-                        String output = runFalsePositionMethod(fExpr, x0, x1, tol);
-                        resultArea.setText(output);
+                        runner.runCached(ctx -> NumericalMethods.runFalsePositionMethod(fExpr, x0, x1, tol, ctx), fExpr, x0, x1, tol);
+                    } catch (Exception ex) {
+                        resultArea.setText("Error: " + ex.getMessage());
+                    }
+                });
+                addSweepRows(inputPanel, text, runner, resultArea, ParameterSweep.Method.FALSE_POSITION, finalExprFieldFalsePos, x0Field, x1Field, gstolField);
+                addFindAllRows(inputPanel, text, runner, resultArea, RootScan.Refinement.FALSE_POSITION, finalExprFieldFalsePos, x0Field, x1Field, gstolField);
+            break;
+            case "Brent's Method":
+                inputPanel.add(createLabel("f(x) =", text));
+                exprField = new JTextField("x^3 - 4cos(x) = 0");
+                inputPanel.add(exprField);
+
+                inputPanel.add(createLabel("a:", text));
+                JTextField brentA = new JTextField("1");
+                inputPanel.add(brentA);
+
+                inputPanel.add(createLabel("b:", text));
+                JTextField brentB = new JTextField("2");
+                inputPanel.add(brentB);
+
+                inputPanel.add(createLabel("Tolerance (ε):", text));
+                JTextField brentTol = new JTextField("0.000001");
+                inputPanel.add(brentTol);
+
+                inputPanel.add(createLabel("Max f evaluations:", text));
+                JTextField brentBudget = new JTextField("50");
+                inputPanel.add(brentBudget);
+
+                JButton runBrent = new JButton("Run Brent's Method");
+                inputPanel.add(runBrent);
+                inputPanel.add(new JLabel("")); // spacer
+
+                JTextField finalExprFieldBrent = exprField;
+                runBrent.addActionListener(e -> {
+                    try {
+                        String fExpr = NumericalMethods.cleanExpression(finalExprFieldBrent.getText());
+                        double a = Double.parseDouble(brentA.getText());
+                        double b = Double.parseDouble(brentB.getText());
+                        double tol = Double.parseDouble(brentTol.getText());
+                        int budget = Integer.parseInt(brentBudget.getText().trim());
+                        runner.runCached(ctx -> NumericalMethods.runBrentMethod(fExpr, a, b, tol, budget, ctx), fExpr, a, b, tol, budget);
                     } catch (Exception ex) {
                         resultArea.setText("Error: " + ex.getMessage());
                     }
                 });
+                addSweepRows(inputPanel, text, runner, resultArea, ParameterSweep.Method.BRENT, finalExprFieldBrent, brentA, brentB, brentTol);
+                addFindAllRows(inputPanel, text, runner, resultArea, RootScan.Refinement.BRENT, finalExprFieldBrent, brentA, brentB, brentTol);
             break;
             case "Gaussian Elimination":
                 inputPanel.add(createLabel("Equation 1 (e.g. 2x - y + 3z = 5):", text));
@@ -309,24 +354,82 @@ public class GUI_GUI extends JFrame {
                 JTextField gEq3Field = new JTextField("3x + y + 5z = 2");
                 inputPanel.add(gEq3Field);
 
+                addEquationHint(inputPanel, text);
+
+                inputPanel.add(createLabel("Elimination kernel:", text));
+                JCheckBox gaussTeaching = new JCheckBox("Teaching mode (recursive, small systems)");
+                gaussTeaching.setOpaque(false);
+                gaussTeaching.setForeground(text);
+                inputPanel.add(gaussTeaching);
+
+                inputPanel.add(createLabel("More right-hand sides (optional, one per row):", text));
+                JTextField gaussRhsField = new JTextField("");
+                gaussRhsField.setToolTipText("e.g. [1, 0, 0; 0, 1, 0] or file:/path. A is factored once (LU) and reused for every row.");
+                inputPanel.add(gaussRhsField);
+
+                JTextField gaussFileField = addSystemFileRow(inputPanel, MatrixFile.EXTENSION);
+
                 JButton runGaussian = new JButton("Solve using Gaussian Elimination");
                 inputPanel.add(runGaussian);
                 inputPanel.add(new JLabel(""));
 
                 runGaussian.addActionListener(e -> {
                     try {
-                        double[][] A = new double[3][3];
-                        double[] B = new double[3];
-
-                        parseEquation(gEq1Field.getText(), A, B, 0);
-                        parseEquation(gEq2Field.getText(), A, B, 1);
-                        parseEquation(gEq3Field.getText(), A, B, 2);
-
-                        double[] solution = gaussianElimination(A, B);
-                        resultArea.setText("Solution:\n" +
-                                "x = " + solution[0] + "\n" +
-                                "y = " + solution[1] + "\n" +
-                                "z = " + solution[2]);
+                        String gmat = gaussFileField.getText().trim();
+                        if (!gmat.isEmpty()) {
+                            // mapped, not read: the matrix never lands on the heap. The elimination
+                            // runs on a native copy of A, or, when the file can be opened for writing,
+                            // in place on a copy-on-write mapping (M) that skips the up-front copy.
+                            // Either way the file never changes and A keeps the original for the residual.
+                            runner.run(ctx -> {
+                                Path file = Path.of(gmat);
+                                try (SegmentMatrix A = MatrixFile.open(file);
+                                     SegmentMatrix M = MatrixFile.openPrivate(file)) {
+                                    double[] b = MatrixFile.rightHandSide(file, A);
+                                    double[] x = M == null
+                                            ? DenseSolvers.gaussianElimination(A, b, ctx)
+                                            : DenseSolvers.gaussianEliminationInPlace(M, b, ctx);
+                                    return DenseSolvers.report(A.toString(), A.multiply(x), b, x);
+                                }
+                            });
+                            return;
+                        }
+
+                        String gEq1 = gEq1Field.getText(), gEq2 = gEq2Field.getText(), gEq3 = gEq3Field.getText();
+                        String rhsSpec = gaussRhsField.getText();
+                        if (!rhsSpec.isBlank()) {
+                            LinearSystem system = LinearSystem.parse(gEq1, gEq2, gEq3);
+                            runner.run(ctx -> {
+                                DenseMatrix extra = MatrixIO.load(rhsSpec);
+                                int n = system.size();
+                                if (extra.cols() != n) {
+                                    throw new Exception("Each right-hand side needs " + n + " values, got " + extra.cols());
+                                }
+                                // the equations' own b first, then the extra rows; LU wants them as columns
+                                double[] rows = new double[(extra.rows() + 1) * n];
+                                System.arraycopy(system.b(), 0, rows, 0, n);
+                                System.arraycopy(extra.data(), 0, rows, n, extra.data().length);
+                                DenseMatrix B = MatrixMultiply.transpose(new DenseMatrix(extra.rows() + 1, n, rows));
+
+                                LuDecomposition before = lastLu;
+                                LuDecomposition lu = factorOnce(system.A(), ctx);
+                                DenseMatrix X = lu.solve(B, ForkJoinPool.commonPool(), ctx);
+                                return (lu == before ? "Reused the LU factorisation of A" : "Factored A once (LU, partial pivoting)")
+                                        + "; " + B.cols() + " right-hand sides.\n"
+                                        + "Solutions, one row per right-hand side (" + String.join(", ", system.variables()) + "):\n"
+                                        + MatrixIO.format(MatrixMultiply.transpose(X));
+                            });
+                            return;
+                        }
+
+                        boolean teaching = gaussTeaching.isSelected();
+                        runner.runCached(ctx -> {
+                            LinearSystem system = LinearSystem.parse(gEq1, gEq2, gEq3);
+                            double[] solution = teaching
+                                    ? NumericalMethods.gaussianElimination(system.A().toArray(), system.b().clone(), ctx)
+                                    : DenseSolvers.gaussianElimination(system.A(), system.b(), ctx);
+                            return ctx.trace().render() + "Solution:\n" + system.format(solution);
+                        }, gEq1, gEq2, gEq3, teaching);
                     } catch (Exception ex) {
                         resultArea.setText("Error: " + ex.getMessage());
                     }
@@ -348,23 +451,28 @@ public class GUI_GUI extends JFrame {
                 JTextField gsEq3 = new JTextField("-2x + 3y + 10z = 22");
                 inputPanel.add(gsEq3);
 
+                addEquationHint(inputPanel, text);
+
                 inputPanel.add(createLabel("Tolerance (e.g. 1e-3):", text));
                 
                 JTextField epsilonField = new JTextField("1e-3");
                 inputPanel.add(epsilonField);
 
-                inputPanel.add(createLabel("Initial guess x(0):", text));
-                JTextField x01Field = new JTextField("0");
-                inputPanel.add(x01Field);
+                inputPanel.add(createLabel("Initial guess (e.g. 0, 0, 0; blank = zeros):", text));
+                JTextField initialGuessField = new JTextField("0, 0, 0");
+                inputPanel.add(initialGuessField);
 
-                inputPanel.add(createLabel("Initial guess y(0):", text));
-                JTextField y0Field = new JTextField("0");
-                inputPanel.add(y0Field);
+                inputPanel.add(createLabel("Relaxation ω (1 = Gauss-Seidel, 1 < ω < 2 = SOR):", text));
+                JTextField omegaField = new JTextField("1");
+                inputPanel.add(omegaField);
 
-                inputPanel.add(createLabel("Initial guess z(0):", text));
-                JTextField z0Field = new JTextField("0");
-                inputPanel.add(z0Field);
+                inputPanel.add(createLabel("Ordering:", text));
+                JComboBox<String> orderingBox = new JComboBox<>(new String[] {
+                    "Sequential sweep", "Multicolor (parallel, compared with sequential)"
+                });
+                inputPanel.add(orderingBox);
 
+                JTextField gsMtxField = addSystemFileRow(inputPanel, ".mtx");
 
                 JButton runGaussSeidel = new JButton("Solve using Gauss-Seidel Method");
                 inputPanel.add(runGaussSeidel);
@@ -372,22 +480,41 @@ public class GUI_GUI extends JFrame {
 
                 runGaussSeidel.addActionListener(e -> {
                     try {
-                        double[][] A = new double[3][3];
-                        double[] B = new double[3];
-
-                        parseEquation(gsEq1.getText(), A, B, 0);
-                        parseEquation(gsEq2.getText(), A, B, 1);
-                        parseEquation(gsEq3.getText(), A, B, 2);
-
                         double epsilon = Double.parseDouble(epsilonField.getText());
-
-                        double[] initialGuess = new double[3];
-                        initialGuess[0] = Double.parseDouble(x01Field.getText());
-                        initialGuess[1] = Double.parseDouble(y0Field.getText());
-                        initialGuess[2] = Double.parseDouble(z0Field.getText());
-
-                        String result = solveGaussSeidelWithConvergence(A, B, epsilon, initialGuess);
-                        resultArea.setText(result);
+                        double omega = Double.parseDouble(omegaField.getText());
+                        boolean multicolor = orderingBox.getSelectedIndex() == 1;
+
+                        String mtx = gsMtxField.getText().trim();
+                        if (!mtx.isEmpty()) {
+                            runner.run(ctx -> {
+                                Path file = Path.of(mtx);
+                                CsrMatrix A = MatrixMarketReader.read(file);
+                                double[] b = MatrixMarketReader.rightHandSide(file, A);
+                                if (!multicolor) {
+                                    double[] x = SparseSolvers.sor(A, b, null, Integer.MAX_VALUE, epsilon, omega, null, ctx);
+                                    return SparseSolvers.report(A, b, x, ctx.iterations());
+                                }
+                                MulticolorGaussSeidel.Result r = new MulticolorGaussSeidel(A).compare(b, null,
+                                        Integer.MAX_VALUE, epsilon, omega, null, ctx);
+                                return SparseSolvers.report(A, b, r.x(), r.iterations()) + "\n" + r.summary();
+                            });
+                            return;
+                        }
+
+                        String eq1 = gsEq1.getText(), eq2 = gsEq2.getText(), eq3 = gsEq3.getText();
+                        String guess = initialGuessField.getText();
+                        runner.runCached(ctx -> {
+                            LinearSystem system = LinearSystem.parse(eq1, eq2, eq3);
+                            double[] initialGuess = system.parseVector(guess);
+                            if (!multicolor) {
+                                double[] solution = DenseSolvers.sor(system.A(), system.b(), initialGuess,
+                                        Integer.MAX_VALUE, epsilon, omega, system.variables(), ctx);
+                                return NumericalMethods.gaussSeidelReport(system.variables(), solution, ctx);
+                            }
+                            MulticolorGaussSeidel.Result r = new MulticolorGaussSeidel(system.A()).compare(system.b(),
+                                    initialGuess, Integer.MAX_VALUE, epsilon, omega, system.variables(), ctx);
+                            return NumericalMethods.gaussSeidelReport(system.variables(), r.x(), ctx) + "\n\n" + r.summary();
+                        }, eq1, eq2, eq3, guess, epsilon, omega, multicolor);
 
                     } catch (Exception ex) {
                         resultArea.setText("Error: " + ex.getMessage());
@@ -398,27 +525,41 @@ public class GUI_GUI extends JFrame {
 
 
             case "Matrix Operations":
-                inputPanel.add(createLabel("Matrix A (e.g. [5,6,7,8]):", text));
+                inputPanel.add(createLabel("Matrix A (e.g. [1,2;3,4] or file:/path.txt|.gmat):", text));
                 JTextField matrixAField = new JTextField("[5,6,7,8]");
                 inputPanel.add(matrixAField);
 
-                inputPanel.add(createLabel("Matrix B (e.g. [1,2,3,4]):", text));
+                inputPanel.add(createLabel("Matrix B (e.g. [1,2;3,4] or file:/path.txt|.gmat):", text));
                 JTextField matrixBField = new JTextField("[1,2,3,4]");
                 inputPanel.add(matrixBField);
 
+                JButton loadA = new JButton("Load A from file...");
+                JButton loadB = new JButton("Load B from file...");
+                loadA.addActionListener(e -> chooseFile(matrixAField, MatrixIO.FILE_PREFIX));
+                loadB.addActionListener(e -> chooseFile(matrixBField, MatrixIO.FILE_PREFIX));
+                inputPanel.add(loadA);
+                inputPanel.add(loadB);
+
                 JButton runMatrixProduct = new JButton("Find Product A × B");
                 inputPanel.add(runMatrixProduct);
                 inputPanel.add(new JLabel("")); // spacer
 
                 runMatrixProduct.addActionListener(e -> {
-                    try {
-                        double[][] A = parseMatrix(matrixAField.getText());
-                        double[][] B = parseMatrix(matrixBField.getText());
-                        double[][] result = multiplyMatrices(A, B);
-                        resultArea.setText("Product of A and B:\n" + matrixToString(result));
-                    } catch (Exception ex) {
-                        resultArea.setText("Error: " + ex.getMessage());
-                    }
+                    String aSpec = matrixAField.getText();
+                    String bSpec = matrixBField.getText();
+                    // Files can be large, so they are read on the solver thread as well
+                    runner.run(ctx -> {
+                        if (MatrixIO.isBinary(aSpec) || MatrixIO.isBinary(bSpec)) {
+                            try (SegmentMatrix A = MatrixIO.loadOffHeap(aSpec);
+                                 SegmentMatrix B = MatrixIO.loadOffHeap(bSpec);
+                                 SegmentMatrix C = NumericalMethods.multiplyMatrices(A, B, ctx)) {
+                                return "Product of A and B:\n" + MatrixIO.format(C);
+                            }
+                        }
+                        DenseMatrix A = MatrixIO.load(aSpec);
+                        DenseMatrix B = MatrixIO.load(bSpec);
+                        return "Product of A and B:\n" + MatrixIO.format(NumericalMethods.multiplyMatrices(A, B, ctx));
+                    });
                 });
             break;
 
@@ -435,24 +576,32 @@ public class GUI_GUI extends JFrame {
                 JTextField eq3Field = new JTextField("2x + 3y + z = 3");
                 inputPanel.add(eq3Field);
 
+                addEquationHint(inputPanel, text);
+
                 JButton runCramer = new JButton("Solve using Cramer's Rule");
                 inputPanel.add(runCramer);
                 inputPanel.add(new JLabel("")); // spacer
 
                 runCramer.addActionListener(e -> {
                     try {
-                        double[][] A = new double[3][3];
-                        double[] B = new double[3];
-
-                        parseEquation(eq1Field.getText(), A, B, 0);
-                        parseEquation(eq2Field.getText(), A, B, 1);
-                        parseEquation(eq3Field.getText(), A, B, 2);
-
-                        double[] solution = solveCramer(A, B);
-                        resultArea.setText("Solution:\n" +
-                                "x = " + solution[0] + "\n" +
-                                "y = " + solution[1] + "\n" +
-                                "z = " + solution[2]);
+                        String eq1 = eq1Field.getText(), eq2 = eq2Field.getText(), eq3 = eq3Field.getText();
+                        runner.runCached(ctx -> {
+                            LinearSystem system = LinearSystem.parse(eq1, eq2, eq3);
+                            DenseSolvers.CramerResult r = DenseSolvers.cramerRule(system.A(), system.b(), ctx);
+                            StringBuilder sb = new StringBuilder();
+                            sb.append("det(A) = ").append(r.formatDeterminant())
+                              .append(String.format("   (ln|det A| = %.6g)\n", r.logAbsDet()));
+                            String[] names = system.variables();
+                            if (names.length <= DenseSolvers.REPORT_UNKNOWNS) {
+                                for (int i = 0; i < names.length; i++) {
+                                    sb.append(names[i]).append(" = det(A_").append(names[i]).append(") / det(A) = ")
+                                      .append(r.formatColumnDeterminant(i)).append(" / ").append(r.formatDeterminant())
+                                      .append(" = ").append(r.x()[i]).append('\n');
+                                }
+                                return sb.toString();
+                            }
+                            return sb.append("Solution:\n").append(system.format(r.x())).toString();
+                        }, eq1, eq2, eq3);
                     } catch (Exception ex) {
                         resultArea.setText("Error: " + ex.getMessage());
                     }
@@ -471,30 +620,51 @@ public class GUI_GUI extends JFrame {
                 JTextField jacobiEq3 = new JTextField("8x + 8y + 17z = 10");
                 inputPanel.add(jacobiEq3);
 
+                addEquationHint(inputPanel, text);
+
                 inputPanel.add(createLabel("Iterations:", text));
                 JTextField iterationField = new JTextField("5");
                 inputPanel.add(iterationField);
 
+                inputPanel.add(createLabel("Rows in parallel (large systems):", text));
+                JCheckBox parallelJacobi = new JCheckBox("Fork-join over all cores");
+                parallelJacobi.setOpaque(false);
+                parallelJacobi.setForeground(text);
+                inputPanel.add(parallelJacobi);
+
+                JTextField jacobiMtxField = addSystemFileRow(inputPanel, ".mtx");
+
                 JButton runJacobi = new JButton("Solve using Jacobi Method");
                 inputPanel.add(runJacobi);
                 inputPanel.add(new JLabel("")); // spacer
 
                 runJacobi.addActionListener(e -> {
                     try {
-                        double[][] A = new double[3][3];
-                        double[] B = new double[3];
-
-                        parseEquation(jacobiEq1.getText(), A, B, 0);
-                        parseEquation(jacobiEq2.getText(), A, B, 1);
-                        parseEquation(jacobiEq3.getText(), A, B, 2);
-
                         int iterations = Integer.parseInt(iterationField.getText());
-                        double[] solution = solveJacobi(A, B, iterations);
-
-                        resultArea.setText("After " + iterations + " iterations:\n" +
-                            "x = " + solution[0] + "\n" +
-                            "y = " + solution[1] + "\n" +
-                            "z = " + solution[2]);
+                        boolean parallel = parallelJacobi.isSelected();
+
+                        String mtx = jacobiMtxField.getText().trim();
+                        if (!mtx.isEmpty()) {
+                            runner.run(ctx -> {
+                                Path file = Path.of(mtx);
+                                CsrMatrix A = MatrixMarketReader.read(file);
+                                double[] b = MatrixMarketReader.rightHandSide(file, A);
+                                double[] x = parallel
+                                        ? ParallelJacobi.solve(A, b, null, iterations, 1e-3, ctx)
+                                        : SparseSolvers.jacobi(A, b, null, iterations, 1e-3, ctx);
+                                return SparseSolvers.report(A, b, x, ctx.iterations());
+                            });
+                            return;
+                        }
+
+                        String eq1 = jacobiEq1.getText(), eq2 = jacobiEq2.getText(), eq3 = jacobiEq3.getText();
+                        runner.runCached(ctx -> {
+                            LinearSystem system = LinearSystem.parse(eq1, eq2, eq3);
+                            double[] solution = parallel
+                                    ? ParallelJacobi.solve(system.A(), system.b(), null, iterations, 1e-3, ctx)
+                                    : DenseSolvers.jacobi(system.A(), system.b(), null, iterations, 1e-3, ctx);
+                            return "After " + ctx.iterations() + " iterations:\n" + system.format(solution);
+                        }, eq1, eq2, eq3, iterations, parallel);
                     } catch (Exception ex) {
                         resultArea.setText("Error: " + ex.getMessage());
                     }
@@ -533,587 +703,213 @@ public class GUI_GUI extends JFrame {
 
         panel.add(inputPanel, BorderLayout.NORTH);
         panel.add(new JScrollPane(resultArea), BorderLayout.CENTER);
+        panel.add(runner.controls(), BorderLayout.SOUTH);
         return panel;
     }
 
-    private JLabel createLabel(String text, Color fg) {
-        JLabel label = new JLabel(text);
-        label.setForeground(fg);
-        return label;
-    }
-
-    private void showPanel(String methodName) {
-        JPanel panel = methodPanels.get(methodName);
-        if (panel != null) {
-            // No animation for now (or you can keep your fade animation if preferred)
-            cardLayout.show(contentPanel, methodName);
-            contentPanel.revalidate();
-            contentPanel.repaint();
-        }
+    // The linear-system panels accept any number of unknowns: extra equations go in any field after a ';'
+    private void addEquationHint(JPanel panel, Color fg) {
+        panel.add(createLabel("More equations / unknowns:", fg));
+        panel.add(createLabel("add them to any field, separated by ';'", fg));
     }
-    // ----------------------------------------------------------------------------------------------------------------//
-    //                                                Methods Formulas                                                 //
-    // ----------------------------------------------------------------------------------------------------------------//
-
-    // Gauss-Seidel Method
-    public static String solveGaussSeidelWithConvergence(double[][] A, double[] B, double epsilon, double[] initialGuess) {
-        int n = B.length;
-        double[] x = new double[n];
-        System.arraycopy(initialGuess, 0, x, 0, n);  // Initialize with initial guesses
-
-        double[] xOld = new double[n];
-        StringBuilder output = new StringBuilder();
-
-        int iteration = 0;
-        boolean converged;
-
-        do {
-            iteration++;
-            System.arraycopy(x, 0, xOld, 0, n);
-
-            for (int i = 0; i < n; i++) {
-                double sum = B[i];
-                for (int j = 0; j < n; j++) {
-                    if (j != i) {
-                        sum -= A[i][j] * x[j];
-                    }
-                }
-                x[i] = sum / A[i][i];
-            }
 
-            // Print current iteration results
-            output.append(String.format("Iteration %d:\n", iteration));
-            output.append(String.format("x = %.6f, y = %.6f, z = %.6f\n\n", x[0], x[1], x[2]));
-
-            // Check convergence (max absolute difference < epsilon)
-            converged = true;
-            for (int i = 0; i < n; i++) {
-                if (Math.abs(x[i] - xOld[i]) > epsilon) {
-                    converged = false;
-                    break;
-                }
+    // Sweep mode for the root-finding panels: "p = from:to:count" (or "p = 1, 2, 5") solves the
+    // panel's problem once per value of p, which the expression uses like x; optionally saved as CSV
+    private void addSweepRows(JPanel panel, Color fg, SolverRunner runner, JTextArea resultArea,
+                              ParameterSweep.Method method, JTextField exprField, JTextField x0Field,
+                              JTextField x1Field, JTextField tolField) {
+        panel.add(createLabel("Sweep parameter (p = 0:10:10000 or p = 1, 2, 5):", fg));
+        JTextField valuesField = new JTextField();
+        panel.add(valuesField);
+        JTextField csvField = new JTextField();
+        csvField.setToolTipText("Optional: write parameter, root, iterations and status to this CSV file");
+        JButton sweepButton = new JButton("Run sweep (CSV file on the right)");
+        panel.add(sweepButton);
+        panel.add(csvField);
+
+        sweepButton.addActionListener(e -> {
+            try {
+                String spec = valuesField.getText();
+                int eq = spec.indexOf('=');
+                if (eq < 0) throw new Exception("Enter the parameter and its values, e.g. p = 0:10:10000");
+                String parameter = spec.substring(0, eq).trim();
+                double[] values = ParameterSweep.parseValues(spec.substring(eq + 1));
+                String expression = NumericalMethods.cleanExpression(exprField.getText());
+                double x0 = Double.parseDouble(x0Field.getText());
+                double x1 = x1Field == null ? x0 : Double.parseDouble(x1Field.getText());
+                double tol = Double.parseDouble(tolField.getText());
+                String csv = csvField.getText().trim();
+                runner.run(ctx -> {
+                    ParameterSweep.Result result = ParameterSweep.sweep(method, expression, parameter, values,
+                            x0, x1, tol, ForkJoinPool.commonPool(), ctx);
+                    if (csv.isEmpty()) return result.summary(20);
+                    result.writeCsv(Path.of(csv));
+                    return result.summary(20) + "\nWrote " + result.size() + " rows to " + csv;
+                });
+            } catch (Exception ex) {
+                resultArea.setText("Error: " + ex.getMessage());
             }
-        } while (!converged);
-
-        output.append("Converged solution:\n");
-        output.append(String.format("x ≈ %.4f, y ≈ %.4f, z ≈ %.4f", x[0], x[1], x[2]));
-
-        return output.toString();
-    }
-
-
-
-
-    // Newton Derivative
-    private double derivative(Expression expr, double x) {
-        double h = 1e-6;
-        return (expr.setVariable("x", x + h).evaluate() - expr.setVariable("x", x - h).evaluate()) / (2 * h);
+        });
     }
-    // Newton Support
-    private String runNewtonRaphsonAuto(Expression fExpr, double x0, double tol) {
-        StringBuilder sb = new StringBuilder();
-        int maxIter = 100;
-        double x = x0;
-
-        for (int i = 1; i <= maxIter; i++) {
-            double fx = fExpr.setVariable("x", x).evaluate();
-            double dfx = (fExpr.setVariable("x", x + 1e-6).evaluate() - fExpr.setVariable("x", x - 1e-6).evaluate()) / (2e-6);
-
-            if (dfx == 0) {
-                return "Derivative is zero. Method fails.";
-            }
 
-            double x1 = x - fx / dfx;
-            sb.append(String.format("Iteration %d: x = %.6f\n", i, x1));
-
-            if (Math.abs(x1 - x) < tol) {
-                sb.append("Root found: ").append(x1);
-                return sb.toString();
+    // Every root between the panel's two endpoints, found by sampling f and refining each sign change
+    private void addFindAllRows(JPanel panel, Color fg, SolverRunner runner, JTextArea resultArea,
+                                RootScan.Refinement refinement, JTextField exprField, JTextField aField,
+                                JTextField bField, JTextField tolField) {
+        panel.add(createLabel("Samples for find-all-roots:", fg));
+        JTextField samplesField = new JTextField(String.valueOf(RootScan.DEFAULT_SAMPLES));
+        panel.add(samplesField);
+        JButton findAllButton = new JButton("Find all roots between the endpoints");
+        panel.add(findAllButton);
+        panel.add(new JLabel("")); // spacer
+
+        findAllButton.addActionListener(e -> {
+            try {
+                String expression = NumericalMethods.cleanExpression(exprField.getText());
+                double a = Double.parseDouble(aField.getText());
+                double b = Double.parseDouble(bField.getText());
+                double tol = Double.parseDouble(tolField.getText());
+                int samples = Integer.parseInt(samplesField.getText().trim());
+                runner.run(ctx -> RootScan.findAll(expression, a, b, samples, tol, refinement,
+                        ForkJoinPool.commonPool(), ctx).summary());
+            } catch (Exception ex) {
+                resultArea.setText("Error: " + ex.getMessage());
             }
-
-            x = x1;
-        }
-        return "Method did not converge within max iterations.";
+        });
     }
 
-
-
-    // Secant Method implementation
-    private String runSecantMethod(String fExpr, double x0, double x1, double tol) throws Exception {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Secant Method:\n");
-        int maxIter = 100;
-        int iter = 0;
-        double f0 = MathParser.evaluate(fExpr, x0);
-        double f1 = MathParser.evaluate(fExpr, x1);
-        while (iter < maxIter) {
-            if (f1 - f0 == 0) throw new Exception("Division by zero in secant formula");
-            double x2 = x1 - f1 * (x1 - x0) / (f1 - f0);
-            sb.append(String.format("Iter %d: x = %.6f\n", iter + 1, x2));
-            if (Math.abs(x2 - x1) < tol) {
-                sb.append("Converged to root: ").append(String.format("%.6f", x2));
-                return sb.toString();
-            }
-            x0 = x1;
-            f0 = f1;
-            x1 = x2;
-            f1 = MathParser.evaluate(fExpr, x1);
-            iter++;
+    private synchronized LuDecomposition factorOnce(DenseMatrix A, SolverContext ctx) throws Exception {
+        if (lastLu == null || lastLuMatrix.rows() != A.rows() || !Arrays.equals(lastLuMatrix.data(), A.data())) {
+            lastLu = LuDecomposition.factor(A, ctx);
+            lastLuMatrix = A;
         }
-        sb.append("Did not converge within ").append(maxIter).append(" iterations.");
-        return sb.toString();
+        return lastLu;
     }
-    // Bisection Method
-    public static String runBisectionMethod(String fExpr, double a, double b, double tol) throws Exception {
-        StringBuilder sb = new StringBuilder();
-        int maxIter = 100;
-        double fa = MathParser.evaluate(fExpr, a);
-        double fb = MathParser.evaluate(fExpr, b);
-
-        if (fa * fb > 0) {
-            return "f(a) and f(b) must have opposite signs.";
-        }
-
-        sb.append("Iter\t a\t b\t c\t f(c)\n");
 
-        double c = a;
-        for (int i = 1; i <= maxIter; i++) {
-            c = (a + b) / 2;
-            double fc = MathParser.evaluate(fExpr, c);
-            sb.append(String.format("%d\t %.6f\t %.6f\t %.6f\t %.6f\n", i, a, b, c, fc));
-
-            if (Math.abs(fc) < tol || (b - a) / 2 < tol) {
-                sb.append("\nRoot ≈ ").append(c);
-                return sb.toString();
-            }
-
-            if (fa * fc < 0) {
-                b = c;
-                fb = fc;
-            } else {
-                a = c;
-                fa = fc;
-            }
+    // Puts prefix + the chosen path into the field; the file itself is read when the solver runs
+    private void chooseFile(JTextField field, String prefix) {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            field.setText(prefix + chooser.getSelectedFile().getAbsolutePath());
         }
-
-        sb.append("\nMaximum iterations reached. Final approximation: ").append(c);
-        return sb.toString();
     }
-    // Gaussian Elimination Method
-    public static double[] runGaussianElimination(double[][] A, double[] b) {
-        int n = A.length;
-
-        for (int i = 0; i < n; i++) {
-            int max = i;
-            for (int j = i + 1; j < n; j++) {
-                if (Math.abs(A[j][i]) > Math.abs(A[max][i])) {
-                    max = j;
-                }
-            }
-
-            double[] temp = A[i]; A[i] = A[max]; A[max] = temp;
-            double t = b[i]; b[i] = b[max]; b[max] = t;
-
-            for (int j = i + 1; j < n; j++) {
-                double factor = A[j][i] / A[i][i];
-                b[j] -= factor * b[i];
-                for (int k = i; k < n; k++) {
-                    A[j][k] -= factor * A[i][k];
-                }
-            }
-        }
-
-        double[] x = new double[n];
-        for (int i = n - 1; i >= 0; i--) {
-            double sum = b[i];
-            for (int j = i + 1; j < n; j++) {
-                sum -= A[i][j] * x[j];
-            }
-            x[i] = sum / A[i][i];
-        }
 
-        return x;
+    // Optional system from a file (.mtx or .gmat); when set it replaces the equations.
+    // The right-hand side is <name>_b.<extension> next to it, or A * (1, ..., 1).
+    private JTextField addSystemFileRow(JPanel panel, String extension) {
+        JTextField field = new JTextField();
+        field.setToolTipText("Matrix A (" + extension + "). b is read from <name>_b" + extension
+                + " if present, otherwise b = A·1.");
+        JButton browse = new JButton("Or solve a " + extension + " file (path on the right)...");
+        browse.addActionListener(e -> chooseFile(field, ""));
+        panel.add(browse);
+        panel.add(field);
+        return field;
     }
 
-    // Gauss Method Support
-    public static double[] solveGaussSeidel(double[][] A, double[] B, int maxIterations) {
-        double[] x = new double[3]; // Initial guess: x=0, y=0, z=0
-        double epsilon = 1e-3;
-
-        for (int iter = 0; iter < maxIterations; iter++) {
-            double x0 = x[0], x1 = x[1], x2 = x[2];
-
-            x[0] = (B[0] - A[0][1] * x[1] - A[0][2] * x[2]) / A[0][0];
-            x[1] = (B[1] - A[1][0] * x[0] - A[1][2] * x[2]) / A[1][1];
-            x[2] = (B[2] - A[2][0] * x[0] - A[2][1] * x[1]) / A[2][2];
-
-            if (Math.abs(x[0] - x0) < epsilon &&
-                Math.abs(x[1] - x1) < epsilon &&
-                Math.abs(x[2] - x2) < epsilon) {
-                break;
-            }
-        }
-
-        return x;
+    private JLabel createLabel(String text, Color fg) {
+        JLabel label = new JLabel(text);
+        label.setForeground(fg);
+        return label;
     }
 
-    // False Position Method
-    public static String runFalsePositionMethod(String expression, double x0, double x1, double tol) throws Exception {
-        StringBuilder sb = new StringBuilder();
-        Expression e = new ExpressionBuilder(expression).variable("x").build();
-
-        double f0 = e.setVariable("x", x0).evaluate();
-        double f1 = e.setVariable("x", x1).evaluate();
-
-        if (f0 * f1 > 0) {
-            return "Error: f(x0) and f(x1) must have opposite signs.";
+    private void showPanel(String methodName) {
+        JPanel panel = methodPanels.get(methodName);
+        if (panel == null) {
+            // Built on first use: a session rarely opens more than a couple of the panels
+            panel = createMethodPanel(methodName, panelBg, panelText);
+            methodPanels.put(methodName, panel);
+            contentPanel.add(panel, methodName);
         }
-
-        double x2, f2;
-        int iter = 0;
-
-        sb.append(String.format("%-15s %-15s %-20s %-20s %-25s\n", "Iter", "x0", "x1", "x2", "f(x2)"));
-        do {
-            x2 = x1 - (f1 * (x1 - x0)) / (f1 - f0);
-            f2 = e.setVariable("x", x2).evaluate();
-            sb.append(String.format("%-5d %-15f %-15f %-15f %-15f\n", iter, x0, x1, x2, f2));
-
-            if (f0 * f2 < 0) {
-                x1 = x2;
-                f1 = f2;
-            } else {
-                x0 = x2;
-                f0 = f2;
-            }
-
-            iter++;
-        } while (Math.abs(f2) > tol);
-
-        sb.append("\nApproximate Root: ").append(x2);
-        return sb.toString();
+        // No animation for now (or you can keep your fade animation if preferred)
+        cardLayout.show(contentPanel, methodName);
+        contentPanel.revalidate();
+        contentPanel.repaint();
     }
-    // Matrix Method
-    public static double[][] multiplyMatrices(double[][] A, double[][] B) throws Exception {
-        if (A[0].length != B.length && B.length != 1) {
-            throw new Exception("Matrix dimensions mismatch: Cannot multiply A (" +
-                    A.length + "x" + A[0].length + ") and B (" +
-                    B.length + "x" + B[0].length + ")");
-        }
-
-        // Transpose B if it is also a 1D row vector
-        if (B.length == 1) {
-            double[][] B_T = new double[B[0].length][1];
-            for (int i = 0; i < B[0].length; i++) {
-                B_T[i][0] = B[0][i];
-            }
-            B = B_T;
-        }
-
-        int rowsA = A.length;
-        int colsA = A[0].length;
-        int colsB = B[0].length;
 
-        double[][] result = new double[rowsA][colsB];
-
-        for (int i = 0; i < rowsA; i++) {
-            for (int j = 0; j < colsB; j++) {
-                for (int k = 0; k < colsA; k++) {
-                    result[i][j] += A[i][k] * B[k][j];
+    // The panel's first button whose label starts with "Run" (StartupProbe presses it)
+    private JButton runButton(String methodName) {
+        for (Component c : methodPanels.get(methodName).getComponents()) {
+            if (c instanceof JPanel inner) {
+                for (Component d : inner.getComponents()) {
+                    if (d instanceof JButton b && b.getText().startsWith("Run")) return b;
                 }
             }
         }
-        return result;
-    }
-    // Matrix to String
-    public static String matrixToString(double[][] matrix) {
-        StringBuilder sb = new StringBuilder();
-        for (double[] row : matrix) {
-            sb.append(Arrays.toString(row)).append("\n");
-        }
-        return sb.toString();
-    }
-    // Matrix Parser
-    public static double[][] parseMatrix(String input) throws Exception {
-        input = input.trim().replaceAll("[\\[\\]]", ""); // remove brackets
-        String[] values = input.split(",");
-        double[][] matrix = new double[1][values.length]; // row vector
-        for (int i = 0; i < values.length; i++) {
-            matrix[0][i] = Double.parseDouble(values[i].trim());
-        }
-        return matrix;
-    }
-    // Cramer's Rule Method
-    public static double[] solveCramer(double[][] A, double[] B) throws Exception {
-        double detA = determinant3x3(A);
-        if (detA == 0) throw new Exception("System has no unique solution (det = 0)");
-
-        double[][] Ax = replaceColumn(A, B, 0);
-        double[][] Ay = replaceColumn(A, B, 1);
-        double[][] Az = replaceColumn(A, B, 2);
-
-        return new double[] {
-            determinant3x3(Ax) / detA,
-            determinant3x3(Ay) / detA,
-            determinant3x3(Az) / detA
-        };
-    }
-    public static double determinant3x3(double[][] m) {
-        return m[0][0] * (m[1][1] * m[2][2] - m[1][2] * m[2][1]) -
-            m[0][1] * (m[1][0] * m[2][2] - m[1][2] * m[2][0]) +
-            m[0][2] * (m[1][0] * m[2][1] - m[1][1] * m[2][0]);
-    }
-    public static double[][] replaceColumn(double[][] matrix, double[] column, int colIndex) {
-        double[][] copy = new double[3][3];
-        for (int i = 0; i < 3; i++) {
-            System.arraycopy(matrix[i], 0, copy[i], 0, 3);
-            copy[i][colIndex] = column[i];
-        }
-        return copy;
-    }
-
-    // Cramer Equation parser
-    public static void parseEquation(String equation, double[][] A, double[] B, int row) throws Exception {
-        equation = equation.replaceAll("\\s+", "").toLowerCase();
-
-        String[] sides = equation.split("=");
-        if (sides.length != 2) throw new Exception("Equation must have an '=' sign.");
-
-        String lhs = sides[0];
-        double rhs = Double.parseDouble(sides[1]);
-
-        double[] coeffs = new double[3]; // For x, y, z
-
-        Pattern termPattern = Pattern.compile("([+-]?[^+-]+)");
-        Matcher matcher = termPattern.matcher(lhs);
-
-        while (matcher.find()) {
-            String term = matcher.group(1);
-
-            double coefficient = 1.0;
-            if (term.contains("x")) {
-                term = term.replace("x", "");
-                if (!term.equals("") && !term.equals("+") && !term.equals("-"))
-                    coefficient = Double.parseDouble(term);
-                else if (term.equals("-")) coefficient = -1.0;
-                coeffs[0] += coefficient;
-            } else if (term.contains("y")) {
-                term = term.replace("y", "");
-                if (!term.equals("") && !term.equals("+") && !term.equals("-"))
-                    coefficient = Double.parseDouble(term);
-                else if (term.equals("-")) coefficient = -1.0;
-                coeffs[1] += coefficient;
-            } else if (term.contains("z")) {
-                term = term.replace("z", "");
-                if (!term.equals("") && !term.equals("+") && !term.equals("-"))
-                    coefficient = Double.parseDouble(term);
-                else if (term.equals("-")) coefficient = -1.0;
-                coeffs[2] += coefficient;
-            } else {
-                throw new Exception("Invalid term: " + term);
-            }
-        }
-
-        // Store into matrix
-        A[row][0] = coeffs[0];
-        A[row][1] = coeffs[1];
-        A[row][2] = coeffs[2];
-        B[row] = rhs;
+        return null;
     }
-    // Jacobi Method
-    public static double[] solveJacobi(double[][] A, double[] B, int maxIterations) {
-        double[] x = new double[3];       // current estimates
-        double[] prevX = new double[3];   // previous estimates
-        double epsilon = 1e-3;
-
-        for (int iter = 0; iter < maxIterations; iter++) {
-            System.arraycopy(x, 0, prevX, 0, 3);
-
-            x[0] = (B[0] - A[0][1] * prevX[1] - A[0][2] * prevX[2]) / A[0][0];
-            x[1] = (B[1] - A[1][0] * prevX[0] - A[1][2] * prevX[2]) / A[1][1];
-            x[2] = (B[2] - A[2][0] * prevX[0] - A[2][1] * prevX[1]) / A[2][2];
-
-            // Optional early stopping
-            if (Math.abs(x[0] - prevX[0]) < epsilon &&
-                Math.abs(x[1] - prevX[1]) < epsilon &&
-                Math.abs(x[2] - prevX[2]) < epsilon) {
-                break;
-            }
-        }
 
-        return x;
-    }
 
 
-    // Cramer Support
-    private static double parseTerm(String s) {
-        if (s.equals("") || s.equals("+")) return 1;
-        if (s.equals("-")) return -1;
-        return Double.parseDouble(s);
-    }
-    // Gaussian Elimination Method
-        public static double[] gaussianElimination(double[][] A, double[] B) throws Exception {
-        int n = A.length;
-
-        System.out.println("Input Matrix A:");
-        for (double[] row : A) System.out.println(Arrays.toString(row));
-        System.out.println("Input Vector B:");
-        System.out.println(Arrays.toString(B));
-
-        // Forward Elimination with Partial Pivoting
-        for (int i = 0; i < n; i++) {
-            // Pivoting
-            int maxRow = i;
-            for (int k = i + 1; k < n; k++) {
-                if (Math.abs(A[k][i]) > Math.abs(A[maxRow][i])) {
-                    maxRow = k;
-                }
+//------------------------------------------------------------------------------------------------------------------------\\
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--cds-training")) {
+            cdsTraining();
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            GUI_GUI gui = new GUI_GUI();
+            if (StartupProbe.ENABLED) {
+                gui.addWindowListener(new WindowAdapter() {
+                    @Override
+                    public void windowOpened(WindowEvent e) {
+                        StartupProbe.mark("window");
+                        JButton run = gui.runButton(METHODS[0]);
+                        if (run != null) run.doClick();
+                    }
+                });
             }
-
-            // Swap rows in A using recursive function
-            recursiveSwapRows(A, i, maxRow, 0);
-
-            // Swap vector B entries manually
-            double tempVal = B[i];
-            B[i] = B[maxRow];
-            B[maxRow] = tempVal;
-
-            if (Math.abs(A[i][i]) < 1e-10)
-                throw new Exception("No unique solution (zero pivot encountered)");
-
-            // Eliminate
-            for (int j = i + 1; j < n; j++) {
-                double factor = A[j][i] / A[i][i];
-                for (int k = i; k < n; k++) {
-                    A[j][k] -= factor * A[i][k];
+            gui.setVisible(true);
+            // Off the startup path: the window is up before the JMX classes and exp4j load
+            Prewarm.start(() -> {
+                try {
+                    SolverMetrics.install(METHODS);
+                } catch (javax.management.JMException ex) {
+                    System.err.println("Solver metrics unavailable: " + ex.getMessage());
                 }
-                B[j] -= factor * B[i];
-            }
-
-            // Debug after each step
-            System.out.println("After pivoting step " + i + ":");
-            for (int r = 0; r < n; r++) {
-                System.out.println(Arrays.toString(A[r]) + " | " + B[r]);
-            }
-        }
-
-        // Back substitution (assume recursive implemented)
-        double[] x = new double[n];
-        x = backSubstitution(A, B, n - 1, x);
-
-        return x;
-    }
-
-
-
-    // = 0 Cleaning Cleaner hehe
-    private String cleanExpression(String expr) {
-        if (expr == null) return "";
-        // Remove trailing "= 0" or "=0" with optional spaces before 0
-        return expr.replaceAll("\\s*=\\s*0\\s*$", "").trim();
-    }
-    //--------------------------------------------------------------------------------------------------------------\\
-    //                                              Recursive Functions                                             \\
-    //--------------------------------------------------------------------------------------------------------------\\
-
-    private static double[] backSubstitution(double[][] A, double[] B, int i, double[] x) {
-        int n = A.length;
-        if (i < 0) return x; // base case: done
-        
-        double sum = B[i];
-        for (int j = i + 1; j < n; j++) {
-            sum -= A[i][j] * x[j];
-        }
-        x[i] = sum / A[i][i];
-        
-        return backSubstitution(A, B, i - 1, x);
-    }
-    public static void recursiveSwapRows(double[][] A, int row1, int row2, int col) {
-        if (col >= A[0].length) return;
-
-        double temp = A[row1][col];
-        A[row1][col] = A[row2][col];
-        A[row2][col] = temp;
-
-        recursiveSwapRows(A, row1, row2, col + 1);
-    }
-
-    private String runFixedPointIteration(String gExpr, double xPrev, double tol, int iter, int maxIter, StringBuilder sb) throws Exception {
-        if (iter > maxIter) {
-            sb.append("Did not converge within ").append(maxIter).append(" iterations.");
-            return sb.toString();
-        }
-        
-        double xNext = MathParser.evaluate(gExpr, xPrev);
-        sb.append(String.format("Iter %d: x = %.6f\n", iter, xNext));
-        
-        if (Math.abs(xNext - xPrev) < tol) {
-            sb.append("Converged to root: ").append(String.format("%.6f", xNext));
-            return sb.toString();
-        }
-        
-        return runFixedPointIteration(gExpr, xNext, tol, iter + 1, maxIter, sb);
+            });
+        });
     }
-    public static void recursiveForwardElimination(double[][] A, double[] B, int n, int i) throws Exception {
-        if (i >= n) return;
-
-        // Partial pivoting
-        int maxRow = i;
-        for (int k = i + 1; k < n; k++) {
-            if (Math.abs(A[k][i]) > Math.abs(A[maxRow][i])) {
-                maxRow = k;
-            }
-        }
-
-        if (maxRow != i) {
-            recursiveSwapRows(A, i, maxRow, 0);
-
-            double temp = B[i];
-            B[i] = B[maxRow];
-            B[maxRow] = temp;
-
-        }
-
-        if (Math.abs(A[i][i]) < 1e-10) {
-            throw new Exception("No unique solution (zero pivot encountered)");
-        }
 
-        for (int j = i + 1; j < n; j++) {
-            double factor = A[j][i] / A[i][i];
-            for (int k = i; k < n; k++) {
-                A[j][k] -= factor * A[i][k];
+    // Loads what a session loads, for the AppCDS archive that build.xml makes with
+    // -XX:ArchiveClassesAtExit: every solver (Prewarm), the window with its native peers, every
+    // panel laid out and painted, and one job run through SolverRunner to the end. The window is
+    // never shown. Headless, the window and its peers cannot be made, so only the Swing components
+    // are loaded and the archive does little for time to first window (build.xml falls back to a
+    // headless run when there is no display or training with the window fails).
+    private static void cdsTraining() throws Exception {
+        Prewarm.run();
+        SolverRunner[] runner = new SolverRunner[1];
+        SwingUtilities.invokeAndWait(() -> {
+            JTextArea result = new JTextArea();
+            if (GraphicsEnvironment.isHeadless()) {
+                JPanel panel = new JPanel(new GridLayout(10, 2));
+                panel.add(new JLabel("f(x):"));
+                panel.add(new JTextField("x^3 - 4cos(x) = 0"));
+                panel.add(new JButton("Run"));
+                panel.add(new JCheckBox("Teaching mode"));
+                panel.add(new JScrollPane(result));
+            } else {
+                GUI_GUI gui = new GUI_GUI();
+                gui.addNotify(); // the peers setVisible would make, without putting a window on screen
+                java.awt.image.BufferedImage image = new java.awt.image.BufferedImage(gui.getWidth(), gui.getHeight(),
+                        java.awt.image.BufferedImage.TYPE_INT_RGB);
+                Graphics2D g = image.createGraphics();
+                for (String method : METHODS) {
+                    gui.showPanel(method);
+                    gui.validate();
+                    gui.getRootPane().paint(g);
+                }
+                g.dispose();
+                gui.dispose();
             }
-            B[j] -= factor * B[i];
-        }
-
-        // Recursive call for next row
-        recursiveForwardElimination(A, B, n, i + 1);
-    }
-    public static int gcdRecursive(int a, int b) {
-        if (b == 0) return a;
-        return gcdRecursive(b, a % b);
-    }
-
-
-
-//------------------------------------------------------------------------------------------------------------------------\\
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            new GUI_GUI().setVisible(true);
+            runner[0] = new SolverRunner("Brent's Method", result, Color.DARK_GRAY, Color.WHITE);
+            String f = NumericalMethods.cleanExpression("x^3 - 4cos(x) = 0");
+            runner[0].runCached(ctx -> NumericalMethods.runBrentMethod(f, 1, 2, 1e-6, 50, ctx), f, 1.0, 2.0, 1e-6, 50);
         });
-    }
-}
-//------------------------------------------------------------------------------------------------------------------------\\
-                      // ANOTHER CLASS HEHE \\
-class MathParser {
-    public static double evaluate(String expression, double x) throws Exception {
-        try {
-            Expression e = new ExpressionBuilder(expression)
-                .variable("x")
-                .build()
-                .setVariable("x", x);
-            return e.evaluate();
-        } catch (Exception ex) {
-            throw new Exception("Invalid expression: " + ex.getMessage());
-        }
+        // finish() records the job's stats on the EDT once the result is shown
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (runner[0].lastStats() == null && System.nanoTime() < deadline) Thread.sleep(10);
+        System.exit(0);
     }
 }
@@ -0,0 +1,203 @@
+package gui_gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Iteration log for the solvers. Rows are recorded into primitive arrays (iteration number
+// plus a fixed number of double columns such as x, f(x) or the bracket endpoints) and only
+// turned into text when someone renders them, so a solver loop never formats a string.
+//
+//   NONE     nothing is kept
+//   SUMMARY  only the latest row is kept (constant memory), rendered with an omission note
+//   FULL     every row is kept, plus matrix snapshots from the elimination routines
+public class IterationTrace {
+
+    public enum Level { NONE, SUMMARY, FULL }
+
+    private static final int INITIAL_ROWS = 64;
+    static final int MAX_SNAPSHOT_ROWS = 20;
+
+    private final Level level;
+    private final String header;    // printed once above the rows, may be empty
+    private final String rowFormat; // String.format pattern: %d for the iteration, then one per column
+    private final int columns;
+
+    private int[] iterations = new int[0];
+    private double[] values = new double[0];
+    private int rows;               // rows stored
+    private long recorded;          // rows offered, including ones SUMMARY overwrote
+    private final List<Snapshot> snapshots = new ArrayList<>();
+
+    public IterationTrace(Level level, String header, String rowFormat, int columns) {
+        this.level = level;
+        this.header = header;
+        this.rowFormat = rowFormat;
+        this.columns = columns;
+    }
+
+    public Level level() {
+        return level;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public long recorded() {
+        return recorded;
+    }
+
+    // ---------------------------------------------------------------- recording (no allocation once warmed up)
+
+    public void record(int iteration, double c0) {
+        int base = slot(iteration);
+        if (base >= 0) values[base] = c0;
+    }
+
+    public void record(int iteration, double c0, double c1) {
+        int base = slot(iteration);
+        if (base >= 0) {
+            values[base] = c0;
+            values[base + 1] = c1;
+        }
+    }
+
+    public void record(int iteration, double c0, double c1, double c2, double c3) {
+        int base = slot(iteration);
+        if (base >= 0) {
+            values[base] = c0;
+            values[base + 1] = c1;
+            values[base + 2] = c2;
+            values[base + 3] = c3;
+        }
+    }
+
+    // Vector-valued rows (the iterative linear solvers); copies the first `columns` entries
+    public void record(int iteration, double[] row) {
+        int base = slot(iteration);
+        if (base >= 0) System.arraycopy(row, 0, values, base, columns);
+    }
+
+    // Returns the offset of the row's first column, or -1 when nothing should be stored
+    private int slot(int iteration) {
+        recorded++;
+        if (level == Level.NONE) return -1;
+        int row;
+        if (level == Level.SUMMARY) {
+            row = 0;
+            rows = 1;
+        } else {
+            row = rows++;
+        }
+        if (row >= iterations.length) {
+            int capacity = Math.max(INITIAL_ROWS, iterations.length * 2);
+            iterations = Arrays.copyOf(iterations, capacity);
+            values = Arrays.copyOf(values, capacity * columns);
+        }
+        iterations[row] = iteration;
+        return row * columns;
+    }
+
+    // Copy of an augmented system [A | B] at some step; FULL level only. Systems larger than
+    // MAX_SNAPSHOT_ROWS keep only the label, since n copies of an n x n matrix would dwarf the
+    // solve itself.
+    public void snapshot(String label, double[][] A, double[] B) {
+        if (level != Level.FULL || tooLargeToSnapshot(A.length, A.length == 0 ? 0 : A[0].length)) return;
+        double[][] rowsCopy = new double[A.length][];
+        for (int i = 0; i < A.length; i++) rowsCopy[i] = A[i].clone();
+        snapshots.add(new Snapshot(label, rowsCopy, B.clone()));
+    }
+
+    // Same for flat storage
+    public void snapshot(String label, DenseMatrix A, double[] B) {
+        if (level != Level.FULL || tooLargeToSnapshot(A.rows(), A.cols())) return;
+        snapshots.add(new Snapshot(label, A.toArray(), B.clone()));
+    }
+
+    // Same for off-heap storage
+    public void snapshot(String label, SegmentMatrix A, double[] B) {
+        if (level != Level.FULL || tooLargeToSnapshot(A.rows(), A.cols())) return;
+        snapshots.add(new Snapshot(label, A.toDense().toArray(), B.clone()));
+    }
+
+    // Leaves a single note in place of the snapshots of a large system
+    private boolean tooLargeToSnapshot(int rows, int cols) {
+        if (rows <= MAX_SNAPSHOT_ROWS) return false;
+        if (snapshots.isEmpty()) {
+            snapshots.add(new Snapshot("(" + rows + "x" + cols + " system: matrix snapshots are only kept up to "
+                    + MAX_SNAPSHOT_ROWS + " rows)", new double[0][], new double[0]));
+        }
+        return true;
+    }
+
+    // ---------------------------------------------------------------- rendering
+
+    public StringBuilder render() {
+        StringBuilder sb = new StringBuilder();
+        for (Snapshot s : snapshots) s.render(sb);
+        if (level == Level.NONE || (rows == 0 && header.isEmpty())) return sb;
+
+        sb.append(header);
+        if (level == Level.SUMMARY && recorded > 1) {
+            sb.append("... ").append(recorded - 1).append(" earlier iterations not kept (trace level SUMMARY) ...\n");
+        }
+        renderRows(sb, iterations, values, 0, rows);
+        return sb;
+    }
+
+    // Rows [from, to) as they are now. Captures the current arrays, so the excerpt stays valid
+    // (and can be rendered on another thread) after the solver grows the trace. FULL level only.
+    Excerpt excerpt(int from, int to) {
+        return new Excerpt(from == 0 ? header : "", iterations, values, from, to);
+    }
+
+    private void renderRows(StringBuilder sb, int[] its, double[] vals, int from, int to) {
+        Object[] args = new Object[columns + 1];
+        for (int r = from; r < to; r++) {
+            args[0] = its[r];
+            for (int c = 0; c < columns; c++) args[c + 1] = vals[r * columns + c];
+            sb.append(String.format(rowFormat, args));
+        }
+    }
+
+    // A slice of rows handed to a progress listener; formatted only when render() is called
+    public final class Excerpt {
+        // when a UI falls far behind, show the tail of the slice instead of flooding it
+        static final int MAX_RENDERED_ROWS = 500;
+
+        private final String prefix;
+        private final int[] its;
+        private final double[] vals;
+        private final int from;
+        private final int to;
+
+        private Excerpt(String prefix, int[] its, double[] vals, int from, int to) {
+            this.prefix = prefix;
+            this.its = its;
+            this.vals = vals;
+            this.from = from;
+            this.to = to;
+        }
+
+        public String render() {
+            StringBuilder sb = new StringBuilder(prefix);
+            int start = from;
+            if (to - from > MAX_RENDERED_ROWS) {
+                start = to - MAX_RENDERED_ROWS;
+                sb.append("... ").append(start - from).append(" rows skipped while streaming ...\n");
+            }
+            renderRows(sb, its, vals, start, to);
+            return sb.toString();
+        }
+    }
+
+    private record Snapshot(String label, double[][] A, double[] B) {
+        void render(StringBuilder sb) {
+            sb.append(label).append('\n');
+            for (int r = 0; r < A.length; r++) {
+                sb.append(Arrays.toString(A[r])).append(" | ").append(B[r]).append('\n');
+            }
+        }
+    }
+}
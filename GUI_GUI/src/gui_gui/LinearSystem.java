@@ -0,0 +1,145 @@
+package gui_gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// A square system A x = b parsed from equations such as "2x1 - x2 + 3.5*x3 = 5".
+// Variable names are arbitrary identifiers (x, y, z or x1..xn, ...); terms may appear on
+// either side of '='. Unknowns are ordered naturally: x, y, z and x2 before x10.
+public record LinearSystem(String[] variables, DenseMatrix A, double[] b) {
+
+    // optional sign, optional coefficient (1e-3 style exponents allowed), optional '*', optional name
+    private static final Pattern TERM = Pattern.compile(
+            "([+-])?(\\d+\\.?\\d*(?:e[+-]?\\d+)?|\\.\\d+(?:e[+-]?\\d+)?)?(\\*)?([a-z_][a-z_0-9]*)?");
+
+    private static final Pattern NAME_PARTS = Pattern.compile("^(.*?)(\\d*)$");
+
+    public int size() {
+        return variables.length;
+    }
+
+    // Each text may hold several equations separated by ';' or new lines; blank ones are skipped
+    public static LinearSystem parse(String... equationTexts) throws Exception {
+        List<String> equations = new ArrayList<>();
+        for (String text : equationTexts) {
+            if (text == null) continue;
+            for (String eq : text.split("[;\\n]")) {
+                if (!eq.isBlank()) equations.add(eq);
+            }
+        }
+        return parse(equations);
+    }
+
+    public static LinearSystem parse(List<String> equations) throws Exception {
+        if (equations.isEmpty()) throw new Exception("No equations given.");
+
+        List<Map<String, Double>> rows = new ArrayList<>(equations.size());
+        double[] b = new double[equations.size()];
+        TreeSet<String> names = new TreeSet<>(NATURAL_ORDER);
+
+        for (int r = 0; r < equations.size(); r++) {
+            String equation = equations.get(r).replaceAll("\\s+", "").toLowerCase();
+            String[] sides = equation.split("=");
+            if (sides.length != 2) throw new Exception("Equation " + (r + 1) + " must have exactly one '=' sign.");
+
+            Map<String, Double> coeffs = new LinkedHashMap<>();
+            double constant = parseSide(sides[0], 1, coeffs) + parseSide(sides[1], -1, coeffs);
+            b[r] = -constant; // lhs - rhs = 0  =>  sum(coeffs) = -constant
+            rows.add(coeffs);
+            names.addAll(coeffs.keySet());
+        }
+
+        if (names.size() != equations.size()) {
+            throw new Exception("System has " + equations.size() + " equation(s) but " + names.size()
+                    + " unknown(s) " + names + "; it must be square.");
+        }
+
+        String[] variables = names.toArray(new String[0]);
+        Map<String, Integer> column = new LinkedHashMap<>();
+        for (int j = 0; j < variables.length; j++) column.put(variables[j], j);
+
+        DenseMatrix A = new DenseMatrix(variables.length, variables.length);
+        for (int r = 0; r < rows.size(); r++) {
+            for (Map.Entry<String, Double> e : rows.get(r).entrySet()) {
+                A.add(r, column.get(e.getKey()), e.getValue());
+            }
+        }
+        return new LinearSystem(variables, A, b);
+    }
+
+    // Adds sign * (variable terms) into coeffs and returns sign * (sum of constant terms)
+    private static double parseSide(String side, double sign, Map<String, Double> coeffs) throws Exception {
+        if (side.isEmpty()) throw new Exception("Empty side in equation.");
+        Matcher m = TERM.matcher(side);
+        double constant = 0;
+        int pos = 0;
+        while (pos < side.length()) {
+            m.region(pos, side.length());
+            if (!m.lookingAt() || m.end() == pos) throw new Exception("Invalid term at: " + side.substring(pos));
+
+            String signText = m.group(1);
+            String number = m.group(2);
+            String name = m.group(4);
+            if ((pos > 0 && signText == null)
+                    || (number == null && name == null)
+                    || (m.group(3) != null && (number == null || name == null))) {
+                throw new Exception("Invalid term: " + side.substring(pos, Math.max(m.end(), pos + 1)));
+            }
+
+            double value = number == null ? 1.0 : Double.parseDouble(number);
+            if ("-".equals(signText)) value = -value;
+            if (name == null) {
+                constant += sign * value;
+            } else {
+                coeffs.merge(name, sign * value, Double::sum);
+            }
+            pos = m.end();
+        }
+        return constant;
+    }
+
+    // "x2" < "x10", and plain letters sort alphabetically (x < y < z)
+    static final Comparator<String> NATURAL_ORDER = (a, b) -> {
+        Matcher ma = NAME_PARTS.matcher(a);
+        Matcher mb = NAME_PARTS.matcher(b);
+        ma.matches();
+        mb.matches();
+        int c = ma.group(1).compareTo(mb.group(1));
+        if (c != 0) return c;
+        String na = ma.group(2).replaceFirst("^0+(?=.)", "");
+        String nb = mb.group(2).replaceFirst("^0+(?=.)", "");
+        c = Integer.compare(na.length(), nb.length());
+        if (c != 0) return c;
+        c = na.compareTo(nb);
+        return c != 0 ? c : a.compareTo(b);
+    };
+
+    // Comma/space separated values, one per unknown; blank means all zeros
+    public double[] parseVector(String text) throws Exception {
+        double[] v = new double[size()];
+        if (text == null || text.isBlank()) return v;
+        String[] parts = text.trim().split("[,;\\s]+");
+        if (parts.length != v.length) {
+            throw new Exception("Expected " + v.length + " values " + Arrays.toString(variables) + ", got " + parts.length);
+        }
+        for (int i = 0; i < v.length; i++) v[i] = Double.parseDouble(parts[i]);
+        return v;
+    }
+
+    // "x = 1.0\ny = 2.0\n..." in variable order
+    public String format(double[] solution) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < variables.length; i++) {
+            sb.append(variables[i]).append(" = ").append(solution[i]);
+            if (i < variables.length - 1) sb.append("\n");
+        }
+        return sb.toString();
+    }
+}
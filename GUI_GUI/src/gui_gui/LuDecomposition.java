@@ -0,0 +1,220 @@
+package gui_gui;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// PA = LU with partial pivoting, factored once and then reused for any number of right-hand
+// sides at O(n^2) each.
+//
+// L (unit lower, diagonal not stored) and U share one array per row, so pivoting swaps row
+// references (see DenseSolvers.gaussianElimination), and perm[i] is the row of A that ended up
+// in row i. The input matrix is copied, never modified. A singular
+// matrix still factors (so its determinant can be taken); solving with it throws.
+public final class LuDecomposition {
+
+    // Right-hand sides per leaf task of solve(DenseMatrix); below 2 leaves the batch runs inline
+    static final int RHS_GRAIN = 16;
+
+    private final int n;
+    private final double[][] lu;
+    private final int[] perm;
+    private final boolean oddPermutation;
+    private final boolean singular;
+
+    private LuDecomposition(int n, double[][] lu, int[] perm, boolean oddPermutation, boolean singular) {
+        this.n = n;
+        this.lu = lu;
+        this.perm = perm;
+        this.oddPermutation = oddPermutation;
+        this.singular = singular;
+    }
+
+    public static LuDecomposition factor(DenseMatrix A) throws Exception {
+        return factor(A, SolverContext.defaults());
+    }
+
+    // One checkpoint per column, so a long factorisation can be cancelled from the panel
+    public static LuDecomposition factor(DenseMatrix A, SolverContext ctx) throws Exception {
+        if (!A.isSquare()) throw new Exception("Coefficient matrix must be square, got " + A.rows() + "x" + A.cols());
+        return decompose(A, ctx);
+    }
+
+    // factor() for a matrix already known to be square
+    static LuDecomposition decompose(DenseMatrix A, SolverContext ctx) {
+        int n = A.rows();
+        double[][] a = A.toArray();
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        boolean odd = false;
+        boolean singular = false;
+
+        for (int i = 0; i < n; i++) {
+            ctx.checkpoint();
+            int pivot = i;
+            double best = Math.abs(a[i][i]);
+            for (int k = i + 1; k < n; k++) {
+                double v = Math.abs(a[k][i]);
+                if (v > best) {
+                    best = v;
+                    pivot = k;
+                }
+            }
+            if (pivot != i) {
+                double[] t = a[i]; a[i] = a[pivot]; a[pivot] = t;
+                int p = perm[i]; perm[i] = perm[pivot]; perm[pivot] = p;
+                odd = !odd;
+            }
+
+            double[] ri = a[i];
+            double diag = ri[i];
+            if (Math.abs(diag) < DenseSolvers.PIVOT_EPSILON) singular = true;
+            if (diag == 0) continue; // the column below is all zero already
+
+            for (int j = i + 1; j < n; j++) {
+                double[] rj = a[j];
+                double factor = rj[i] / diag;
+                rj[i] = factor;
+                if (factor == 0) continue;
+                for (int k = i + 1; k < n; k++) rj[k] -= factor * ri[k];
+            }
+        }
+        return new LuDecomposition(n, a, perm, odd, singular);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    // Some pivot is below DenseSolvers.PIVOT_EPSILON: no unique solution
+    public boolean isSingular() {
+        return singular;
+    }
+
+    // +1 or -1: the parity of the row exchanges, det(P)
+    public int permutationSign() {
+        return oddPermutation ? -1 : 1;
+    }
+
+    // det(A) = det(P) * prod(u_ii). Overflows to +-Infinity (or underflows to 0) long before
+    // the determinant of a large matrix is meaningless; logAbsDeterminant() does not.
+    public double determinant() {
+        double det = permutationSign();
+        for (int i = 0; i < n; i++) det *= lu[i][i];
+        return det == 0 ? 0 : det; // no -0.0 for a singular matrix
+    }
+
+    // ln |det(A)|, summed pivot by pivot; -Infinity when a pivot is exactly zero
+    public double logAbsDeterminant() {
+        double sum = 0;
+        for (int i = 0; i < n; i++) sum += Math.log(Math.abs(lu[i][i]));
+        return sum;
+    }
+
+    // Sign of det(A): -1, 0 or +1
+    public int determinantSign() {
+        int sign = permutationSign();
+        for (int i = 0; i < n; i++) {
+            double u = lu[i][i];
+            if (u == 0) return 0;
+            if (u < 0) sign = -sign;
+        }
+        return sign;
+    }
+
+    // sign * e^logAbs in decimal scientific notation, for determinants beyond the double range
+    public static String formatDeterminant(int sign, double logAbs) {
+        if (sign == 0 || logAbs == Double.NEGATIVE_INFINITY) return "0";
+        if (Math.abs(logAbs) < 700) return String.valueOf(sign * Math.exp(logAbs));
+        double log10 = logAbs / Math.log(10);
+        double exponent = Math.floor(log10);
+        return String.format("%s%.6fe%+.0f", sign < 0 ? "-" : "", Math.pow(10, log10 - exponent), exponent);
+    }
+
+    // perm[i] = the row of A that is row i of PA (a copy)
+    public int[] permutation() {
+        return perm.clone();
+    }
+
+    public double[] solve(double[] b) throws Exception {
+        checkSolvable();
+        if (b.length != n) throw new Exception("Right-hand side has " + b.length + " entries, expected " + n);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = b[perm[i]];
+        substitute(x, 0);
+        return x;
+    }
+
+    // Solves A X = B for every column of the n x k matrix B at once
+    public DenseMatrix solve(DenseMatrix B) throws Exception {
+        return solve(B, ForkJoinPool.commonPool(), SolverContext.defaults());
+    }
+
+    // The columns are independent, so they are split over the pool. Each right-hand side is
+    // first made contiguous (B is transposed, rows permuted on the way), solved in place, and
+    // the result transposed back.
+    public DenseMatrix solve(DenseMatrix B, ForkJoinPool pool, SolverContext ctx) throws Exception {
+        checkSolvable();
+        if (B.rows() != n) throw new Exception("Right-hand sides have " + B.rows() + " rows, expected " + n);
+        int k = B.cols();
+        double[] b = B.data();
+        double[] xt = new double[k * n];
+        for (int i = 0; i < n; i++) {
+            int src = perm[i] * k;
+            for (int c = 0; c < k; c++) xt[c * n + i] = b[src + c];
+        }
+
+        if (k >= 2 * RHS_GRAIN && pool.getParallelism() > 1) {
+            pool.invoke(new ColumnSolve(xt, 0, k, ctx));
+        } else {
+            ctx.checkCancelled();
+            for (int c = 0; c < k; c++) substitute(xt, c * n);
+        }
+        return MatrixMultiply.transpose(new DenseMatrix(k, n, xt));
+    }
+
+    // Forward then back substitution on x[off .. off + n), already permuted
+    private void substitute(double[] x, int off) {
+        for (int i = 1; i < n; i++) {
+            double[] row = lu[i];
+            double sum = x[off + i];
+            for (int j = 0; j < i; j++) sum -= row[j] * x[off + j];
+            x[off + i] = sum;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double[] row = lu[i];
+            double sum = x[off + i];
+            for (int j = i + 1; j < n; j++) sum -= row[j] * x[off + j];
+            x[off + i] = sum / row[i];
+        }
+    }
+
+    private void checkSolvable() throws Exception {
+        if (singular) throw new Exception("No unique solution (zero pivot encountered)");
+    }
+
+    // Right-hand sides [from, to) of the transposed batch; leaves write disjoint rows of xt
+    private final class ColumnSolve extends RecursiveAction {
+        private final double[] xt;
+        private final int from;
+        private final int to;
+        private final SolverContext ctx;
+
+        ColumnSolve(double[] xt, int from, int to, SolverContext ctx) {
+            this.xt = xt;
+            this.from = from;
+            this.to = to;
+            this.ctx = ctx;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= RHS_GRAIN) {
+                ctx.checkCancelled();
+                for (int c = from; c < to; c++) substitute(xt, c * n);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ColumnSolve(xt, from, mid, ctx), new ColumnSolve(xt, mid, to, ctx));
+        }
+    }
+}
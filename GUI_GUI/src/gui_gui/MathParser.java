@@ -0,0 +1,46 @@
+package gui_gui;
+
+import java.util.function.DoubleUnaryOperator;
+
+class MathParser {
+    // EXP4J interprets the parsed token list; BYTECODE compiles each expression to a hidden
+    // class (see ExpressionCompiler) and falls back to exp4j for anything it cannot compile.
+    // Opt in with -Dgui_gui.engine=bytecode or MathParser.setEngine.
+    enum Engine { EXP4J, BYTECODE }
+
+    private static final ExpressionCache CACHE = new ExpressionCache(ExpressionCache.DEFAULT_CAPACITY);
+    private static volatile Engine engine =
+            "bytecode".equalsIgnoreCase(System.getProperty("gui_gui.engine")) ? Engine.BYTECODE : Engine.EXP4J;
+
+    public static double evaluate(String expression, double x) throws Exception {
+        return CACHE.get(expression).evaluate(x);
+    }
+
+    // out[i] = f(xs[i]) for every i, a block of points at a time (vectorised when
+    // jdk.incubator.vector is present); out may be xs itself
+    public static void evaluate(String expression, double[] xs, double[] out) throws Exception {
+        CACHE.get(expression).evaluate(xs, out);
+    }
+
+    // Parse once (or fetch from the cache) and evaluate many times, e.g. inside a solver loop
+    public static ExpressionCache.CompiledExpression compile(String expression) throws Exception {
+        return CACHE.get(expression);
+    }
+
+    // f(x) for the active engine; safe to share between threads
+    public static DoubleUnaryOperator function(String expression) throws Exception {
+        return CACHE.get(expression).function(engine);
+    }
+
+    public static Engine engine() {
+        return engine;
+    }
+
+    public static void setEngine(Engine newEngine) {
+        engine = newEngine;
+    }
+
+    public static ExpressionCache cache() {
+        return CACHE;
+    }
+}
@@ -0,0 +1,172 @@
+package gui_gui;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Binary matrix files (.gmat), opened by mapping them into memory rather than parsing.
+//
+//   bytes 0-7    magic "GNMATRIX"
+//   bytes 8-11   format version (1), little-endian int
+//   bytes 12-15  reserved, 0
+//   bytes 16-23  rows, little-endian long
+//   bytes 24-31  columns, little-endian long
+//   bytes 32-    rows * columns doubles, little-endian, row-major
+//
+// The 32-byte header keeps the values 8-byte aligned in the mapping. A vector is an n x 1
+// matrix. Opening costs the same for any size: the pages are read from disk when touched.
+public final class MatrixFile {
+
+    public static final String EXTENSION = ".gmat";
+
+    static final int VERSION = 1;
+    static final long HEADER_BYTES = 32;
+
+    private static final byte[] MAGIC = {'G', 'N', 'M', 'A', 'T', 'R', 'I', 'X'};
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private MatrixFile() {
+    }
+
+    public static boolean isMatrixFile(Path file) {
+        return file.getFileName().toString().endsWith(EXTENSION);
+    }
+
+    // Maps the file read-only; close the matrix to unmap it
+    public static SegmentMatrix open(Path file) throws Exception {
+        return map(file, FileChannel.MapMode.READ_ONLY);
+    }
+
+    // Maps the file read-write: set() and writeRow() change the file itself
+    public static SegmentMatrix openWritable(Path file) throws Exception {
+        return map(file, FileChannel.MapMode.READ_WRITE);
+    }
+
+    // Maps the file copy-on-write: the matrix can be modified, but the file never is. A page is
+    // copied into private memory the first time it is written, so a solver that works in place
+    // (DenseSolvers.gaussianEliminationInPlace) skips the up-front copy; dense elimination still
+    // writes nearly every page, so it saves the copying pass, not memory. The JDK maps private
+    // pages only from a read-write channel: for a file that cannot be opened for writing (a
+    // read-only file or mount) this returns null, and the caller copies instead.
+    public static SegmentMatrix openPrivate(Path file) throws Exception {
+        return map(file, FileChannel.MapMode.PRIVATE);
+    }
+
+    // Creates (or replaces) a zero-filled rows x cols file and maps it read-write
+    public static SegmentMatrix create(Path file, int rows, int cols) throws Exception {
+        long bytes = HEADER_BYTES + SegmentMatrix.byteSize(rows, cols);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+             Arena header = Arena.ofConfined()) {
+            MemorySegment h = ch.map(FileChannel.MapMode.READ_WRITE, 0, bytes, header);
+            MemorySegment.copy(MAGIC, 0, h, ValueLayout.JAVA_BYTE, 0, MAGIC.length);
+            h.set(INT, 8, VERSION);
+            h.set(LONG, 16, rows);
+            h.set(LONG, 24, cols);
+        } catch (IOException ex) {
+            throw new Exception("Cannot create " + file + ": " + ex.getMessage());
+        }
+        return map(file, FileChannel.MapMode.READ_WRITE);
+    }
+
+    public static void write(Path file, DenseMatrix M) throws Exception {
+        try (SegmentMatrix S = create(file, M.rows(), M.cols())) {
+            MemorySegment.copy(M.data(), 0, S.segment(), SegmentMatrix.ELEMENT, 0, M.data().length);
+        }
+    }
+
+    public static void write(Path file, SegmentMatrix M) throws Exception {
+        try (SegmentMatrix S = create(file, M.rows(), M.cols())) {
+            S.segment().copyFrom(M.segment());
+        }
+    }
+
+    // An n x 1 (or 1 x n) file as a heap array
+    public static double[] readVector(Path file) throws Exception {
+        try (SegmentMatrix v = open(file)) {
+            if (v.cols() != 1 && v.rows() != 1) throw error(file, "expected a vector, got " + v.rows() + "x" + v.cols());
+            double[] out = new double[Math.max(v.rows(), v.cols())];
+            MemorySegment.copy(v.segment(), SegmentMatrix.ELEMENT, 0, out, 0, out.length);
+            return out;
+        }
+    }
+
+    public static void writeVector(Path file, double[] v) throws Exception {
+        write(file, new DenseMatrix(v.length, 1, v));
+    }
+
+    // The right-hand side for matrixFile: "<name>_b.gmat" next to it when present, otherwise
+    // b = A * (1, ..., 1); the same convention as MatrixMarketReader.rightHandSide
+    public static double[] rightHandSide(Path matrixFile, SegmentMatrix A) throws Exception {
+        String name = matrixFile.getFileName().toString();
+        String stem = name.endsWith(EXTENSION) ? name.substring(0, name.length() - EXTENSION.length()) : name;
+        Path rhs = matrixFile.resolveSibling(stem + "_b" + EXTENSION);
+        if (Files.isRegularFile(rhs)) {
+            double[] b = readVector(rhs);
+            if (b.length != A.rows()) throw error(rhs, "has " + b.length + " entries, matrix has " + A.rows() + " rows");
+            return b;
+        }
+        double[] ones = new double[A.cols()];
+        Arrays.fill(ones, 1);
+        return A.multiply(ones);
+    }
+
+    // Converts a text matrix (MatrixIO format) or a Matrix Market file to .gmat:
+    //   java -cp GUI_GUI.jar gui_gui.MatrixFile input.txt|input.mtx output.gmat
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("usage: MatrixFile <input.txt|input.mtx> <output" + EXTENSION + ">");
+            System.exit(2);
+        }
+        Path in = Path.of(args[0]);
+        DenseMatrix M = in.getFileName().toString().endsWith(".mtx")
+                ? MatrixMarketReader.read(in).toDense()
+                : MatrixIO.read(in);
+        write(Path.of(args[1]), M);
+        System.out.println("Wrote " + M.rows() + "x" + M.cols() + " matrix to " + args[1]);
+    }
+
+    private static SegmentMatrix map(Path file, FileChannel.MapMode mode) throws Exception {
+        Arena arena = Arena.ofShared();
+        try (FileChannel ch = mode == FileChannel.MapMode.READ_ONLY
+                ? FileChannel.open(file, StandardOpenOption.READ)
+                : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = ch.size();
+            if (size < HEADER_BYTES) throw error(file, "too short for a header");
+            MemorySegment all = ch.map(mode, 0, size, arena);
+
+            byte[] magic = all.asSlice(0, MAGIC.length).toArray(ValueLayout.JAVA_BYTE);
+            if (!Arrays.equals(magic, MAGIC)) throw error(file, "not a " + EXTENSION + " matrix file");
+            int version = all.get(INT, 8);
+            if (version != VERSION) throw error(file, "unsupported version " + version);
+            long rows = all.get(LONG, 16);
+            long cols = all.get(LONG, 24);
+            if (rows < 0 || cols < 0 || rows > Integer.MAX_VALUE || cols > Integer.MAX_VALUE) {
+                throw error(file, "invalid size " + rows + "x" + cols);
+            }
+            long expected = HEADER_BYTES + SegmentMatrix.byteSize((int) rows, (int) cols);
+            if (size != expected) throw error(file, "is " + size + " bytes, a " + rows + "x" + cols + " matrix needs " + expected);
+            return new SegmentMatrix((int) rows, (int) cols, all.asSlice(HEADER_BYTES), arena, true);
+        } catch (Exception ex) {
+            arena.close();
+            if (ex instanceof NoSuchFileException) throw new Exception("File not found: " + file);
+            if (mode == FileChannel.MapMode.PRIVATE && ex instanceof FileSystemException) return null; // no write access
+            if (ex instanceof IOException) throw new Exception("Cannot read " + file + ": " + ex.getMessage());
+            throw ex;
+        }
+    }
+
+    private static Exception error(Path file, String message) {
+        return new Exception("Invalid matrix file " + file.getFileName() + ": " + message);
+    }
+}
@@ -0,0 +1,143 @@
+package gui_gui;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+// Reading and printing matrices for the Matrix Operations panel.
+//
+//   literal  "[1, 2; 3, 4]", "[[1,2],[3,4]]" or one row per line; entries split on ',' or spaces.
+//            "[5,6,7,8]" is still a 1x4 row vector.
+//   file     "file:/path/to/matrix.txt": the same text, one row per line, '#' starts a comment line
+//   binary   "file:/path/to/matrix.gmat": a MatrixFile, mapped off-heap by loadOffHeap()
+public final class MatrixIO {
+
+    public static final String FILE_PREFIX = "file:";
+
+    // Larger results are shown as their top-left corner
+    static final int PREVIEW_ROWS = 12;
+    static final int PREVIEW_COLS = 8;
+
+    private static final Pattern ROW_SEPARATOR = Pattern.compile("\\]\\s*,?\\s*\\[|;|\\R");
+    private static final Pattern ENTRY_SEPARATOR = Pattern.compile("[,\\s]+");
+
+    private MatrixIO() {
+    }
+
+    // A literal, or a file when the text starts with "file:"
+    public static DenseMatrix load(String spec) throws Exception {
+        String s = spec.trim();
+        if (s.startsWith(FILE_PREFIX)) return read(Path.of(s.substring(FILE_PREFIX.length()).trim()));
+        return parse(s);
+    }
+
+    // Whether spec names a binary .gmat file, which is better kept off the heap
+    public static boolean isBinary(String spec) {
+        String s = spec.trim();
+        return s.startsWith(FILE_PREFIX) && s.endsWith(MatrixFile.EXTENSION);
+    }
+
+    // A .gmat file mapped in place; anything else is loaded as usual and copied off-heap
+    public static SegmentMatrix loadOffHeap(String spec) throws Exception {
+        String s = spec.trim();
+        if (isBinary(s)) return MatrixFile.open(Path.of(s.substring(FILE_PREFIX.length()).trim()));
+        return SegmentMatrix.copyOf(load(s));
+    }
+
+    public static DenseMatrix parse(String text) throws Exception {
+        Builder b = new Builder();
+        for (String row : ROW_SEPARATOR.split(text.replace("[[", "[").replace("]]", "]"))) {
+            b.addRow(row.replaceAll("[\\[\\]]", ""));
+        }
+        return b.build();
+    }
+
+    public static DenseMatrix read(Path file) throws Exception {
+        if (MatrixFile.isMatrixFile(file)) {
+            try (SegmentMatrix M = MatrixFile.open(file)) {
+                return M.toDense();
+            }
+        }
+        Builder b = new Builder();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.stripLeading().startsWith("#")) b.addRow(line);
+            }
+        } catch (IOException ex) {
+            throw new Exception("Cannot read " + file + ": " + ex.getMessage());
+        }
+        return b.build();
+    }
+
+    // Row by row, or the top-left corner with the size when the matrix is large
+    public static String format(DenseMatrix M) {
+        if (M.rows() <= PREVIEW_ROWS && M.cols() <= PREVIEW_COLS) return M.toString();
+        return corner(M.rows() + "x" + M.cols() + " matrix", M.rows(), M.cols(), M::get);
+    }
+
+    public static String format(SegmentMatrix M) {
+        if (M.rows() <= PREVIEW_ROWS && M.cols() <= PREVIEW_COLS) return M.toDense().toString();
+        return corner(M.toString(), M.rows(), M.cols(), M::get);
+    }
+
+    @FunctionalInterface
+    private interface Entries {
+        double get(int i, int j);
+    }
+
+    private static String corner(String title, int rows, int cols, Entries M) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(title).append(", top-left corner:\n");
+        int r = Math.min(rows, PREVIEW_ROWS);
+        int c = Math.min(cols, PREVIEW_COLS);
+        double[] row = new double[c];
+        for (int i = 0; i < r; i++) {
+            for (int j = 0; j < c; j++) row[j] = M.get(i, j);
+            sb.append(Arrays.toString(row));
+            if (c < cols) sb.setLength(sb.length() - 1);
+            sb.append(c < cols ? ", ...]\n" : "\n");
+        }
+        if (r < rows) sb.append("...\n");
+        return sb.toString();
+    }
+
+    // Collects rows into one growing flat array
+    private static final class Builder {
+        private double[] data = new double[16];
+        private int size;
+        private int rows;
+        private int cols = -1;
+
+        void addRow(String text) throws Exception {
+            String row = text.strip();
+            if (row.isEmpty()) return;
+            String[] entries = ENTRY_SEPARATOR.split(row);
+            int start = entries[0].isEmpty() ? 1 : 0; // a leading separator leaves one empty entry
+            int count = entries.length - start;
+            if (cols < 0) {
+                cols = count;
+            } else if (count != cols) {
+                throw new Exception("Row " + (rows + 1) + " has " + count + " values, expected " + cols);
+            }
+            if (size + count > data.length) data = Arrays.copyOf(data, Math.max(data.length * 2, size + count));
+            for (int k = start; k < entries.length; k++) {
+                try {
+                    data[size++] = Double.parseDouble(entries[k]);
+                } catch (NumberFormatException ex) {
+                    throw new Exception("Invalid number in row " + (rows + 1) + ": " + entries[k]);
+                }
+            }
+            rows++;
+        }
+
+        DenseMatrix build() throws Exception {
+            if (rows == 0) throw new Exception("Matrix is empty");
+            return new DenseMatrix(rows, cols, Arrays.copyOf(data, size));
+        }
+    }
+}
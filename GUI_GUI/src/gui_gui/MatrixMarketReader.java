@@ -0,0 +1,150 @@
+package gui_gui;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+// Reads Matrix Market (.mtx) files, the format of the SuiteSparse / NIST collections.
+//
+//   coordinate  real | integer | pattern, general | symmetric | skew-symmetric   -> CsrMatrix
+//   array       real | integer, general                                           -> column-major values
+//
+// Indices in the file are 1-based. Symmetric files store one triangle; the mirror entries are
+// added here. Complex and Hermitian matrices are rejected.
+public final class MatrixMarketReader {
+
+    private MatrixMarketReader() {
+    }
+
+    public static CsrMatrix read(Path file) throws Exception {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            Header h = header(in, file);
+            if (!h.coordinate()) {
+                double[] v = arrayValues(in, h, file);
+                CsrMatrix.Builder b = new CsrMatrix.Builder(h.rows(), h.cols(), v.length);
+                for (int j = 0; j < h.cols(); j++) {
+                    for (int i = 0; i < h.rows(); i++) b.add(i, j, v[j * h.rows() + i]);
+                }
+                return b.build();
+            }
+
+            CsrMatrix.Builder b = new CsrMatrix.Builder(h.rows(), h.cols(), h.symmetry() == Symmetry.GENERAL ? h.entries() : 2 * h.entries());
+            int read = 0;
+            String line;
+            while (read < h.entries() && (line = in.readLine()) != null) {
+                if (skip(line)) continue;
+                String[] t = line.trim().split("\\s+");
+                if (t.length < (h.pattern() ? 2 : 3)) throw error(file, "entry " + (read + 1) + " is incomplete: " + line);
+                int i = Integer.parseInt(t[0]) - 1;
+                int j = Integer.parseInt(t[1]) - 1;
+                double v = h.pattern() ? 1 : Double.parseDouble(t[2]);
+                b.add(i, j, v);
+                if (i != j && h.symmetry() == Symmetry.SYMMETRIC) b.add(j, i, v);
+                if (i != j && h.symmetry() == Symmetry.SKEW_SYMMETRIC) b.add(j, i, -v);
+                read++;
+            }
+            if (read < h.entries()) throw error(file, "expected " + h.entries() + " entries, found " + read);
+            return b.build();
+        } catch (NoSuchFileException ex) {
+            throw new Exception("File not found: " + file);
+        } catch (IOException ex) {
+            throw new Exception("Cannot read " + file + ": " + ex.getMessage());
+        } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+            throw error(file, ex.getMessage());
+        }
+    }
+
+    // A vector stored as an n x 1 matrix, either format (right-hand sides such as name_b.mtx)
+    public static double[] readVector(Path file) throws Exception {
+        CsrMatrix m = read(file);
+        if (m.cols() != 1 && m.rows() != 1) throw error(file, "expected a vector, got " + m.rows() + "x" + m.cols());
+        boolean column = m.cols() == 1;
+        double[] v = new double[column ? m.rows() : m.cols()];
+        for (int i = 0; i < v.length; i++) v[i] = column ? m.get(i, 0) : m.get(0, i);
+        return v;
+    }
+
+    // The right-hand side for matrixFile: "<name>_b.mtx" next to it when present (the SuiteSparse
+    // convention), otherwise b = A * (1, ..., 1) so the exact solution is all ones
+    public static double[] rightHandSide(Path matrixFile, CsrMatrix A) throws Exception {
+        String name = matrixFile.getFileName().toString();
+        String stem = name.endsWith(".mtx") ? name.substring(0, name.length() - 4) : name;
+        Path rhs = matrixFile.resolveSibling(stem + "_b.mtx");
+        if (Files.isRegularFile(rhs)) {
+            double[] b = readVector(rhs);
+            if (b.length != A.rows()) throw error(rhs, "has " + b.length + " entries, matrix has " + A.rows() + " rows");
+            return b;
+        }
+        double[] ones = new double[A.cols()];
+        Arrays.fill(ones, 1);
+        return A.multiply(ones);
+    }
+
+    private enum Symmetry { GENERAL, SYMMETRIC, SKEW_SYMMETRIC }
+
+    private record Header(boolean coordinate, boolean pattern, Symmetry symmetry, int rows, int cols, int entries) {
+    }
+
+    private static Header header(BufferedReader in, Path file) throws Exception {
+        String banner = in.readLine();
+        if (banner == null || !banner.startsWith("%%MatrixMarket")) throw error(file, "missing %%MatrixMarket banner");
+        String[] t = banner.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        if (t.length < 5 || !t[1].equals("matrix")) throw error(file, "unsupported object in banner: " + banner);
+
+        boolean coordinate = switch (t[2]) {
+            case "coordinate" -> true;
+            case "array" -> false;
+            default -> throw error(file, "unknown format " + t[2]);
+        };
+        boolean pattern = switch (t[3]) {
+            case "real", "integer", "double" -> false;
+            case "pattern" -> true;
+            default -> throw error(file, t[3] + " matrices are not supported");
+        };
+        Symmetry symmetry = switch (t[4]) {
+            case "general" -> Symmetry.GENERAL;
+            case "symmetric" -> Symmetry.SYMMETRIC;
+            case "skew-symmetric" -> Symmetry.SKEW_SYMMETRIC;
+            default -> throw error(file, t[4] + " matrices are not supported");
+        };
+        if (!coordinate && (pattern || symmetry != Symmetry.GENERAL)) {
+            throw error(file, "only general real arrays are supported");
+        }
+
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) throw error(file, "missing size line");
+        } while (skip(line));
+        String[] size = line.trim().split("\\s+");
+        int rows = Integer.parseInt(size[0]);
+        int cols = Integer.parseInt(size[1]);
+        int entries = coordinate ? Integer.parseInt(size[2]) : rows * cols;
+        return new Header(coordinate, pattern, symmetry, rows, cols, entries);
+    }
+
+    // Dense "array" body: one value per line, column by column
+    private static double[] arrayValues(BufferedReader in, Header h, Path file) throws Exception {
+        double[] v = new double[h.entries()];
+        int read = 0;
+        String line;
+        while (read < v.length && (line = in.readLine()) != null) {
+            if (!skip(line)) v[read++] = Double.parseDouble(line.trim());
+        }
+        if (read < v.length) throw error(file, "expected " + v.length + " values, found " + read);
+        return v;
+    }
+
+    private static boolean skip(String line) {
+        return line.isBlank() || line.startsWith("%");
+    }
+
+    private static Exception error(Path file, String message) {
+        return new Exception("Invalid Matrix Market file " + file.getFileName() + ": " + message);
+    }
+}
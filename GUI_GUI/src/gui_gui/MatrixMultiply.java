@@ -0,0 +1,252 @@
+package gui_gui;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// C = A * B on flat row-major matrices.
+//
+// B is packed once as its transpose, so every C[i][j] is a dot product of two contiguous rows
+// instead of a walk down a column of B. The dot products are tiled: a block of K_BLOCK columns
+// of A against J_BLOCK rows of B^T stays in cache while every row of A passes over it, and the
+// innermost step computes a 2x2 block of C (four loads feed four multiply-adds).
+// Products of at least PARALLEL_THRESHOLD multiply-adds are split by rows over the common
+// fork-join pool; smaller ones run on the calling thread.
+//
+// Off-heap operands (SegmentMatrix, e.g. mapped .gmat files) go through the same kernel: each
+// leaf copies one tile of A, B^T and C at a time into heap buffers of a few hundred KB, so the
+// matrices themselves are never copied whole and can be larger than the heap.
+public final class MatrixMultiply {
+
+    static final int K_BLOCK = 256;
+    static final int J_BLOCK = 64;
+
+    // ~ a 128 x 128 x 128 product; below this the fork-join overhead outweighs the gain
+    static final long PARALLEL_THRESHOLD = 1L << 21;
+
+    // Leaf size of the row split; kept even so the 2x2 kernel rarely needs its edge case
+    static final int ROW_GRAIN = 32;
+
+    private MatrixMultiply() {
+    }
+
+    public static DenseMatrix multiply(DenseMatrix A, DenseMatrix B) throws Exception {
+        return multiply(A, B, SolverContext.defaults());
+    }
+
+    // Checks ctx for cancellation and the time limit once per row block
+    public static DenseMatrix multiply(DenseMatrix A, DenseMatrix B, SolverContext ctx) throws Exception {
+        if (A.cols() != B.rows()) {
+            throw new Exception("Matrix dimensions mismatch: Cannot multiply A (" + A.rows() + "x" + A.cols()
+                    + ") and B (" + B.rows() + "x" + B.cols() + ")");
+        }
+        int m = A.rows();
+        int n = B.cols();
+        int inner = A.cols();
+
+        DenseMatrix C = new DenseMatrix(m, n);
+        if (m == 0 || n == 0 || inner == 0) return C;
+
+        double[] bt = transpose(B).data();
+        Product p = new Product(A.data(), bt, C.data(), n, inner, ctx);
+
+        long work = (long) m * n * inner;
+        if (work < PARALLEL_THRESHOLD || m < 2 * ROW_GRAIN || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            p.rows(0, m);
+        } else {
+            ForkJoinPool.commonPool().invoke(new RowSplit(p, 0, m));
+        }
+        return C;
+    }
+
+    public static SegmentMatrix multiply(SegmentMatrix A, SegmentMatrix B) throws Exception {
+        return multiply(A, B, SolverContext.defaults());
+    }
+
+    // The product is allocated off-heap; the caller closes it
+    public static SegmentMatrix multiply(SegmentMatrix A, SegmentMatrix B, SolverContext ctx) throws Exception {
+        if (A.cols() != B.rows()) {
+            throw new Exception("Matrix dimensions mismatch: Cannot multiply A (" + A.rows() + "x" + A.cols()
+                    + ") and B (" + B.rows() + "x" + B.cols() + ")");
+        }
+        SegmentMatrix C = SegmentMatrix.allocate(A.rows(), B.cols());
+        try {
+            multiplyInto(A, B, C, ctx);
+            return C;
+        } catch (RuntimeException ex) {
+            C.close();
+            throw ex;
+        }
+    }
+
+    // C = A * B into an existing matrix, e.g. one created by MatrixFile.create
+    public static void multiplyInto(SegmentMatrix A, SegmentMatrix B, SegmentMatrix C, SolverContext ctx) throws Exception {
+        if (A.cols() != B.rows() || C.rows() != A.rows() || C.cols() != B.cols()) {
+            throw new Exception("Matrix dimensions mismatch: A (" + A.rows() + "x" + A.cols() + ") * B (" + B.rows()
+                    + "x" + B.cols() + ") does not fit C (" + C.rows() + "x" + C.cols() + ")");
+        }
+        int m = A.rows();
+        int n = B.cols();
+        int inner = A.cols();
+        C.segment().fill((byte) 0);
+        if (m == 0 || n == 0 || inner == 0) return;
+
+        SegmentProduct p = new SegmentProduct(A, B, C, ctx);
+        long work = (long) m * n * inner;
+        if (work < PARALLEL_THRESHOLD || m < 2 * ROW_GRAIN || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            p.rows(0, m);
+        } else {
+            ForkJoinPool.commonPool().invoke(new RowSplit(p, 0, m));
+        }
+    }
+
+    public static DenseMatrix transpose(DenseMatrix M) {
+        int r = M.rows();
+        int c = M.cols();
+        double[] src = M.data();
+        double[] dst = new double[src.length];
+        // 32 x 32 tiles so neither side is walked with a large stride for long
+        for (int i0 = 0; i0 < r; i0 += 32) {
+            int i1 = Math.min(i0 + 32, r);
+            for (int j0 = 0; j0 < c; j0 += 32) {
+                int j1 = Math.min(j0 + 32, c);
+                for (int i = i0; i < i1; i++) {
+                    for (int j = j0; j < j1; j++) dst[j * r + i] = src[i * c + j];
+                }
+            }
+        }
+        return new DenseMatrix(c, r, dst);
+    }
+
+    // Fills rows [from, to) of C; leaves of the row split own disjoint ranges
+    @FunctionalInterface
+    private interface RowRange {
+        void rows(int from, int to);
+    }
+
+    // The shared operands of one product; rows(from, to) fills rows [from, to) of C
+    private record Product(double[] a, double[] bt, double[] c, int n, int inner, SolverContext ctx) implements RowRange {
+
+        @Override
+        public void rows(int from, int to) {
+            for (int k0 = 0; k0 < inner; k0 += K_BLOCK) {
+                int k1 = Math.min(k0 + K_BLOCK, inner);
+                for (int j0 = 0; j0 < n; j0 += J_BLOCK) {
+                    int j1 = Math.min(j0 + J_BLOCK, n);
+                    ctx.checkCancelled();
+                    int i = from;
+                    for (; i + 1 < to; i += 2) rowPair(i, j0, j1, k0, k1);
+                    if (i < to) row(i, j0, j1, k0, k1);
+                }
+            }
+        }
+
+        // C[i..i+1][j0..j1) += A[i..i+1][k0..k1) * B^T[j0..j1)[k0..k1)
+        private void rowPair(int i, int j0, int j1, int k0, int k1) {
+            int a0 = i * inner;
+            int a1 = a0 + inner;
+            int c0 = i * n;
+            int c1 = c0 + n;
+            int j = j0;
+            for (; j + 1 < j1; j += 2) {
+                int b0 = j * inner;
+                int b1 = b0 + inner;
+                double s00 = 0, s01 = 0, s10 = 0, s11 = 0;
+                for (int k = k0; k < k1; k++) {
+                    double x0 = a[a0 + k];
+                    double x1 = a[a1 + k];
+                    double y0 = bt[b0 + k];
+                    double y1 = bt[b1 + k];
+                    s00 += x0 * y0;
+                    s01 += x0 * y1;
+                    s10 += x1 * y0;
+                    s11 += x1 * y1;
+                }
+                c[c0 + j] += s00;
+                c[c0 + j + 1] += s01;
+                c[c1 + j] += s10;
+                c[c1 + j + 1] += s11;
+            }
+            if (j < j1) {
+                int b0 = j * inner;
+                double s0 = 0, s1 = 0;
+                for (int k = k0; k < k1; k++) {
+                    double y0 = bt[b0 + k];
+                    s0 += a[a0 + k] * y0;
+                    s1 += a[a1 + k] * y0;
+                }
+                c[c0 + j] += s0;
+                c[c1 + j] += s1;
+            }
+        }
+
+        // Odd last row
+        private void row(int i, int j0, int j1, int k0, int k1) {
+            int a0 = i * inner;
+            int c0 = i * n;
+            for (int j = j0; j < j1; j++) {
+                int b0 = j * inner;
+                double s = 0;
+                for (int k = k0; k < k1; k++) s += a[a0 + k] * bt[b0 + k];
+                c[c0 + j] += s;
+            }
+        }
+    }
+
+    // Off-heap product, ROW_GRAIN x K_BLOCK tiles of A against K_BLOCK x J_BLOCK tiles of B.
+    // Each tile of B is transposed while it is copied in, and the heap tiles are handed to
+    // Product, whose single block then covers the whole tile.
+    private record SegmentProduct(SegmentMatrix A, SegmentMatrix B, SegmentMatrix C, SolverContext ctx) implements RowRange {
+
+        @Override
+        public void rows(int from, int to) {
+            int n = B.cols();
+            int inner = A.cols();
+            double[] aTile = new double[ROW_GRAIN * K_BLOCK];
+            double[] btTile = new double[J_BLOCK * K_BLOCK];
+            double[] cTile = new double[ROW_GRAIN * J_BLOCK];
+            double[] bRow = new double[J_BLOCK];
+
+            for (int i0 = from; i0 < to; i0 += ROW_GRAIN) {
+                int rb = Math.min(ROW_GRAIN, to - i0);
+                for (int k0 = 0; k0 < inner; k0 += K_BLOCK) {
+                    int kb = Math.min(K_BLOCK, inner - k0);
+                    for (int r = 0; r < rb; r++) A.readRow(i0 + r, k0, aTile, r * kb, kb);
+                    for (int j0 = 0; j0 < n; j0 += J_BLOCK) {
+                        int jb = Math.min(J_BLOCK, n - j0);
+                        for (int k = 0; k < kb; k++) {
+                            B.readRow(k0 + k, j0, bRow, 0, jb);
+                            for (int t = 0; t < jb; t++) btTile[t * kb + k] = bRow[t];
+                        }
+                        for (int r = 0; r < rb; r++) C.readRow(i0 + r, j0, cTile, r * jb, jb);
+                        new Product(aTile, btTile, cTile, jb, kb, ctx).rows(0, rb);
+                        for (int r = 0; r < rb; r++) C.writeRow(i0 + r, j0, cTile, r * jb, jb);
+                    }
+                }
+            }
+        }
+    }
+
+    // Halves the row range until it is ROW_GRAIN rows or fewer; rows never overlap, so the
+    // leaves write disjoint parts of C without synchronisation
+    private static final class RowSplit extends RecursiveAction {
+        private final RowRange p;
+        private final int from;
+        private final int to;
+
+        RowSplit(RowRange p, int from, int to) {
+            this.p = p;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROW_GRAIN) {
+                p.rows(from, to);
+                return;
+            }
+            int mid = (from + (to - from) / 2) & ~1;
+            invokeAll(new RowSplit(p, from, mid), new RowSplit(p, mid, to));
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package gui_gui;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Gauss-Seidel / SOR in multicolor order.
+//
+// The unknowns are colored greedily so that no two unknowns of one color are coupled
+// (a[i][j] = 0 and a[j][i] = 0). A sweep then updates the colors one after the other; inside a
+// color every update reads only unknowns of other colors, so the class is split over a
+// fork-join pool and the result does not depend on the split. A 5-point grid or a banded system
+// needs two colors (red-black); a full dense matrix needs n, and then this is an ordinary
+// sequential sweep in a different order. Rows are read from CSR storage, so a sweep costs O(nnz).
+//
+// The reordering changes which values each update sees, so the iteration count can differ
+// from the natural-order sweep; Result carries both counts when compare() is used.
+public final class MulticolorGaussSeidel {
+
+    // Colors with fewer multiply-adds than this are updated on the calling thread
+    static final int PARALLEL_WORK = 1 << 15;
+    static final int LEAF_WORK = 1 << 13;
+
+    private final CsrMatrix A;
+    private final int n;
+    private final double[] diag;
+    private final int[][] colorRows; // colorRows[c] = unknowns of color c, ascending
+    private final long[] colorWork;  // multiply-adds per sweep of each color
+
+    // sequentialIterations is -1 unless the result comes from compare()
+    public record Result(double[] x, int iterations, int colors, int sequentialIterations) {
+
+        public String summary() {
+            String s = colors + " color(s) for " + x.length + " unknowns\n"
+                    + "Multicolor sweeps to converge: " + iterations;
+            return sequentialIterations < 0 ? s : s + "\nSequential sweeps to converge: " + sequentialIterations;
+        }
+    }
+
+    public MulticolorGaussSeidel(DenseMatrix A) throws Exception {
+        this(CsrMatrix.fromDense(A));
+    }
+
+    public MulticolorGaussSeidel(CsrMatrix A) throws Exception {
+        if (!A.isSquare()) throw new Exception("Coefficient matrix must be square, got " + A.rows() + "x" + A.cols());
+        diag = SparseSolvers.checkDiagonal(A);
+        this.A = A;
+        n = A.rows();
+        colorRows = color(A);
+        int[] ptr = A.rowPtr();
+        colorWork = new long[colorRows.length];
+        for (int c = 0; c < colorRows.length; c++) {
+            for (int i : colorRows[c]) colorWork[c] += ptr[i + 1] - ptr[i];
+        }
+    }
+
+    public int colors() {
+        return colorRows.length;
+    }
+
+    // Greedy coloring of the symmetrised sparsity graph, unknowns taken in natural order
+    static int[][] color(CsrMatrix A) {
+        int n = A.rows();
+        int[] ptr = A.rowPtr();
+        int[] idx = A.colIdx();
+
+        // neighbours in either direction: i ~ j if a[i][j] != 0 or a[j][i] != 0
+        int[] degree = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int k = ptr[i]; k < ptr[i + 1]; k++) {
+                int j = idx[k];
+                if (j == i) continue;
+                degree[i]++;
+                degree[j]++;
+            }
+        }
+        int[][] adj = new int[n][];
+        for (int i = 0; i < n; i++) adj[i] = new int[degree[i]];
+        int[] fill = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int k = ptr[i]; k < ptr[i + 1]; k++) {
+                int j = idx[k];
+                if (j == i) continue;
+                adj[i][fill[i]++] = j;
+                adj[j][fill[j]++] = i;
+            }
+        }
+
+        int[] color = new int[n];
+        int[] seenBy = new int[n + 1]; // seenBy[c] == i + 1: color c is taken by a neighbour of i
+        int colors = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j : adj[i]) {
+                if (j < i) seenBy[color[j]] = i + 1;
+            }
+            int c = 0;
+            while (seenBy[c] == i + 1) c++;
+            color[i] = c;
+            colors = Math.max(colors, c + 1);
+        }
+
+        int[] size = new int[colors];
+        for (int c : color) size[c]++;
+        int[][] rows = new int[colors][];
+        for (int c = 0; c < colors; c++) rows[c] = new int[size[c]];
+        Arrays.fill(size, 0);
+        for (int i = 0; i < n; i++) rows[color[i]][size[color[i]]++] = i;
+        return rows;
+    }
+
+    // Multicolor SOR from x0 (null = zeros); the trace gets one row per sweep like DenseSolvers.sor
+    public Result solve(double[] b, double[] x0, int maxIterations, double epsilon, double omega,
+                        String[] names, SolverContext ctx) throws Exception {
+        return solve(b, x0, maxIterations, epsilon, omega, names, ForkJoinPool.commonPool(), ctx);
+    }
+
+    public Result solve(double[] b, double[] x0, int maxIterations, double epsilon, double omega,
+                        String[] names, ForkJoinPool pool, SolverContext ctx) throws Exception {
+        if (b.length != n) throw new Exception("Right-hand side has " + b.length + " entries, expected " + n);
+        DenseSolvers.checkRelaxation(omega);
+        double[] x = x0 == null ? new double[n] : x0.clone();
+        if (names == null) names = DenseSolvers.defaultNames(n);
+
+        IterationTrace trace = ctx.startTrace("", DenseSolvers.iterationFormat(names),
+                Math.min(n, DenseSolvers.TRACE_COLUMNS));
+        boolean parallel = pool.getParallelism() > 1;
+        int iteration = 0;
+        double maxDelta;
+        do {
+            iteration++;
+            maxDelta = 0;
+            for (int c = 0; c < colorRows.length; c++) {
+                int[] rows = colorRows[c];
+                double delta;
+                if (parallel && colorWork[c] >= PARALLEL_WORK) {
+                    int leafRows = (int) Math.max(1, LEAF_WORK * rows.length / colorWork[c]);
+                    delta = pool.invoke(new ColorUpdate(rows, 0, rows.length, leafRows, b, x, omega));
+                } else {
+                    delta = update(rows, 0, rows.length, b, x, omega);
+                }
+                maxDelta = Math.max(maxDelta, delta);
+            }
+            trace.record(iteration, x);
+            ctx.checkpoint();
+            DenseSolvers.checkFinite(maxDelta, iteration);
+        } while (maxDelta > epsilon && iteration < maxIterations);
+        return new Result(x, iteration, colorRows.length, -1);
+    }
+
+    // Runs the natural-order sweep (same omega) and then the multicolor one, so the result reports
+    // both iteration counts; the context's trace ends up holding the multicolor run
+    public Result compare(double[] b, double[] x0, int maxIterations, double epsilon, double omega,
+                          String[] names, SolverContext ctx) throws Exception {
+        long before = ctx.iterations();
+        SparseSolvers.sor(A, b, x0, maxIterations, epsilon, omega, names, ctx);
+        int sequential = (int) (ctx.iterations() - before);
+        Result r = solve(b, x0, maxIterations, epsilon, omega, names, ctx);
+        return new Result(r.x(), r.iterations(), r.colors(), sequential);
+    }
+
+    // Updates the unknowns rows[from..to) of one color in place; returns the largest change
+    private double update(int[] rows, int from, int to, double[] b, double[] x, double omega) {
+        int[] ptr = A.rowPtr();
+        int[] idx = A.colIdx();
+        double[] val = A.values();
+        double maxDelta = 0;
+        for (int k = from; k < to; k++) {
+            int i = rows[k];
+            double sum = b[i];
+            for (int t = ptr[i]; t < ptr[i + 1]; t++) {
+                int j = idx[t];
+                if (j != i) sum -= val[t] * x[j];
+            }
+            double updated = sum / diag[i];
+            if (omega != 1) updated = x[i] + omega * (updated - x[i]);
+            maxDelta = Math.max(maxDelta, Math.abs(updated - x[i]));
+            x[i] = updated;
+        }
+        return maxDelta;
+    }
+
+    // Splits one color class; its unknowns are uncoupled, so the halves never read each other's writes
+    private final class ColorUpdate extends RecursiveTask<Double> {
+        private final int[] rows;
+        private final int from;
+        private final int to;
+        private final int leafRows;
+        private final double[] b;
+        private final double[] x;
+        private final double omega;
+
+        ColorUpdate(int[] rows, int from, int to, int leafRows, double[] b, double[] x, double omega) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.leafRows = leafRows;
+            this.b = b;
+            this.x = x;
+            this.omega = omega;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= leafRows) return update(rows, from, to, b, x, omega);
+            int mid = (from + to) >>> 1;
+            ColorUpdate right = new ColorUpdate(rows, mid, to, leafRows, b, x, omega);
+            right.fork();
+            double left = new ColorUpdate(rows, from, mid, leafRows, b, x, omega).compute();
+            return Math.max(left, right.join());
+        }
+    }
+}
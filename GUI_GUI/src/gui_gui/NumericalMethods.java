@@ -0,0 +1,481 @@
+package gui_gui;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+// The numerical methods behind the panels, free of any Swing/AWT dependency so they can be
+// driven from benchmarks and other non-GUI callers.
+public final class NumericalMethods {
+
+    private NumericalMethods() {
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------//
+    //                                                Methods Formulas                                                 //
+    // ----------------------------------------------------------------------------------------------------------------//
+
+    // Gauss-Seidel Method
+    public static String solveGaussSeidelWithConvergence(double[][] A, double[] B, double epsilon, double[] initialGuess) throws Exception {
+        return solveGaussSeidelWithConvergence(A, B, epsilon, initialGuess, SolverContext.defaults());
+    }
+    public static String solveGaussSeidelWithConvergence(double[][] A, double[] B, double epsilon, double[] initialGuess, SolverContext ctx) throws Exception {
+        String[] names = DenseSolvers.defaultNames(B.length);
+        double[] x = DenseSolvers.gaussSeidel(DenseMatrix.of(A), B, initialGuess, Integer.MAX_VALUE, epsilon, names, ctx);
+        return gaussSeidelReport(names, x, ctx);
+    }
+
+    // Trace followed by "Converged solution:" and the unknowns to 4 places
+    public static String gaussSeidelReport(String[] names, double[] x, SolverContext ctx) {
+        StringBuilder output = ctx.trace().render();
+        output.append("Converged solution:\n");
+        String separator = names.length > DenseSolvers.TRACE_COLUMNS ? "\n" : ", ";
+        for (int i = 0; i < x.length; i++) {
+            if (i > 0) output.append(separator);
+            output.append(names[i]).append(String.format(" ≈ %.4f", x[i]));
+        }
+        return output.toString();
+    }
+
+
+
+
+    // Newton Support
+    // f' is exact and comes with f in one pass (DualExpression); central differences only for an
+    // expression the dual evaluator cannot parse
+    public static String runNewtonRaphsonAuto(String fExpr, double x0, double tol) throws Exception {
+        return runNewtonRaphsonAuto(fExpr, x0, tol, SolverContext.defaults());
+    }
+    public static String runNewtonRaphsonAuto(String fExpr, double x0, double tol, SolverContext ctx) throws Exception {
+        ExpressionCache.CompiledExpression compiled = MathParser.compile(fExpr);
+        DualExpression dual = compiled.dual();
+        if (dual == null) {
+            return runNewtonRaphsonAuto(compiled.function(MathParser.engine()), x0, tol, ctx);
+        }
+        // one dual pass counts as one evaluation
+        long[] passes = new long[1];
+        try {
+            return newtonRaphson((x, out) -> {
+                passes[0]++;
+                dual.evaluate(x, out);
+            }, x0, tol, ctx);
+        } finally {
+            ctx.addEvaluations(passes[0]);
+        }
+    }
+    // For a bare f(x), f' by central difference (three evaluations per iteration)
+    public static String runNewtonRaphsonAuto(DoubleUnaryOperator f, double x0, double tol) {
+        return runNewtonRaphsonAuto(f, x0, tol, SolverContext.defaults());
+    }
+    public static String runNewtonRaphsonAuto(DoubleUnaryOperator function, double x0, double tol, SolverContext ctx) {
+        DoubleUnaryOperator f = ctx.counted(function);
+        return newtonRaphson((x, out) -> {
+            out[0] = f.applyAsDouble(x);
+            out[1] = (f.applyAsDouble(x + 1e-6) - f.applyAsDouble(x - 1e-6)) / (2e-6);
+        }, x0, tol, ctx);
+    }
+
+    // Writes f(x) to out[0] and f'(x) to out[1]
+    @FunctionalInterface
+    interface ValueAndDerivative {
+        void evaluate(double x, double[] out);
+    }
+
+    private static String newtonRaphson(ValueAndDerivative f, double x0, double tol, SolverContext ctx) {
+        IterationTrace trace = ctx.startTrace("", "Iteration %d: x = %.6f\n", 2);
+        int maxIter = 100;
+        double x = x0;
+        double[] fx = new double[2];
+
+        for (int i = 1; i <= maxIter; i++) {
+            f.evaluate(x, fx);
+            double dfx = fx[1];
+
+            if (dfx == 0) {
+                return "Derivative is zero. Method fails.";
+            }
+
+            double x1 = x - fx[0] / dfx;
+            trace.record(i, x1, fx[0]);
+            ctx.checkpoint();
+
+            if (Math.abs(x1 - x) < tol) {
+                return trace.render().append("Root found: ").append(x1).toString();
+            }
+
+            x = x1;
+        }
+        return "Method did not converge within max iterations.";
+    }
+
+
+
+    // Secant Method implementation
+    public static String runSecantMethod(String fExpr, double x0, double x1, double tol) throws Exception {
+        return runSecantMethod(fExpr, x0, x1, tol, SolverContext.defaults());
+    }
+    public static String runSecantMethod(String fExpr, double x0, double x1, double tol, SolverContext ctx) throws Exception {
+        IterationTrace trace = ctx.startTrace("Secant Method:\n", "Iter %d: x = %.6f\n", 1);
+        int maxIter = 100;
+        int iter = 0;
+        DoubleUnaryOperator f = ctx.counted(MathParser.function(fExpr));
+        double f0 = f.applyAsDouble(x0);
+        double f1 = f.applyAsDouble(x1);
+        while (iter < maxIter) {
+            if (f1 - f0 == 0) throw new Exception("Division by zero in secant formula");
+            double x2 = x1 - f1 * (x1 - x0) / (f1 - f0);
+            trace.record(iter + 1, x2);
+            ctx.checkpoint();
+            if (Math.abs(x2 - x1) < tol) {
+                return trace.render().append("Converged to root: ").append(String.format("%.6f", x2)).toString();
+            }
+            x0 = x1;
+            f0 = f1;
+            x1 = x2;
+            f1 = f.applyAsDouble(x1);
+            iter++;
+        }
+        return trace.render().append("Did not converge within ").append(maxIter).append(" iterations.").toString();
+    }
+    // Bisection Method
+    public static String runBisectionMethod(String fExpr, double a, double b, double tol) throws Exception {
+        return runBisectionMethod(fExpr, a, b, tol, SolverContext.defaults());
+    }
+    public static String runBisectionMethod(String fExpr, double a, double b, double tol, SolverContext ctx) throws Exception {
+        int maxIter = 100;
+        DoubleUnaryOperator f = ctx.counted(MathParser.function(fExpr));
+        double fa = f.applyAsDouble(a);
+        double fb = f.applyAsDouble(b);
+
+        if (fa * fb > 0) {
+            return "f(a) and f(b) must have opposite signs.";
+        }
+
+        IterationTrace trace = ctx.startTrace("Iter\t a\t b\t c\t f(c)\n", "%d\t %.6f\t %.6f\t %.6f\t %.6f\n", 4);
+
+        double c = a;
+        for (int i = 1; i <= maxIter; i++) {
+            c = (a + b) / 2;
+            double fc = f.applyAsDouble(c);
+            trace.record(i, a, b, c, fc);
+            ctx.checkpoint();
+
+            if (Math.abs(fc) < tol || (b - a) / 2 < tol) {
+                return trace.render().append("\nRoot ≈ ").append(c).toString();
+            }
+
+            if (fa * fc < 0) {
+                b = c;
+                fb = fc;
+            } else {
+                a = c;
+                fa = fc;
+            }
+        }
+
+        return trace.render().append("\nMaximum iterations reached. Final approximation: ").append(c).toString();
+    }
+    // Gaussian Elimination Method
+    public static double[] runGaussianElimination(double[][] A, double[] b) {
+        int n = A.length;
+
+        for (int i = 0; i < n; i++) {
+            int max = i;
+            for (int j = i + 1; j < n; j++) {
+                if (Math.abs(A[j][i]) > Math.abs(A[max][i])) {
+                    max = j;
+                }
+            }
+
+            double[] temp = A[i]; A[i] = A[max]; A[max] = temp;
+            double t = b[i]; b[i] = b[max]; b[max] = t;
+
+            for (int j = i + 1; j < n; j++) {
+                double factor = A[j][i] / A[i][i];
+                b[j] -= factor * b[i];
+                for (int k = i; k < n; k++) {
+                    A[j][k] -= factor * A[i][k];
+                }
+            }
+        }
+
+        double[] x = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = b[i];
+            for (int j = i + 1; j < n; j++) {
+                sum -= A[i][j] * x[j];
+            }
+            x[i] = sum / A[i][i];
+        }
+
+        return x;
+    }
+
+    // Gauss Method Support
+    public static double[] solveGaussSeidel(double[][] A, double[] B, int maxIterations) throws Exception {
+        return solveGaussSeidel(A, B, maxIterations, SolverContext.defaults());
+    }
+    public static double[] solveGaussSeidel(double[][] A, double[] B, int maxIterations, SolverContext ctx) throws Exception {
+        // Initial guess: all zeros
+        return DenseSolvers.gaussSeidel(DenseMatrix.of(A), B, null, maxIterations, 1e-3, null, ctx);
+    }
+
+    // False Position Method
+    public static String runFalsePositionMethod(String expression, double x0, double x1, double tol) throws Exception {
+        return runFalsePositionMethod(expression, x0, x1, tol, SolverContext.defaults());
+    }
+    public static String runFalsePositionMethod(String expression, double x0, double x1, double tol, SolverContext ctx) throws Exception {
+        DoubleUnaryOperator e = ctx.counted(MathParser.function(expression));
+
+        double f0 = e.applyAsDouble(x0);
+        double f1 = e.applyAsDouble(x1);
+
+        if (f0 * f1 > 0) {
+            return "Error: f(x0) and f(x1) must have opposite signs.";
+        }
+
+        int maxIter = 100;
+        double x2, f2;
+        int iter = 0;
+
+        IterationTrace trace = ctx.startTrace(
+                String.format("%-15s %-15s %-20s %-20s %-25s\n", "Iter", "x0", "x1", "x2", "f(x2)"),
+                "%-5d %-15f %-15f %-15f %-15f\n", 4);
+        do {
+            x2 = x1 - (f1 * (x1 - x0)) / (f1 - f0);
+            f2 = e.applyAsDouble(x2);
+            trace.record(iter, x0, x1, x2, f2);
+            ctx.checkpoint();
+
+            if (f0 * f2 < 0) {
+                x1 = x2;
+                f1 = f2;
+            } else {
+                x0 = x2;
+                f0 = f2;
+            }
+
+            iter++;
+        } while (Math.abs(f2) > tol && iter < maxIter);
+
+        if (Math.abs(f2) > tol) {
+            return trace.render().append("\nMaximum iterations reached. Final approximation: ").append(x2).toString();
+        }
+        return trace.render().append("\nApproximate Root: ").append(x2).toString();
+    }
+
+    // Brent's Method: bisection's guaranteed bracket with secant and inverse quadratic
+    // interpolation steps, at most maxEvaluations evaluations of f (including f(a) and f(b))
+    public static String runBrentMethod(String fExpr, double a, double b, double tol, int maxEvaluations) throws Exception {
+        return runBrentMethod(fExpr, a, b, tol, maxEvaluations, SolverContext.defaults());
+    }
+    public static String runBrentMethod(String fExpr, double a, double b, double tol, int maxEvaluations, SolverContext ctx) throws Exception {
+        if (maxEvaluations < 2) throw new Exception("The evaluation budget must allow at least f(a) and f(b)");
+        DoubleUnaryOperator f = ctx.counted(MathParser.function(fExpr));
+        double fa = f.applyAsDouble(a);
+        double fb = f.applyAsDouble(b);
+
+        if (fa * fb > 0) {
+            return "f(a) and f(b) must have opposite signs.";
+        }
+
+        IterationTrace trace = ctx.startTrace("Eval\t a\t b\t x\t f(x)\n", "%d\t %.6f\t %.6f\t %.10f\t %.3e\n", 4);
+        Bracketing.Refined r = Bracketing.brent(f, a, b, fa, fb, tol, maxEvaluations - 2, trace, ctx);
+        int used = r.iterations() + 2;
+
+        StringBuilder sb = trace.render();
+        if (r.converged()) {
+            sb.append("\nRoot ≈ ").append(r.root());
+        } else {
+            sb.append("\nEvaluation budget exhausted. Best approximation: ").append(r.root());
+        }
+        return sb.append("\nf evaluations: ").append(used).append(" of ").append(maxEvaluations).toString();
+    }
+    // Matrix Method
+    public static double[][] multiplyMatrices(double[][] A, double[][] B) throws Exception {
+        return multiplyMatrices(DenseMatrix.of(A), DenseMatrix.of(B), SolverContext.defaults()).toArray();
+    }
+    public static DenseMatrix multiplyMatrices(DenseMatrix A, DenseMatrix B, SolverContext ctx) throws Exception {
+        // Two row vectors of the same length: treat B as a column vector (dot product)
+        if (B.rows() == 1 && A.cols() == B.cols() && A.cols() != 1) {
+            B = new DenseMatrix(B.cols(), 1, B.data());
+        }
+        return MatrixMultiply.multiply(A, B, ctx);
+    }
+    // Off-heap operands (mapped .gmat files); the product is off-heap too and must be closed
+    public static SegmentMatrix multiplyMatrices(SegmentMatrix A, SegmentMatrix B, SolverContext ctx) throws Exception {
+        return MatrixMultiply.multiply(A, B, ctx);
+    }
+    public static String matrixToString(double[][] matrix) {
+        StringBuilder sb = new StringBuilder();
+        for (double[] row : matrix) {
+            sb.append(Arrays.toString(row)).append("\n");
+        }
+        return sb.toString();
+    }
+    // Matrix Parser
+    public static double[][] parseMatrix(String input) throws Exception {
+        return MatrixIO.parse(input).toArray();
+    }
+    // Cramer's Rule Method
+    public static double[] solveCramer(double[][] A, double[] B) throws Exception {
+        return DenseSolvers.cramer(DenseMatrix.of(A), B);
+    }
+    // Jacobi Method
+    public static double[] solveJacobi(double[][] A, double[] B, int maxIterations) throws Exception {
+        return solveJacobi(A, B, maxIterations, SolverContext.defaults());
+    }
+    public static double[] solveJacobi(double[][] A, double[] B, int maxIterations, SolverContext ctx) throws Exception {
+        // Initial guess: all zeros; stop early once no unknown moves by 1e-3
+        return DenseSolvers.jacobi(DenseMatrix.of(A), B, null, maxIterations, 1e-3, ctx);
+    }
+
+
+    // Gaussian Elimination Method, teaching version: overwrites A and B, and swaps rows and
+    // back-substitutes through the recursive helpers below (stack depth n). Large systems
+    // belong to DenseSolvers.gaussianElimination.
+        public static double[] gaussianElimination(double[][] A, double[] B) throws Exception {
+        return gaussianElimination(A, B, SolverContext.defaults());
+    }
+    public static double[] gaussianElimination(double[][] A, double[] B, SolverContext ctx) throws Exception {
+        int n = A.length;
+
+        IterationTrace trace = ctx.startTrace("", "", 0);
+        trace.snapshot("Input system [A | B]:", A, B);
+
+        // Forward Elimination with Partial Pivoting
+        for (int i = 0; i < n; i++) {
+            // Pivoting
+            int maxRow = i;
+            for (int k = i + 1; k < n; k++) {
+                if (Math.abs(A[k][i]) > Math.abs(A[maxRow][i])) {
+                    maxRow = k;
+                }
+            }
+
+            // Swap rows in A using recursive function
+            recursiveSwapRows(A, i, maxRow, 0);
+
+            // Swap vector B entries manually
+            double tempVal = B[i];
+            B[i] = B[maxRow];
+            B[maxRow] = tempVal;
+
+            if (Math.abs(A[i][i]) < 1e-10)
+                throw new Exception("No unique solution (zero pivot encountered)");
+
+            // Eliminate
+            for (int j = i + 1; j < n; j++) {
+                double factor = A[j][i] / A[i][i];
+                for (int k = i; k < n; k++) {
+                    A[j][k] -= factor * A[i][k];
+                }
+                B[j] -= factor * B[i];
+            }
+
+            // Record the system after each step (FULL trace only)
+            trace.snapshot("After pivoting step " + i + ":", A, B);
+        }
+
+        // Back substitution (assume recursive implemented)
+        double[] x = new double[n];
+        x = backSubstitution(A, B, n - 1, x);
+
+        return x;
+    }
+
+
+
+    // = 0 Cleaning Cleaner hehe
+    public static String cleanExpression(String expr) {
+        if (expr == null) return "";
+        // Remove trailing "= 0" or "=0" with optional spaces before 0
+        return expr.replaceAll("\\s*=\\s*0\\s*$", "").trim();
+    }
+    //--------------------------------------------------------------------------------------------------------------\\
+    //                                              Recursive Functions                                             \\
+    //--------------------------------------------------------------------------------------------------------------\\
+    // Kept for teaching: each recursion level handles one row or column, so they are limited
+    // to a few thousand rows by the thread's stack.
+
+    private static double[] backSubstitution(double[][] A, double[] B, int i, double[] x) {
+        int n = A.length;
+        if (i < 0) return x; // base case: done
+        
+        double sum = B[i];
+        for (int j = i + 1; j < n; j++) {
+            sum -= A[i][j] * x[j];
+        }
+        x[i] = sum / A[i][i];
+        
+        return backSubstitution(A, B, i - 1, x);
+    }
+    public static void recursiveSwapRows(double[][] A, int row1, int row2, int col) {
+        if (col >= A[0].length) return;
+
+        double temp = A[row1][col];
+        A[row1][col] = A[row2][col];
+        A[row2][col] = temp;
+
+        recursiveSwapRows(A, row1, row2, col + 1);
+    }
+
+    public static String runFixedPointIteration(String gExpr, double x0, double tol, int maxIter) throws Exception {
+        return runFixedPointIteration(gExpr, x0, tol, maxIter, SolverContext.defaults());
+    }
+    // A loop rather than one call per iteration, so a large maxIter cannot overflow the stack
+    public static String runFixedPointIteration(String gExpr, double x0, double tol, int maxIter, SolverContext ctx) throws Exception {
+        IterationTrace trace = ctx.startTrace("", "Iter %d: x = %.6f\n", 1);
+        DoubleUnaryOperator g = ctx.counted(MathParser.function(gExpr));
+        double xPrev = x0;
+        for (int iter = 1; iter <= maxIter; iter++) {
+            double xNext = g.applyAsDouble(xPrev);
+            trace.record(iter, xNext);
+            ctx.checkpoint();
+
+            if (Math.abs(xNext - xPrev) < tol) {
+                return trace.render().append("Converged to root: ").append(String.format("%.6f", xNext)).toString();
+            }
+            xPrev = xNext;
+        }
+        return trace.render().append("Did not converge within ").append(maxIter).append(" iterations.").toString();
+    }
+    public static void recursiveForwardElimination(double[][] A, double[] B, int n, int i) throws Exception {
+        if (i >= n) return;
+
+        // Partial pivoting
+        int maxRow = i;
+        for (int k = i + 1; k < n; k++) {
+            if (Math.abs(A[k][i]) > Math.abs(A[maxRow][i])) {
+                maxRow = k;
+            }
+        }
+
+        if (maxRow != i) {
+            recursiveSwapRows(A, i, maxRow, 0);
+
+            double temp = B[i];
+            B[i] = B[maxRow];
+            B[maxRow] = temp;
+
+        }
+
+        if (Math.abs(A[i][i]) < 1e-10) {
+            throw new Exception("No unique solution (zero pivot encountered)");
+        }
+
+        for (int j = i + 1; j < n; j++) {
+            double factor = A[j][i] / A[i][i];
+            for (int k = i; k < n; k++) {
+                A[j][k] -= factor * A[i][k];
+            }
+            B[j] -= factor * B[i];
+        }
+
+        // Recursive call for next row
+        recursiveForwardElimination(A, B, n, i + 1);
+    }
+    public static int gcdRecursive(int a, int b) {
+        if (b == 0) return a;
+        return gcdRecursive(b, a % b);
+    }
+}
@@ -0,0 +1,105 @@
+package gui_gui;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Jacobi iteration with the rows of each sweep split over a fork-join pool.
+//
+// Every row update reads only the previous iterate, so the rows are independent: each leaf
+// task writes its own slice of the next iterate and returns the largest change in that slice,
+// and the joins reduce those to the sweep's max-norm, so convergence is known as soon as the
+// sweep finishes. The two iterate vectors swap roles after every sweep (double buffering)
+// instead of being copied. Results match DenseSolvers.jacobi / SparseSolvers.jacobi exactly.
+public final class ParallelJacobi {
+
+    // Below this many matrix entries (or nonzeros) a sweep is too short to be worth forking
+    static final long PARALLEL_THRESHOLD = 1L << 16;
+
+    // Aim for about this many multiply-adds per leaf task
+    static final int LEAF_WORK = 1 << 15;
+
+    private ParallelJacobi() {
+    }
+
+    public static double[] solve(DenseMatrix A, double[] b, double[] x0, int maxIterations, double epsilon,
+                                 SolverContext ctx) throws Exception {
+        return solve(A, b, x0, maxIterations, epsilon, ForkJoinPool.commonPool(), ctx);
+    }
+
+    public static double[] solve(DenseMatrix A, double[] b, double[] x0, int maxIterations, double epsilon,
+                                 ForkJoinPool pool, SolverContext ctx) throws Exception {
+        int n = DenseSolvers.checkSquare(A, b);
+        DenseSolvers.checkDiagonal(A);
+        double[] a = A.data();
+        return iterate(n, (long) n * n, (x, next, from, to) -> DenseSolvers.jacobiRows(a, b, x, next, n, from, to),
+                x0, maxIterations, epsilon, pool, ctx);
+    }
+
+    // Same for a sparse matrix; the work per sweep, and so the split, follows nnz
+    public static double[] solve(CsrMatrix A, double[] b, double[] x0, int maxIterations, double epsilon,
+                                 SolverContext ctx) throws Exception {
+        return solve(A, b, x0, maxIterations, epsilon, ForkJoinPool.commonPool(), ctx);
+    }
+
+    public static double[] solve(CsrMatrix A, double[] b, double[] x0, int maxIterations, double epsilon,
+                                 ForkJoinPool pool, SolverContext ctx) throws Exception {
+        int n = SparseSolvers.checkSystem(A, b);
+        double[] diag = SparseSolvers.checkDiagonal(A);
+        return iterate(n, A.nnz(), (x, next, from, to) -> SparseSolvers.jacobiRows(A, diag, b, x, next, from, to),
+                x0, maxIterations, epsilon, pool, ctx);
+    }
+
+    // Updates rows [from, to) of next from x and returns the largest change among them
+    @FunctionalInterface
+    interface RowSweep {
+        double rows(double[] x, double[] next, int from, int to);
+    }
+
+    private static double[] iterate(int n, long work, RowSweep sweep, double[] x0, int maxIterations, double epsilon,
+                                    ForkJoinPool pool, SolverContext ctx) throws Exception {
+        boolean parallel = work >= PARALLEL_THRESHOLD && pool.getParallelism() > 1;
+        int grain = (int) Math.max(1, LEAF_WORK * (long) n / Math.max(1, work));
+        double[] x = x0 == null ? new double[n] : x0.clone();
+        double[] next = new double[n];
+
+        for (int iter = 0; iter < maxIterations; iter++) {
+            ctx.checkpoint();
+            double maxDelta = parallel ? pool.invoke(new Sweep(sweep, x, next, 0, n, grain)) : sweep.rows(x, next, 0, n);
+            double[] t = x; x = next; next = t;
+            DenseSolvers.checkFinite(maxDelta, iter + 1);
+            if (maxDelta < epsilon) break;
+        }
+        return x;
+    }
+
+    private static final class Sweep extends RecursiveTask<Double> {
+        private final RowSweep sweep;
+        private final double[] x;
+        private final double[] next;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        Sweep(RowSweep sweep, double[] x, double[] next, int from, int to, int grain) {
+            this.sweep = sweep;
+            this.x = x;
+            this.next = next;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= grain) {
+                return sweep.rows(x, next, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            Sweep right = new Sweep(sweep, x, next, mid, to, grain);
+            right.fork();
+            double left = new Sweep(sweep, x, next, from, mid, grain).compute();
+            // Math.max keeps a NaN, so divergence is still reported
+            return Math.max(left, right.join());
+        }
+    }
+}
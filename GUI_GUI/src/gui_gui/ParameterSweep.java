@@ -0,0 +1,333 @@
+package gui_gui;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleUnaryOperator;
+
+// Solves f(x; p) = 0 (or x = g(x; p) for fixed point) for every value of a parameter p.
+//
+// The values are cut into contiguous chunks that run on a fork-join pool. Within a chunk the
+// values are solved in order and each solve starts from the previous root (continuation): for
+// a smooth family the roots move a little from one p to the next, so Newton and secant need a
+// couple of iterations and the bracketing methods a bracket a fraction of the original width.
+// A chunk starts cold from the panel's x0 (and x1, or [a, b]), and so does the solve after a
+// failure. Results are primitive arrays indexed like the parameter values.
+public final class ParameterSweep {
+
+    // Same cap as the panels' single solves
+    static final int MAX_ITERATIONS = 100;
+    // Smallest chunk; below two of these the sweep runs on the calling thread
+    static final int MIN_CHUNK = 64;
+    // A warm bracket or secant step starts at this fraction of the cold one
+    static final double WARM_FRACTION = 1e-3;
+
+    public enum Method { FIXED_POINT, NEWTON_RAPHSON, SECANT, BISECTION, FALSE_POSITION, BRENT }
+
+    public enum Status { CONVERGED, MAX_ITERATIONS, ZERO_DERIVATIVE, NO_SIGN_CHANGE, DIVERGED, EVALUATION_ERROR }
+
+    private static final Status[] STATUSES = Status.values();
+
+    private ParameterSweep() {
+    }
+
+    // p[i] and its root, iteration count and Status ordinal; root is NaN unless CONVERGED
+    public record Result(Method method, String parameter, double[] p, double[] root, int[] iterations, byte[] status,
+                         long elapsedNanos) {
+
+        public int size() {
+            return p.length;
+        }
+
+        public Status status(int i) {
+            return STATUSES[status[i]];
+        }
+
+        public int count(Status s) {
+            int count = 0;
+            for (byte b : status) if (b == s.ordinal()) count++;
+            return count;
+        }
+
+        public long totalIterations() {
+            long sum = 0;
+            for (int it : iterations) sum += it;
+            return sum;
+        }
+
+        // parameter,root,iterations,status with full precision, one line per value
+        public void writeCsv(Path file) throws Exception {
+            try (BufferedWriter out = Files.newBufferedWriter(file)) {
+                out.write(parameter + ",root,iterations,status\n");
+                StringBuilder line = new StringBuilder(64);
+                for (int i = 0; i < p.length; i++) {
+                    line.setLength(0);
+                    line.append(p[i]).append(',').append(root[i]).append(',').append(iterations[i]).append(',')
+                            .append(status(i)).append('\n');
+                    out.append(line);
+                }
+            } catch (IOException ex) {
+                throw new Exception("Cannot write " + file + ": " + ex.getMessage());
+            }
+        }
+
+        // Counts per status, then the first maxRows values
+        public String summary(int maxRows) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%s sweep over %d values of %s in %.1f ms, %d iterations in total\n",
+                    method, size(), parameter, elapsedNanos / 1e6, totalIterations()));
+            for (Status s : STATUSES) {
+                int count = count(s);
+                if (count > 0) sb.append(String.format("  %-17s %d\n", s, count));
+            }
+            sb.append(String.format("\n%-14s %-22s %-6s %s\n", parameter, "root", "iter", "status"));
+            int rows = Math.min(maxRows, size());
+            for (int i = 0; i < rows; i++) {
+                sb.append(String.format("%-14.6g %-22.15g %-6d %s\n", p[i], root[i], iterations[i], status(i)));
+            }
+            if (rows < size()) sb.append("... ").append(size() - rows).append(" more\n");
+            return sb.toString();
+        }
+    }
+
+    // "from:to:count" (count evenly spaced values, both ends included) or a list "1, 2.5, 4"
+    public static double[] parseValues(String spec) throws Exception {
+        String s = spec.trim();
+        if (s.isEmpty()) throw new Exception("No parameter values given");
+        try {
+            if (s.contains(":")) {
+                String[] parts = s.split(":");
+                if (parts.length != 3) throw new Exception("Expected from:to:count, got \"" + s + "\"");
+                double from = Double.parseDouble(parts[0].trim());
+                double to = Double.parseDouble(parts[1].trim());
+                int count = Integer.parseInt(parts[2].trim());
+                if (count < 1) throw new Exception("Count must be at least 1");
+                double[] values = new double[count];
+                double step = count == 1 ? 0 : (to - from) / (count - 1);
+                for (int i = 0; i < count; i++) values[i] = from + i * step;
+                if (count > 1) values[count - 1] = to;
+                return values;
+            }
+            String[] parts = s.split("[,;\\s]+");
+            double[] values = new double[parts.length];
+            for (int i = 0; i < parts.length; i++) values[i] = Double.parseDouble(parts[i]);
+            return values;
+        } catch (NumberFormatException ex) {
+            throw new Exception("Invalid parameter values: " + ex.getMessage());
+        }
+    }
+
+    // A parameter name: letters and digits, starting with a letter, and not x, a constant or a function
+    public static void checkParameterName(String name) throws Exception {
+        if (name.isEmpty() || !Character.isLetter(name.charAt(0)) || !name.chars().allMatch(Character::isLetterOrDigit)) {
+            throw new Exception("Invalid parameter name \"" + name + "\"");
+        }
+        boolean reserved = name.equals("x") || name.equals("e") || name.equals("pi");
+        for (ExpressionTree.Function fn : ExpressionTree.Function.values()) reserved |= fn.symbol.equals(name);
+        if (reserved) throw new Exception("\"" + name + "\" is already used in expressions; pick another parameter name");
+    }
+
+    public static Result sweep(Method method, String expression, String parameter, double[] p,
+                               double x0, double x1, double tol) throws Exception {
+        return sweep(method, expression, parameter, p, x0, x1, tol, ForkJoinPool.commonPool(), SolverContext.defaults());
+    }
+
+    // x1 is the second secant point or the right end b of the bracket [x0, b]; unused otherwise.
+    // Checks for cancellation once per value.
+    public static Result sweep(Method method, String expression, String parameter, double[] p,
+                               double x0, double x1, double tol, ForkJoinPool pool, SolverContext ctx) throws Exception {
+        checkParameterName(parameter);
+        DualExpression f;
+        try {
+            f = DualExpression.compile(expression, "x", parameter);
+        } catch (IllegalArgumentException ex) {
+            throw new Exception("Invalid expression: " + ex.getMessage());
+        }
+        int n = p.length;
+        Result out = new Result(method, parameter, p.clone(), new double[n], new int[n], new byte[n], 0);
+        long start = System.nanoTime();
+
+        // about four chunks per worker, so a slow chunk does not hold the others up
+        int grain = Math.max(MIN_CHUNK, (n + 4 * pool.getParallelism() - 1) / (4 * pool.getParallelism()));
+        Chunk all = new Chunk(method, f, out, 0, n, grain, x0, x1, tol, ctx);
+        if (n >= 2 * MIN_CHUNK && pool.getParallelism() > 1) {
+            pool.invoke(all);
+        } else {
+            all.solve();
+        }
+        return new Result(method, parameter, out.p(), out.root(), out.iterations(), out.status(),
+                System.nanoTime() - start);
+    }
+
+    // Values [from, to); leaves write disjoint ranges of the result arrays
+    private static final class Chunk extends RecursiveAction {
+        private final Method method;
+        private final DualExpression template;
+        private final Result out;
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final double x0;
+        private final double x1;
+        private final double tol;
+        private final SolverContext ctx;
+
+        private DualExpression f;
+        private final double[] fx = new double[2];
+        private final DoubleUnaryOperator value = this::value;
+        private int iterations; // of the current solve
+        private long evaluations; // of f (a dual pass for Newton) over the chunk
+        private double root;    // set when a solve returns CONVERGED
+
+        Chunk(Method method, DualExpression template, Result out, int from, int to, int grain,
+              double x0, double x1, double tol, SolverContext ctx) {
+            this.method = method;
+            this.template = template;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.x0 = x0;
+            this.x1 = x1;
+            this.tol = tol;
+            this.ctx = ctx;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                solve();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Chunk(method, template, out, from, mid, grain, x0, x1, tol, ctx),
+                    new Chunk(method, template, out, mid, to, grain, x0, x1, tol, ctx));
+        }
+
+        void solve() {
+            f = template.copy();
+            try {
+                solveValues();
+            } finally {
+                ctx.addEvaluations(evaluations);
+            }
+        }
+
+        private void solveValues() {
+            double previous = Double.NaN; // root of the previous value, NaN for a cold start
+            for (int i = from; i < to; i++) {
+                ctx.checkCancelled();
+                f.setParameter(1, out.p()[i]);
+                iterations = 0;
+                Status status;
+                try {
+                    status = switch (method) {
+                        case NEWTON_RAPHSON -> newton(Double.isNaN(previous) ? x0 : previous);
+                        case FIXED_POINT -> fixedPoint(Double.isNaN(previous) ? x0 : previous);
+                        case SECANT -> Double.isNaN(previous)
+                                ? secant(x0, x1)
+                                : secant(previous, previous + (x1 - x0) * WARM_FRACTION);
+                        case BISECTION, FALSE_POSITION, BRENT -> bracketed(previous);
+                    };
+                } catch (ArithmeticException ex) {
+                    status = Status.EVALUATION_ERROR;
+                }
+                if (status == Status.CONVERGED && !Double.isFinite(root)) status = Status.DIVERGED;
+                previous = status == Status.CONVERGED ? root : Double.NaN;
+                out.root()[i] = previous;
+                out.iterations()[i] = iterations;
+                out.status()[i] = (byte) status.ordinal();
+            }
+        }
+
+        private double value(double x) {
+            evaluations++;
+            f.evaluate(x, fx);
+            return fx[0];
+        }
+
+        // Same steps and stopping rules as NumericalMethods.runNewtonRaphsonAuto
+        private Status newton(double x) {
+            while (iterations < MAX_ITERATIONS) {
+                iterations++;
+                evaluations++;
+                f.evaluate(x, fx);
+                if (fx[1] == 0) return Status.ZERO_DERIVATIVE;
+                double next = x - fx[0] / fx[1];
+                if (!Double.isFinite(next)) return Status.DIVERGED;
+                if (Math.abs(next - x) < tol) {
+                    root = next;
+                    return Status.CONVERGED;
+                }
+                x = next;
+            }
+            return Status.MAX_ITERATIONS;
+        }
+
+        // x = g(x; p), as runFixedPointIteration
+        private Status fixedPoint(double x) {
+            while (iterations < MAX_ITERATIONS) {
+                iterations++;
+                double next = value(x);
+                if (!Double.isFinite(next)) return Status.DIVERGED;
+                if (Math.abs(next - x) < tol) {
+                    root = next;
+                    return Status.CONVERGED;
+                }
+                x = next;
+            }
+            return Status.MAX_ITERATIONS;
+        }
+
+        private Status secant(double a, double b) {
+            double fa = value(a);
+            double fb = value(b);
+            while (iterations < MAX_ITERATIONS) {
+                iterations++;
+                if (fb - fa == 0) return Status.ZERO_DERIVATIVE;
+                double c = b - fb * (b - a) / (fb - fa);
+                if (!Double.isFinite(c)) return Status.DIVERGED;
+                if (Math.abs(c - b) < tol) {
+                    root = c;
+                    return Status.CONVERGED;
+                }
+                a = b;
+                fa = fb;
+                b = c;
+                fb = value(b);
+            }
+            return Status.MAX_ITERATIONS;
+        }
+
+        // Warm start: a bracket WARM_FRACTION of [x0, x1] wide around the previous root, doubled
+        // until f changes sign across it; the full [x0, x1] when it never does
+        private Status bracketed(double previous) {
+            if (!Double.isNaN(previous)) {
+                double full = Math.abs(x1 - x0);
+                for (double half = full * WARM_FRACTION / 2; half < full; half *= 2) {
+                    double lo = previous - half, hi = previous + half;
+                    double flo = value(lo), fhi = value(hi);
+                    if (flo * fhi <= 0) return refined(lo, hi, flo, fhi);
+                }
+            }
+            double fa = value(x0), fb = value(x1);
+            if (fa * fb > 0) return Status.NO_SIGN_CHANGE;
+            return refined(x0, x1, fa, fb);
+        }
+
+        // For BRENT the iterations are evaluations of f, with MAX_ITERATIONS as the budget
+        private Status refined(double a, double b, double fa, double fb) {
+            Bracketing.Refined r = switch (method) {
+                case BISECTION -> Bracketing.bisection(value, a, b, fa, tol, MAX_ITERATIONS);
+                case FALSE_POSITION -> Bracketing.falsePosition(value, a, b, fa, fb, tol, MAX_ITERATIONS);
+                default -> Bracketing.brent(value, a, b, fa, fb, tol, MAX_ITERATIONS);
+            };
+            iterations += r.iterations();
+            root = r.root();
+            return r.converged() ? Status.CONVERGED : Status.MAX_ITERATIONS;
+        }
+    }
+}
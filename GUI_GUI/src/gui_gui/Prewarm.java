@@ -0,0 +1,57 @@
+package gui_gui;
+
+// Runs every solver once on its panel's default input, so the first Run click does not pay for
+// loading exp4j and the solver classes, the first parse, and a cold interpreter. The defaults
+// also land in the expression cache. Never touches AWT, so BatchCli and the CDS training run
+// can use it too.
+final class Prewarm {
+
+    private Prewarm() {
+    }
+
+    // On a low-priority daemon thread, after first (e.g. installing the metrics)
+    static Thread start(Runnable first) {
+        Thread t = new Thread(() -> {
+            first.run();
+            run();
+        }, "prewarm");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        t.start();
+        return t;
+    }
+
+    // Best effort: a failure here only means the first real run is slower
+    static void run() {
+        try {
+            NumericalMethods.runFixedPointIteration(NumericalMethods.cleanExpression("e^-x = 0"), 0, 0.001, 100, quiet());
+            NumericalMethods.runNewtonRaphsonAuto(NumericalMethods.cleanExpression("2^x - 5*x + 2 = 0"), 0, 0.0001, quiet());
+            NumericalMethods.runSecantMethod(NumericalMethods.cleanExpression("x^3 - x - 1 = 0"), 1.2, 1.4, 0.0001, quiet());
+            NumericalMethods.runBisectionMethod(NumericalMethods.cleanExpression("x^3 + 4x^2 - 10 = 0"), 1, 2, 0.0001, quiet());
+            String f = NumericalMethods.cleanExpression("x^3 - 4cos(x) = 0");
+            NumericalMethods.runFalsePositionMethod(f, 1, 2, 0.001, quiet());
+            NumericalMethods.runBrentMethod(f, 1, 2, 0.000001, 50, quiet());
+
+            LinearSystem gauss = LinearSystem.parse("2x - y + 3z = 5", "x + 4y - 2z = 1", "3x + y + 5z = 2");
+            DenseSolvers.gaussianElimination(gauss.A(), gauss.b(), quiet());
+            LinearSystem cramer = LinearSystem.parse("2x + y - z = 1", "3x - y + z = 4", "2x + 3y + z = 3");
+            DenseSolvers.cramerRule(cramer.A(), cramer.b(), quiet());
+            LinearSystem jacobi = LinearSystem.parse("4x + 22y - 13z = -128", "19x - 13y + 4z = 111", "8x + 8y + 17z = 10");
+            DenseSolvers.jacobi(jacobi.A(), jacobi.b(), null, 5, 1e-3, quiet());
+            LinearSystem seidel = LinearSystem.parse("10x + 2y + z = 9", "2x + 20y - 2z = -44", "-2x + 3y + 10z = 22");
+            SolverContext ctx = quiet();
+            double[] x = DenseSolvers.sor(seidel.A(), seidel.b(), seidel.parseVector("0, 0, 0"), 10_000, 1e-3, 1,
+                    seidel.variables(), ctx);
+            NumericalMethods.gaussSeidelReport(seidel.variables(), x, ctx);
+            NumericalMethods.multiplyMatrices(MatrixIO.load("[5,6,7,8]"), MatrixIO.load("[1,2,3,4]"), quiet());
+
+            ResultCache.shared().preload();
+        } catch (Exception | LinkageError ex) {
+            System.err.println("Prewarm stopped early: " + ex);
+        }
+    }
+
+    private static SolverContext quiet() {
+        return new SolverContext(SolverContext.DEFAULT_MAX_ITERATIONS, 0, IterationTrace.Level.NONE, null);
+    }
+}
@@ -0,0 +1,423 @@
+package gui_gui;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+// Memoized solver results, keyed by a SHA-256 of the solver version, the method name and its
+// normalized inputs. Two tiers: an LRU map bounded by the bytes it holds, and an append-only
+// file that survives restarts. A memory miss looks in the file and promotes what it finds.
+// Callers store only the results of runs that completed, and only for methods whose output
+// depends on nothing but the inputs in the key.
+//
+// The shared cache is configured by system properties:
+//   gui_gui.cache=off            no caching at all
+//   gui_gui.cache.memory=N       bytes for the memory tier (default 32 MB)
+//   gui_gui.cache.file=PATH      the file tier (default ~/.gui_gui/results.cache), "none" for memory only
+//   gui_gui.cache.fileLimit=N    bytes after which the file takes no new entries (default 256 MB)
+final class ResultCache {
+
+    public static final long DEFAULT_MEMORY_BYTES = 32L << 20;
+    public static final long DEFAULT_FILE_LIMIT_BYTES = 256L << 20;
+
+    // Part of every key. Bump it whenever a solver's algorithm or the text it returns changes, so
+    // answers cached by an older build (the file survives upgrades) are no longer served.
+    static final int SOLVER_VERSION = 1;
+
+    // Hex SHA-256 of the canonical inputs
+    record Key(String hash) {
+    }
+
+    // A cached answer: the text the method returned and its solution vector, if it has one
+    record Cached(String text, double[] x) {
+
+        long bytes() {
+            return 96 + 2L * text.length() + (x == null ? 0 : 16 + 8L * x.length);
+        }
+    }
+
+    private final boolean enabled;
+    private final long memoryBytes;
+    private final Map<Key, Cached> entries = new LinkedHashMap<>(16, 0.75f, true); // LRU; guarded by this
+    private long bytes;
+    private final Disk disk;                                                         // null for memory only
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    ResultCache(long memoryBytes, Path file, long fileLimitBytes) {
+        this.enabled = memoryBytes > 0 || file != null;
+        this.memoryBytes = Math.max(0, memoryBytes);
+        this.disk = file == null ? null : new Disk(file, fileLimitBytes);
+    }
+
+    private static final class Shared {
+        static final ResultCache INSTANCE = fromProperties();
+
+        private static ResultCache fromProperties() {
+            if ("off".equalsIgnoreCase(System.getProperty("gui_gui.cache"))) return new ResultCache(0, null, 0);
+            String file = System.getProperty("gui_gui.cache.file",
+                    Path.of(System.getProperty("user.home"), ".gui_gui", "results.cache").toString());
+            return new ResultCache(Long.getLong("gui_gui.cache.memory", DEFAULT_MEMORY_BYTES),
+                    file.isBlank() || file.equalsIgnoreCase("none") ? null : Path.of(file),
+                    Long.getLong("gui_gui.cache.fileLimit", DEFAULT_FILE_LIMIT_BYTES));
+        }
+    }
+
+    // The process-wide cache; the file is opened on the first lookup, not here
+    static ResultCache shared() {
+        return Shared.INSTANCE;
+    }
+
+    // ---------------------------------------------------------------- keys
+
+    // SOLVER_VERSION and method, then each input in canonical form: strings with their whitespace
+    // runs collapsed (ExpressionCache.normalize) unless they are numbers, numbers as
+    // Double.toString ("1e-6" and "0.000001" are one key), maps sorted by key, enums by name.
+    static Key key(String method, Object... inputs) {
+        StringBuilder sb = new StringBuilder(64).append(SOLVER_VERSION).append('\u001f').append(method);
+        for (Object input : inputs) {
+            sb.append('\u001f');
+            canonical(sb, input);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return new Key(HexFormat.of().formatHex(digest));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex); // every JDK has SHA-256
+        }
+    }
+
+    private static void canonical(StringBuilder sb, Object value) {
+        switch (value) {
+            case null -> sb.append('\u0000');
+            case String s -> sb.append(canonicalText(s));
+            case Double d -> sb.append(d.doubleValue());
+            case Float f -> sb.append(f.doubleValue());
+            case Number n -> sb.append(n);
+            case Enum<?> e -> sb.append(e.name());
+            case double[] xs -> {
+                sb.append('[');
+                for (double x : xs) sb.append(x).append(',');
+                sb.append(']');
+            }
+            case Object[] items -> {
+                sb.append('[');
+                for (Object item : items) {
+                    canonical(sb, item);
+                    sb.append('\u001e');
+                }
+                sb.append(']');
+            }
+            case Map<?, ?> map -> {
+                Map<String, Object> sorted = new TreeMap<>();
+                map.forEach((k, v) -> sorted.put(String.valueOf(k), v));
+                sb.append('{');
+                sorted.forEach((k, v) -> {
+                    sb.append(k).append('=');
+                    canonical(sb, v);
+                    sb.append('\u001e');
+                });
+                sb.append('}');
+            }
+            default -> sb.append(value);
+        }
+    }
+
+    private static String canonicalText(String s) {
+        String t = ExpressionCache.normalize(s);
+        if (!t.isEmpty() && (Character.isDigit(t.charAt(0)) || "+-.".indexOf(t.charAt(0)) >= 0)) {
+            try {
+                return Double.toString(Double.parseDouble(t));
+            } catch (NumberFormatException ignored) {
+                // an expression such as "2x + 1"
+            }
+        }
+        return t;
+    }
+
+    // ---------------------------------------------------------------- lookups
+
+    boolean enabled() {
+        return enabled;
+    }
+
+    // Opens and indexes the file now rather than on the first lookup (Prewarm)
+    void preload() {
+        if (disk != null) disk.open();
+    }
+
+    Cached get(Key key) {
+        if (!enabled) return null;
+        synchronized (this) {
+            Cached cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        Cached stored = disk == null ? null : disk.read(key);
+        if (stored == null) {
+            misses.increment();
+            return null;
+        }
+        diskHits.increment();
+        remember(key, stored);
+        return stored;
+    }
+
+    void put(Key key, Cached value) {
+        if (!enabled) return;
+        remember(key, value);
+        if (disk != null) disk.append(key, value);
+    }
+
+    private synchronized void remember(Key key, Cached value) {
+        long size = value.bytes();
+        if (size > memoryBytes / 8) return; // one huge result should not flush everything else
+        Cached old = entries.put(key, value);
+        if (old != null) bytes -= old.bytes();
+        bytes += size;
+        Iterator<Cached> eldest = entries.values().iterator();
+        while (bytes > memoryBytes && eldest.hasNext()) {
+            bytes -= eldest.next().bytes();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    // Empties the memory tier and resets the counters; the file keeps its entries
+    synchronized void clearMemory() {
+        entries.clear();
+        bytes = 0;
+        hits.reset();
+        diskHits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    long capacityBytes() {
+        return memoryBytes;
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long diskHitCount() {
+        return diskHits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    // Entries in the file, 0 before the first lookup opened it
+    int diskEntries() {
+        return disk == null ? 0 : disk.offsets.size();
+    }
+
+    String file() {
+        return disk == null ? "" : disk.path.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Result cache: %d entries (%s of %s), %d hits, %d from disk, %d misses",
+                size(), SolverStats.formatBytes(bytes()), SolverStats.formatBytes(memoryBytes),
+                hitCount(), diskHitCount(), missCount());
+    }
+
+    // ---------------------------------------------------------------- the file tier
+
+    // "GGRC0001", then records of [int length][int CRC-32 of payload][payload]; the payload is the
+    // 64-byte hex key, [int n][n bytes of UTF-8 text], [int m (-1 for none)][m doubles]. Records
+    // are only ever appended, under an exclusive file lock so several processes can share a
+    // file. Opening indexes every record (key -> offset) without keeping the text, and cuts off
+    // a record torn by a crash.
+    private static final class Disk {
+        private static final byte[] MAGIC = "GGRC0001".getBytes(StandardCharsets.US_ASCII);
+        private static final int KEY_BYTES = 64;
+
+        final Path path;
+        private final long limitBytes;
+        final Map<Key, Long> offsets = new ConcurrentHashMap<>();
+        private FileChannel channel;     // guarded by this
+        private volatile boolean opened;
+        private volatile boolean usable = true;
+
+        Disk(Path path, long limitBytes) {
+            this.path = path;
+            this.limitBytes = limitBytes;
+        }
+
+        Cached read(Key key) {
+            if (!open()) return null;
+            Long offset = offsets.get(key);
+            if (offset == null) return null;
+            try {
+                ByteBuffer head = ByteBuffer.allocate(8);
+                readFully(head, offset);
+                int length = head.getInt(0), crc = head.getInt(4);
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(payload, offset + 8);
+                if (crc(payload.array()) != crc) return null;
+                return decode(payload.position(KEY_BYTES));
+            } catch (IOException | RuntimeException ex) {
+                return null;
+            }
+        }
+
+        void append(Key key, Cached value) {
+            if (!open() || offsets.containsKey(key)) return;
+            byte[] text = value.text().getBytes(StandardCharsets.UTF_8);
+            int n = value.x() == null ? -1 : value.x().length;
+            ByteBuffer record = ByteBuffer.allocate(8 + KEY_BYTES + 4 + text.length + 4 + 8 * Math.max(n, 0));
+            record.position(8).put(key.hash().getBytes(StandardCharsets.US_ASCII));
+            record.putInt(text.length).put(text).putInt(n);
+            for (int i = 0; i < n; i++) record.putDouble(value.x()[i]);
+            record.putInt(0, record.capacity() - 8);
+            record.putInt(4, crc(Arrays.copyOfRange(record.array(), 8, record.capacity())));
+            record.flip();
+            synchronized (this) {
+                try {
+                    FileLock lock = channel.lock();
+                    try {
+                        long end = channel.size();
+                        if (end + record.remaining() > limitBytes) return; // full; delete the file to start over
+                        for (long at = end; record.hasRemaining(); ) at += channel.write(record, at);
+                        offsets.put(key, end);
+                    } finally {
+                        lock.release();
+                    }
+                } catch (IOException ex) {
+                    disable("could not write " + path + ": " + ex.getMessage());
+                }
+            }
+        }
+
+        private boolean open() {
+            if (opened) return usable;
+            synchronized (this) {
+                if (opened) return usable;
+                try {
+                    Path parent = path.toAbsolutePath().getParent();
+                    if (parent != null) Files.createDirectories(parent);
+                    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                            StandardOpenOption.WRITE);
+                    FileLock lock = channel.lock();
+                    try {
+                        long size = channel.size();
+                        if (size == 0) {
+                            channel.write(ByteBuffer.wrap(MAGIC), 0);
+                        } else {
+                            ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+                            channel.read(magic, 0);
+                            if (!Arrays.equals(magic.array(), MAGIC)) {
+                                disable(path + " is not a result cache file; leaving it alone");
+                            } else {
+                                long end = index(size);
+                                if (end < size) channel.truncate(end);
+                            }
+                        }
+                    } finally {
+                        lock.release();
+                    }
+                } catch (IOException ex) {
+                    disable("could not open " + path + ": " + ex.getMessage());
+                }
+                opened = true;
+                return usable;
+            }
+        }
+
+        // Reads every record header and key; returns the end of the last whole record
+        private long index(long size) throws IOException {
+            channel.position(MAGIC.length);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+            long at = MAGIC.length;
+            byte[] keyBytes = new byte[KEY_BYTES];
+            try {
+                while (true) {
+                    int length = in.readInt();
+                    int crc = in.readInt();
+                    if (length < KEY_BYTES || at + 8 + length > size) break;
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    if (crc(payload) != crc) break;
+                    System.arraycopy(payload, 0, keyBytes, 0, KEY_BYTES);
+                    offsets.put(new Key(new String(keyBytes, StandardCharsets.US_ASCII)), at);
+                    at += 8 + length;
+                }
+            } catch (EOFException ignored) {
+                // a record cut short: everything from `at` on goes
+            }
+            return at;
+        }
+
+        private static Cached decode(ByteBuffer payload) {
+            byte[] text = new byte[payload.getInt()];
+            payload.get(text);
+            int n = payload.getInt();
+            double[] x = null;
+            if (n >= 0) {
+                x = new double[n];
+                for (int i = 0; i < n; i++) x[i] = payload.getDouble();
+            }
+            return new Cached(new String(text, StandardCharsets.UTF_8), x);
+        }
+
+        private void readFully(ByteBuffer buffer, long offset) throws IOException {
+            long at = offset;
+            while (buffer.hasRemaining()) {
+                int n = channel.read(buffer, at);
+                if (n < 0) throw new EOFException();
+                at += n;
+            }
+        }
+
+        private static int crc(byte[] bytes) {
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            return (int) crc.getValue();
+        }
+
+        private void disable(String why) {
+            usable = false;
+            System.err.println("Result cache: " + why + "; caching in memory only");
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package gui_gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleUnaryOperator;
+
+// Every root of f in [a, b], without a bracket from the user:
+//   1. f is sampled at samples + 1 evenly spaced points, in parallel chunks through the batch
+//      evaluator (MathParser.evaluate over arrays);
+//   2. each interval where f changes sign becomes a bracket, each sample where |f| has a local
+//      minimum without a sign change becomes a candidate double root;
+//   3. brackets are refined concurrently with the panels' bisection, false-position or Brent rules,
+//      and candidates by a golden-section search for the minimum of |f|, kept when it is within
+//      tol of zero.
+// A sign change across a pole (tan(x) at pi/2) also brackets; such a "root" is dropped when |f|
+// there is larger than at both ends of its bracket. Two roots closer than the sample spacing
+// can be missed, so raise samples for tightly clustered roots.
+public final class RootScan {
+
+    public static final int DEFAULT_SAMPLES = 10_000;
+    // Same cap as the panels' single solves
+    static final int MAX_ITERATIONS = 100;
+    // Samples per leaf task of the scan, and brackets per leaf task of the refinement
+    static final int SAMPLE_GRAIN = 4096;
+    static final int BRACKET_GRAIN = 8;
+
+    public enum Refinement { BISECTION, FALSE_POSITION, BRENT }
+
+    // SIGN_CHANGE: f crosses zero; TOUCH: f reaches zero without crossing (even multiplicity)
+    public enum Kind { SIGN_CHANGE, TOUCH }
+
+    public record Root(double x, double fx, int iterations, Kind kind, boolean converged) {
+    }
+
+    public record Result(String expression, double a, double b, int samples, Refinement refinement, List<Root> roots,
+                         int brackets, int rejected, long elapsedNanos) {
+
+        public double[] xs() {
+            double[] xs = new double[roots.size()];
+            for (int i = 0; i < xs.length; i++) xs[i] = roots.get(i).x();
+            return xs;
+        }
+
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%d root(s) of %s in [%s, %s] (%d samples, %s, %.1f ms)\n",
+                    roots.size(), expression, a, b, samples, refinement, elapsedNanos / 1e6));
+            if (rejected > 0) sb.append(rejected).append(" sign change(s) rejected as poles or discontinuities\n");
+            sb.append('\n');
+            for (int i = 0; i < roots.size(); i++) {
+                Root r = roots.get(i);
+                sb.append(String.format("x%-3d = %-22.15g f(x) = %-12.3e %3d iter  %s%s\n", i + 1, r.x(), r.fx(),
+                        r.iterations(), r.kind(), r.converged() ? "" : "  (iteration cap reached)"));
+            }
+            return sb.toString();
+        }
+    }
+
+    private RootScan() {
+    }
+
+    public static Result findAll(String fExpr, double a, double b, double tol) throws Exception {
+        return findAll(fExpr, a, b, DEFAULT_SAMPLES, tol, Refinement.BISECTION, ForkJoinPool.commonPool(),
+                SolverContext.defaults());
+    }
+
+    public static Result findAll(String fExpr, double a, double b, int samples, double tol, Refinement refinement,
+                                 ForkJoinPool pool, SolverContext ctx) throws Exception {
+        if (!(a < b)) throw new Exception("Need a < b, got [" + a + ", " + b + "]");
+        if (samples < 2) throw new Exception("Need at least 2 samples");
+        long start = System.nanoTime();
+        ExpressionCache.CompiledExpression f = MathParser.compile(fExpr);
+
+        // 1. sample
+        double[] xs = new double[samples + 1];
+        double h = (b - a) / samples;
+        for (int i = 0; i <= samples; i++) xs[i] = a + i * h;
+        xs[samples] = b;
+        double[] fs = new double[samples + 1];
+        ctx.addEvaluations(xs.length);
+        Sample scan = new Sample(f, xs, fs, 0, xs.length, ctx);
+        if (xs.length >= 2 * SAMPLE_GRAIN && pool.getParallelism() > 1) {
+            pool.invoke(scan);
+        } else {
+            scan.evaluate();
+        }
+
+        // 2. brackets and double-root candidates
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i <= samples; i++) {
+            double fi = fs[i];
+            if (fi == 0) {
+                candidates.add(new Candidate(xs[i], xs[i], Kind.SIGN_CHANGE));
+            } else if (i < samples && fs[i + 1] != 0 && Math.signum(fi) != Math.signum(fs[i + 1])
+                    && !Double.isNaN(fs[i + 1]) && !Double.isNaN(fi)) {
+                candidates.add(new Candidate(xs[i], xs[i + 1], Kind.SIGN_CHANGE));
+            } else if (i > 0 && i < samples && Math.abs(fi) < Math.abs(fs[i - 1]) && Math.abs(fi) <= Math.abs(fs[i + 1])
+                    && Math.signum(fs[i - 1]) == Math.signum(fi) && Math.signum(fs[i + 1]) == Math.signum(fi)) {
+                candidates.add(new Candidate(xs[i - 1], xs[i + 1], Kind.TOUCH));
+            }
+        }
+
+        // 3. refine
+        Root[] refined = new Root[candidates.size()];
+        Refine refine = new Refine(f, candidates, refined, 0, refined.length, tol, refinement, ctx);
+        if (refined.length >= 2 * BRACKET_GRAIN && pool.getParallelism() > 1) {
+            pool.invoke(refine);
+        } else {
+            refine.solve();
+        }
+
+        List<Root> roots = new ArrayList<>();
+        int brackets = 0, rejected = 0;
+        for (int i = 0; i < refined.length; i++) {
+            Root r = refined[i];
+            if (candidates.get(i).kind() == Kind.SIGN_CHANGE) {
+                brackets++;
+                if (r == null) rejected++;
+            }
+            if (r == null) continue;
+            // an exact zero at a sample next to a bracket that converged onto it
+            if (!roots.isEmpty() && Math.abs(r.x() - roots.get(roots.size() - 1).x()) < tol) continue;
+            roots.add(r);
+        }
+        return new Result(fExpr, a, b, samples, refinement, roots, brackets, rejected,
+                System.nanoTime() - start);
+    }
+
+    // [lo, hi]: a bracket for SIGN_CHANGE (lo == hi for an exact zero at a sample), the two
+    // intervals around a sampled minimum of |f| for TOUCH
+    private record Candidate(double lo, double hi, Kind kind) {
+    }
+
+    // Samples [from, to) of xs; leaves write disjoint ranges of fs
+    private static final class Sample extends RecursiveAction {
+        private final ExpressionCache.CompiledExpression f;
+        private final double[] xs;
+        private final double[] fs;
+        private final int from;
+        private final int to;
+        private final SolverContext ctx;
+
+        Sample(ExpressionCache.CompiledExpression f, double[] xs, double[] fs, int from, int to, SolverContext ctx) {
+            this.f = f;
+            this.xs = xs;
+            this.fs = fs;
+            this.from = from;
+            this.to = to;
+            this.ctx = ctx;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SAMPLE_GRAIN) {
+                evaluate();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Sample(f, xs, fs, from, mid, ctx), new Sample(f, xs, fs, mid, to, ctx));
+        }
+
+        void evaluate() {
+            ctx.checkCancelled();
+            double[] chunk = Arrays.copyOfRange(xs, from, to);
+            try {
+                f.evaluate(chunk, chunk);
+            } catch (Exception ex) {
+                // a division by zero somewhere in the chunk: fall back to point by point, NaN where f fails
+                DoubleUnaryOperator g = f.function(MathParser.engine());
+                for (int i = 0; i < chunk.length; i++) {
+                    try {
+                        chunk[i] = g.applyAsDouble(xs[from + i]);
+                    } catch (ArithmeticException e) {
+                        chunk[i] = Double.NaN;
+                    }
+                }
+            }
+            System.arraycopy(chunk, 0, fs, from, chunk.length);
+        }
+    }
+
+    // Candidates [from, to); leaves write disjoint ranges of out (null for a rejected candidate)
+    private static final class Refine extends RecursiveAction {
+        private static final double INV_PHI = (Math.sqrt(5) - 1) / 2;
+
+        private final ExpressionCache.CompiledExpression f;
+        private final List<Candidate> candidates;
+        private final Root[] out;
+        private final int from;
+        private final int to;
+        private final double tol;
+        private final Refinement refinement;
+        private final SolverContext ctx;
+
+        Refine(ExpressionCache.CompiledExpression f, List<Candidate> candidates, Root[] out, int from, int to,
+               double tol, Refinement refinement, SolverContext ctx) {
+            this.f = f;
+            this.candidates = candidates;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.tol = tol;
+            this.refinement = refinement;
+            this.ctx = ctx;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BRACKET_GRAIN) {
+                solve();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Refine(f, candidates, out, from, mid, tol, refinement, ctx),
+                    new Refine(f, candidates, out, mid, to, tol, refinement, ctx));
+        }
+
+        void solve() {
+            DoubleUnaryOperator function = f.function(MathParser.engine());
+            long[] evaluations = new long[1];
+            DoubleUnaryOperator g = x -> {
+                evaluations[0]++;
+                return function.applyAsDouble(x);
+            };
+            try {
+                for (int i = from; i < to; i++) {
+                    ctx.checkCancelled();
+                    Candidate c = candidates.get(i);
+                    try {
+                        out[i] = c.kind() == Kind.SIGN_CHANGE ? bracket(g, c) : touch(g, c);
+                    } catch (ArithmeticException ex) {
+                        out[i] = null;
+                    }
+                }
+            } finally {
+                ctx.addEvaluations(evaluations[0]);
+            }
+        }
+
+        private Root bracket(DoubleUnaryOperator g, Candidate c) {
+            if (c.lo() == c.hi()) return new Root(c.lo(), 0, 0, Kind.SIGN_CHANGE, true);
+            double flo = g.applyAsDouble(c.lo()), fhi = g.applyAsDouble(c.hi());
+            Bracketing.Refined r = switch (refinement) {
+                case BISECTION -> Bracketing.bisection(g, c.lo(), c.hi(), flo, tol, MAX_ITERATIONS);
+                case FALSE_POSITION -> Bracketing.falsePosition(g, c.lo(), c.hi(), flo, fhi, tol, MAX_ITERATIONS);
+                case BRENT -> Bracketing.brent(g, c.lo(), c.hi(), flo, fhi, tol, MAX_ITERATIONS);
+            };
+            double fr = g.applyAsDouble(r.root());
+            // f grew towards the "root": a pole or a jump, not a zero
+            if (!(Math.abs(fr) <= Math.max(Math.abs(flo), Math.abs(fhi)))) return null;
+            return new Root(r.root(), fr, r.iterations(), Kind.SIGN_CHANGE, r.converged());
+        }
+
+        // Golden-section search for the minimum of |f| on [lo, hi]; a root when it is within tol of 0
+        private Root touch(DoubleUnaryOperator g, Candidate c) {
+            double lo = c.lo(), hi = c.hi();
+            double x1 = hi - INV_PHI * (hi - lo), x2 = lo + INV_PHI * (hi - lo);
+            double f1 = Math.abs(g.applyAsDouble(x1)), f2 = Math.abs(g.applyAsDouble(x2));
+            int iterations = 0;
+            while (hi - lo > tol && iterations < MAX_ITERATIONS) {
+                iterations++;
+                if (f1 < f2) {
+                    hi = x2;
+                    x2 = x1;
+                    f2 = f1;
+                    x1 = hi - INV_PHI * (hi - lo);
+                    f1 = Math.abs(g.applyAsDouble(x1));
+                } else {
+                    lo = x1;
+                    x1 = x2;
+                    f1 = f2;
+                    x2 = lo + INV_PHI * (hi - lo);
+                    f2 = Math.abs(g.applyAsDouble(x2));
+                }
+            }
+            double x = f1 < f2 ? x1 : x2;
+            double fx = g.applyAsDouble(x);
+            if (!(Math.abs(fx) < tol)) return null;
+            return new Root(x, fx, iterations, Kind.TOUCH, hi - lo <= tol);
+        }
+    }
+}
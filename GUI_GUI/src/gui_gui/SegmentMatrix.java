@@ -0,0 +1,151 @@
+package gui_gui;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+// Dense row-major matrix held outside the Java heap in a MemorySegment: either native memory
+// from allocate()/copyOf(), or a file mapped by MatrixFile.open(). Element (i, j) is the double
+// at byte offset (i * cols + j) * 8, little-endian, so a mapped file is used exactly as it lies
+// on disk. Sizes are not limited to 2^31 elements and the garbage collector never sees the data.
+//
+// The memory lives until close(); a matrix is not usable afterwards. Kernels read and write
+// whole row slices through readRow/writeRow, which copy into small heap buffers they reuse.
+public final class SegmentMatrix implements AutoCloseable {
+
+    static final ValueLayout.OfDouble ELEMENT = ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final int rows;
+    private final int cols;
+    private final MemorySegment data;
+    private final Arena arena;
+    private final boolean mapped;
+
+    // Takes ownership of arena, which must be shared so fork-join workers can read the segment
+    SegmentMatrix(int rows, int cols, MemorySegment data, Arena arena, boolean mapped) {
+        if (data.byteSize() != byteSize(rows, cols)) {
+            throw new IllegalArgumentException("Segment of " + data.byteSize() + " bytes does not hold " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+        this.arena = arena;
+        this.mapped = mapped;
+    }
+
+    static long byteSize(int rows, int cols) {
+        if (rows < 0 || cols < 0) throw new IllegalArgumentException("Negative matrix dimension");
+        return (long) rows * cols * Double.BYTES;
+    }
+
+    // Zero-filled native memory
+    public static SegmentMatrix allocate(int rows, int cols) {
+        long bytes = byteSize(rows, cols);
+        Arena arena = Arena.ofShared();
+        try {
+            MemorySegment s = arena.allocate(Math.max(bytes, 1), Double.BYTES).asSlice(0, bytes);
+            s.fill((byte) 0);
+            return new SegmentMatrix(rows, cols, s, arena, false);
+        } catch (RuntimeException | OutOfMemoryError ex) {
+            arena.close();
+            throw ex;
+        }
+    }
+
+    public static SegmentMatrix copyOf(DenseMatrix M) {
+        SegmentMatrix S = allocate(M.rows(), M.cols());
+        MemorySegment.copy(M.data(), 0, S.data, ELEMENT, 0, M.data().length);
+        return S;
+    }
+
+    // A native copy that can be modified, whatever this matrix is backed by
+    public SegmentMatrix copy() {
+        SegmentMatrix S = allocate(rows, cols);
+        S.data.copyFrom(data);
+        return S;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public boolean isSquare() {
+        return rows == cols;
+    }
+
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    MemorySegment segment() {
+        return data;
+    }
+
+    private long offset(int i, int j) {
+        return ((long) i * cols + j) * Double.BYTES;
+    }
+
+    public double get(int i, int j) {
+        return data.get(ELEMENT, offset(i, j));
+    }
+
+    public void set(int i, int j, double value) {
+        data.set(ELEMENT, offset(i, j), value);
+    }
+
+    // dst[dstIndex ..] = row i, columns [from, from + count)
+    public void readRow(int i, int from, double[] dst, int dstIndex, int count) {
+        MemorySegment.copy(data, ELEMENT, offset(i, from), dst, dstIndex, count);
+    }
+
+    // Row i, columns [from, from + count) = src[srcIndex ..]
+    public void writeRow(int i, int from, double[] src, int srcIndex, int count) {
+        MemorySegment.copy(src, srcIndex, data, ELEMENT, offset(i, from), count);
+    }
+
+    public void swapRows(int r1, int r2) {
+        if (r1 == r2) return;
+        double[] a = new double[cols];
+        double[] b = new double[cols];
+        readRow(r1, 0, a, 0, cols);
+        readRow(r2, 0, b, 0, cols);
+        writeRow(r1, 0, b, 0, cols);
+        writeRow(r2, 0, a, 0, cols);
+    }
+
+    // Matrix-vector product A * x, one row at a time
+    public double[] multiply(double[] x) {
+        if (x.length != cols) throw new IllegalArgumentException("Vector length " + x.length + " does not match " + cols + " columns");
+        double[] y = new double[rows];
+        double[] row = new double[cols];
+        for (int i = 0; i < rows; i++) {
+            readRow(i, 0, row, 0, cols);
+            double sum = 0;
+            for (int j = 0; j < cols; j++) sum += row[j] * x[j];
+            y[i] = sum;
+        }
+        return y;
+    }
+
+    // On-heap copy; throws IllegalArgumentException when the matrix has 2^31 elements or more
+    public DenseMatrix toDense() {
+        DenseMatrix M = new DenseMatrix(rows, cols);
+        MemorySegment.copy(data, ELEMENT, 0, M.data(), 0, M.data().length);
+        return M;
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    @Override
+    public String toString() {
+        return rows + "x" + cols + (mapped ? " memory-mapped" : " off-heap") + " matrix";
+    }
+}
@@ -0,0 +1,17 @@
+package gui_gui;
+
+// Thrown from SolverContext.checkpoint when a job is cancelled or runs out of budget.
+// Unchecked so it can leave any solver loop, including ones that declare no exceptions.
+public class SolverCancelledException extends RuntimeException {
+
+    private final long iterations;
+
+    public SolverCancelledException(String message, long iterations) {
+        super(message);
+        this.iterations = iterations;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+}
@@ -0,0 +1,139 @@
+package gui_gui;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.DoubleUnaryOperator;
+
+// Per-job handle passed into the iterative solvers. Every iteration calls checkpoint(), which
+// enforces cancellation, the iteration budget and the wall-clock budget, and (optionally)
+// streams newly recorded trace rows to a progress listener in coalesced chunks. It also counts
+// the evaluations of f the solver makes, for SolverStats.
+public class SolverContext {
+
+    public static final long DEFAULT_MAX_ITERATIONS = 1_000_000;
+
+    // Progress is handed out at most this often, however fast the solver iterates
+    private static final long PUBLISH_INTERVAL_NANOS = 100_000_000L;
+
+    private final long maxIterations;
+    private final long deadline;            // System.nanoTime() value, or Long.MAX_VALUE for none
+    private final long timeLimitNanos;
+    private final IterationTrace.Level traceLevel;
+    private final Consumer<IterationTrace.Excerpt> progress; // may be null
+    private final long startNanos = System.nanoTime();
+
+    private volatile boolean cancelled;
+    private long iterations;
+    private long evaluations;                // counted() calls, on the solver's thread
+    private final LongAdder sharedEvaluations = new LongAdder(); // addEvaluations(), from any thread
+    private IterationTrace trace;
+    private int published;                   // trace rows already handed to progress
+    private long lastPublish = startNanos;
+
+    public SolverContext(long maxIterations, long timeLimitNanos, IterationTrace.Level traceLevel,
+                         Consumer<IterationTrace.Excerpt> progress) {
+        this.maxIterations = maxIterations;
+        this.traceLevel = traceLevel;
+        this.timeLimitNanos = timeLimitNanos;
+        this.deadline = timeLimitNanos > 0 ? startNanos + timeLimitNanos : Long.MAX_VALUE;
+        this.progress = progress;
+    }
+
+    // Iteration budget and a full trace; what the non-GUI overloads use
+    public static SolverContext defaults() {
+        return new SolverContext(DEFAULT_MAX_ITERATIONS, 0, IterationTrace.Level.FULL, null);
+    }
+
+    // Called by a solver before its first iteration; the trace level is the caller's choice
+    public IterationTrace startTrace(String header, String rowFormat, int columns) {
+        trace = new IterationTrace(traceLevel, header, rowFormat, columns);
+        published = 0;
+        return trace;
+    }
+
+    // The trace of the last solver run with this context, or null if it did not record one
+    public IterationTrace trace() {
+        return trace;
+    }
+
+    public IterationTrace.Level traceLevel() {
+        return traceLevel;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long iterations() {
+        return iterations;
+    }
+
+    // Evaluations of f so far: every call through counted() plus everything passed to addEvaluations()
+    public long evaluations() {
+        return evaluations + sharedEvaluations.sum();
+    }
+
+    // f, counting each call towards evaluations(). Like checkpoint(), for the solver's own thread.
+    public DoubleUnaryOperator counted(DoubleUnaryOperator f) {
+        return x -> {
+            evaluations++;
+            return f.applyAsDouble(x);
+        };
+    }
+
+    // Thread-safe: for work split across threads, which counts locally and reports in bulk
+    public void addEvaluations(long n) {
+        sharedEvaluations.add(n);
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    // Counts one iteration, throws SolverCancelledException if the job must stop, and
+    // streams any new trace rows
+    public void checkpoint() {
+        iterations++;
+        if (cancelled) {
+            throw new SolverCancelledException("Cancelled after " + iterations + " iterations.", iterations);
+        }
+        if (iterations > maxIterations) {
+            throw new SolverCancelledException("Stopped: iteration budget of " + maxIterations + " exhausted.", iterations);
+        }
+        if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0) {
+            throw new SolverCancelledException(String.format("Stopped: time limit of %.1f s reached after %d iterations.",
+                    timeLimitNanos / 1e9, iterations), iterations);
+        }
+        publish();
+    }
+
+    // The thread-safe part of checkpoint() for work split across threads: cancellation and the
+    // time limit only, without counting an iteration or publishing progress
+    public void checkCancelled() {
+        if (cancelled) {
+            throw new SolverCancelledException("Cancelled.", iterations);
+        }
+        if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0) {
+            throw new SolverCancelledException(String.format("Stopped: time limit of %.1f s reached.",
+                    timeLimitNanos / 1e9), iterations);
+        }
+    }
+
+    // Hands rows recorded since the last publish to the listener, a few times per second at most
+    private void publish() {
+        if (progress == null || trace == null || traceLevel != IterationTrace.Level.FULL) return;
+        int rows = trace.rows();
+        if (rows == published) return;
+        long now = System.nanoTime();
+        if (now - lastPublish >= PUBLISH_INTERVAL_NANOS) {
+            progress.accept(trace.excerpt(published, rows));
+            published = rows;
+            lastPublish = now;
+        }
+    }
+
+}
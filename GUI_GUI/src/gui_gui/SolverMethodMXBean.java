@@ -0,0 +1,37 @@
+package gui_gui;
+
+// One sidebar method's solver jobs, registered as gui_gui:type=SolverMethod,name="<method>"
+public interface SolverMethodMXBean {
+
+    String getMethod();
+
+    // Jobs started; every one ends as completed, failed or stopped (cancelled or out of budget)
+    long getRuns();
+
+    long getCompleted();
+
+    long getFailures();
+
+    long getStops();
+
+    int getInFlight();
+
+    // How long the oldest job still running has been running, 0 when none is
+    double getLongestRunningSeconds();
+
+    long getEvaluations();
+
+    long getIterations();
+
+    // Allocated by the jobs' own threads, see SolverStats
+    long getAllocatedBytes();
+
+    double getMeanLatencyMillis();
+
+    double getMaxLatencyMillis();
+
+    // Upper bounds of the latency buckets; the counts have one more entry, for slower jobs
+    double[] getLatencyBucketBoundsMillis();
+
+    long[] getLatencyBucketCounts();
+}
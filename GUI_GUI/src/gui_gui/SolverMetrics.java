@@ -0,0 +1,500 @@
+package gui_gui;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Counters and latency histograms of every solver job, per sidebar method, for watching
+// long-lived instances from outside. SolverRunner reports each job (started, then finished
+// with its SolverStats); install() publishes the numbers as platform MXBeans
+//   gui_gui:type=Solvers                       in-flight jobs, totals, expression cache, last error
+//   gui_gui:type=SolverMethod,name="<method>"  runs by outcome, in-flight and longest running job,
+//                                              evaluations, iterations, allocations, latency buckets
+// and, with -Dgui_gui.metrics.file=<path>, rewrites that file every gui_gui.metrics.interval
+// seconds (default 15) with a Prometheus text-format snapshot (e.g. for node_exporter's textfile
+// collector). The file is replaced atomically, so a scraper never reads half of it.
+public final class SolverMetrics implements SolverMetricsMXBean {
+
+    public static final String DOMAIN = "gui_gui";
+    public static final long DEFAULT_EXPORT_INTERVAL_SECONDS = 15;
+
+    // Upper bounds of the latency histogram buckets
+    static final double[] BUCKET_BOUNDS_SECONDS = {0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1, 5, 10, 60, 300};
+
+    // Longest error message kept for getLastErrorMessage; the text is never a Prometheus label
+    private static final int MAX_MESSAGE = 200;
+
+    public enum Outcome { COMPLETED, FAILED, STOPPED }
+
+    private static final SolverMetrics INSTANCE = new SolverMetrics();
+
+    private final Map<String, Method> methods = new ConcurrentHashMap<>();
+    private volatile String[] order = new String[0]; // install() order first, then first use
+    private volatile LastError lastError;
+    private volatile MBeanServer server;              // set by install()
+    private volatile Path metricsFile;
+
+    private record LastError(String method, String message, long timeMillis) {
+    }
+
+    private SolverMetrics() {
+    }
+
+    public static SolverMetrics get() {
+        return INSTANCE;
+    }
+
+    // Registers the MXBeans for these methods (and any method reported later), and starts the
+    // metrics file when gui_gui.metrics.file is set. Safe to call more than once.
+    public static synchronized void install(String... methodNames) throws JMException {
+        SolverMetrics metrics = INSTANCE;
+        for (String name : methodNames) metrics.method(name);
+        if (metrics.server == null) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":type=Solvers");
+            if (!server.isRegistered(name)) server.registerMBean(metrics, name);
+            metrics.server = server;
+            for (Method m : metrics.methods.values()) metrics.register(m);
+        }
+        String file = System.getProperty("gui_gui.metrics.file");
+        if (file != null && !file.isBlank() && metrics.metricsFile == null) {
+            long interval = Long.getLong("gui_gui.metrics.interval", DEFAULT_EXPORT_INTERVAL_SECONDS);
+            metrics.startExport(Path.of(file), Math.max(1, interval));
+        }
+    }
+
+    // ---------------------------------------------------------------- reporting (SolverRunner)
+
+    // Call on the thread that runs the job, just before it starts
+    public Job started(String method) {
+        Job job = new Job(method(method), System.nanoTime());
+        job.method.inFlight.add(job);
+        return job;
+    }
+
+    // Exactly once per started job; error is the message of a failed job and ignored otherwise
+    public void finished(Job job, Outcome outcome, SolverStats stats, String error) {
+        Method m = job.method;
+        if (!m.inFlight.remove(job)) return;
+        long nanos = System.nanoTime() - job.startNanos;
+        m.outcomes[outcome.ordinal()].increment();
+        m.evaluations.add(stats.evaluations());
+        m.iterations.add(stats.iterations());
+        if (stats.allocatedBytes() > 0) m.allocatedBytes.add(stats.allocatedBytes());
+        m.totalNanos.add(nanos);
+        m.maxNanos.accumulateAndGet(nanos, Math::max);
+        m.buckets.incrementAndGet(bucket(nanos / 1e9));
+        if (outcome == Outcome.FAILED) {
+            String message = error == null ? "" : error;
+            if (message.length() > MAX_MESSAGE) message = message.substring(0, MAX_MESSAGE) + "...";
+            lastError = new LastError(m.name, message, System.currentTimeMillis());
+        }
+    }
+
+    // A job in progress, from started() to finished()
+    public static final class Job {
+        private final Method method;
+        private final long startNanos;
+
+        private Job(Method method, long startNanos) {
+            this.method = method;
+            this.startNanos = startNanos;
+        }
+    }
+
+    private static int bucket(double seconds) {
+        int i = 0;
+        while (i < BUCKET_BOUNDS_SECONDS.length && seconds > BUCKET_BOUNDS_SECONDS[i]) i++;
+        return i;
+    }
+
+    private Method method(String name) {
+        Method m = methods.get(name);
+        if (m != null) return m;
+        synchronized (this) {
+            m = methods.get(name);
+            if (m == null) {
+                m = new Method(name);
+                methods.put(name, m);
+                String[] grown = Arrays.copyOf(order, order.length + 1);
+                grown[order.length] = name;
+                order = grown;
+                if (server != null) register(m);
+            }
+            return m;
+        }
+    }
+
+    private void register(Method m) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=SolverMethod,name=" + ObjectName.quote(m.name));
+            if (!server.isRegistered(name)) server.registerMBean(m, name);
+        } catch (JMException ex) {
+            // metrics must never stop a solver; the method is still in the Solvers bean and the file
+        }
+    }
+
+    // ---------------------------------------------------------------- per-method numbers
+
+    private static final class Method implements SolverMethodMXBean {
+        final String name;
+        final LongAdder[] outcomes = {new LongAdder(), new LongAdder(), new LongAdder()};
+        final LongAdder evaluations = new LongAdder();
+        final LongAdder iterations = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_SECONDS.length + 1);
+        final Set<Job> inFlight = ConcurrentHashMap.newKeySet();
+
+        Method(String name) {
+            this.name = name;
+        }
+
+        long count(Outcome outcome) {
+            return outcomes[outcome.ordinal()].sum();
+        }
+
+        long finished() {
+            return count(Outcome.COMPLETED) + count(Outcome.FAILED) + count(Outcome.STOPPED);
+        }
+
+        @Override
+        public String getMethod() {
+            return name;
+        }
+
+        @Override
+        public long getRuns() {
+            return finished() + inFlight.size();
+        }
+
+        @Override
+        public long getCompleted() {
+            return count(Outcome.COMPLETED);
+        }
+
+        @Override
+        public long getFailures() {
+            return count(Outcome.FAILED);
+        }
+
+        @Override
+        public long getStops() {
+            return count(Outcome.STOPPED);
+        }
+
+        @Override
+        public int getInFlight() {
+            return inFlight.size();
+        }
+
+        @Override
+        public double getLongestRunningSeconds() {
+            long now = System.nanoTime(), longest = 0;
+            for (Job job : inFlight) longest = Math.max(longest, now - job.startNanos);
+            return longest / 1e9;
+        }
+
+        @Override
+        public long getEvaluations() {
+            return evaluations.sum();
+        }
+
+        @Override
+        public long getIterations() {
+            return iterations.sum();
+        }
+
+        @Override
+        public long getAllocatedBytes() {
+            return allocatedBytes.sum();
+        }
+
+        @Override
+        public double getMeanLatencyMillis() {
+            long n = finished();
+            return n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+        }
+
+        @Override
+        public double getMaxLatencyMillis() {
+            return maxNanos.get() / 1e6;
+        }
+
+        @Override
+        public double[] getLatencyBucketBoundsMillis() {
+            double[] ms = new double[BUCKET_BOUNDS_SECONDS.length];
+            for (int i = 0; i < ms.length; i++) ms[i] = BUCKET_BOUNDS_SECONDS[i] * 1e3;
+            return ms;
+        }
+
+        @Override
+        public long[] getLatencyBucketCounts() {
+            long[] counts = new long[buckets.length()];
+            for (int i = 0; i < counts.length; i++) counts[i] = buckets.get(i);
+            return counts;
+        }
+    }
+
+    // ---------------------------------------------------------------- SolverMetricsMXBean
+
+    @Override
+    public String[] getMethods() {
+        return order.clone();
+    }
+
+    @Override
+    public int getInFlightJobs() {
+        int n = 0;
+        for (Method m : methods.values()) n += m.inFlight.size();
+        return n;
+    }
+
+    @Override
+    public long getRuns() {
+        long n = 0;
+        for (Method m : methods.values()) n += m.getRuns();
+        return n;
+    }
+
+    @Override
+    public long getFailures() {
+        long n = 0;
+        for (Method m : methods.values()) n += m.getFailures();
+        return n;
+    }
+
+    @Override
+    public long getStops() {
+        long n = 0;
+        for (Method m : methods.values()) n += m.getStops();
+        return n;
+    }
+
+    @Override
+    public int getExpressionCacheSize() {
+        return MathParser.cache().size();
+    }
+
+    @Override
+    public int getExpressionCacheCapacity() {
+        return MathParser.cache().capacity();
+    }
+
+    @Override
+    public long getExpressionCacheHits() {
+        return MathParser.cache().hitCount();
+    }
+
+    @Override
+    public long getExpressionCacheMisses() {
+        return MathParser.cache().missCount();
+    }
+
+    @Override
+    public int getResultCacheEntries() {
+        return ResultCache.shared().size();
+    }
+
+    @Override
+    public long getResultCacheBytes() {
+        return ResultCache.shared().bytes();
+    }
+
+    @Override
+    public long getResultCacheHits() {
+        return ResultCache.shared().hitCount();
+    }
+
+    @Override
+    public long getResultCacheDiskHits() {
+        return ResultCache.shared().diskHitCount();
+    }
+
+    @Override
+    public long getResultCacheMisses() {
+        return ResultCache.shared().missCount();
+    }
+
+    @Override
+    public long getResultCacheEvictions() {
+        return ResultCache.shared().evictionCount();
+    }
+
+    @Override
+    public int getResultCacheFileEntries() {
+        return ResultCache.shared().diskEntries();
+    }
+
+    @Override
+    public String getResultCacheFile() {
+        return ResultCache.shared().file();
+    }
+
+    @Override
+    public String getLastErrorMethod() {
+        LastError e = lastError;
+        return e == null ? "" : e.method();
+    }
+
+    @Override
+    public String getLastErrorMessage() {
+        LastError e = lastError;
+        return e == null ? "" : e.message();
+    }
+
+    @Override
+    public long getLastErrorTimeMillis() {
+        LastError e = lastError;
+        return e == null ? 0 : e.timeMillis();
+    }
+
+    @Override
+    public String getMetricsFile() {
+        Path file = metricsFile;
+        return file == null ? "" : file.toString();
+    }
+
+    // ---------------------------------------------------------------- Prometheus text format
+
+    @Override
+    public String prometheusSnapshot() {
+        StringBuilder sb = new StringBuilder(4096);
+        String[] names = order;
+
+        header(sb, "gui_gui_solver_runs_total", "counter", "Solver jobs finished, by method and outcome.");
+        for (String name : names) {
+            Method m = methods.get(name);
+            for (Outcome o : Outcome.values()) {
+                sample(sb, "gui_gui_solver_runs_total", name, "outcome", o.name().toLowerCase(Locale.ROOT), m.count(o));
+            }
+        }
+        header(sb, "gui_gui_solver_in_flight", "gauge", "Solver jobs running now.");
+        for (String name : names) sample(sb, "gui_gui_solver_in_flight", name, null, null, methods.get(name).getInFlight());
+        header(sb, "gui_gui_solver_longest_running_seconds", "gauge", "Age of the oldest solver job still running, 0 when none is.");
+        for (String name : names) {
+            sample(sb, "gui_gui_solver_longest_running_seconds", name, null, null, methods.get(name).getLongestRunningSeconds());
+        }
+
+        header(sb, "gui_gui_solver_duration_seconds", "histogram", "Wall time of finished solver jobs.");
+        for (String name : names) {
+            Method m = methods.get(name);
+            long cumulative = 0;
+            for (int i = 0; i < m.buckets.length(); i++) {
+                cumulative += m.buckets.get(i);
+                String le = i < BUCKET_BOUNDS_SECONDS.length ? number(BUCKET_BOUNDS_SECONDS[i]) : "+Inf";
+                sample(sb, "gui_gui_solver_duration_seconds_bucket", name, "le", le, cumulative);
+            }
+            sample(sb, "gui_gui_solver_duration_seconds_sum", name, null, null, m.totalNanos.sum() / 1e9);
+            sample(sb, "gui_gui_solver_duration_seconds_count", name, null, null, cumulative);
+        }
+
+        header(sb, "gui_gui_solver_evaluations_total", "counter", "Evaluations of f by finished solver jobs.");
+        for (String name : names) sample(sb, "gui_gui_solver_evaluations_total", name, null, null, methods.get(name).getEvaluations());
+        header(sb, "gui_gui_solver_iterations_total", "counter", "Iterations of finished solver jobs.");
+        for (String name : names) sample(sb, "gui_gui_solver_iterations_total", name, null, null, methods.get(name).getIterations());
+        header(sb, "gui_gui_solver_allocated_bytes_total", "counter", "Bytes allocated by the threads of finished solver jobs.");
+        for (String name : names) {
+            sample(sb, "gui_gui_solver_allocated_bytes_total", name, null, null, methods.get(name).getAllocatedBytes());
+        }
+
+        header(sb, "gui_gui_expression_cache_entries", "gauge", "Parsed expressions held by the cache.");
+        sb.append("gui_gui_expression_cache_entries ").append(getExpressionCacheSize()).append('\n');
+        header(sb, "gui_gui_expression_cache_capacity", "gauge", "Most parsed expressions the cache holds.");
+        sb.append("gui_gui_expression_cache_capacity ").append(getExpressionCacheCapacity()).append('\n');
+        header(sb, "gui_gui_expression_cache_hits_total", "counter", "Expression lookups served from the cache.");
+        sb.append("gui_gui_expression_cache_hits_total ").append(getExpressionCacheHits()).append('\n');
+        header(sb, "gui_gui_expression_cache_misses_total", "counter", "Expression lookups that had to parse.");
+        sb.append("gui_gui_expression_cache_misses_total ").append(getExpressionCacheMisses()).append('\n');
+
+        header(sb, "gui_gui_result_cache_entries", "gauge", "Solver results held in memory by the result cache.");
+        sb.append("gui_gui_result_cache_entries ").append(getResultCacheEntries()).append('\n');
+        header(sb, "gui_gui_result_cache_bytes", "gauge", "Estimated bytes of the results held in memory.");
+        sb.append("gui_gui_result_cache_bytes ").append(getResultCacheBytes()).append('\n');
+        header(sb, "gui_gui_result_cache_file_entries", "gauge", "Solver results in the result cache file.");
+        sb.append("gui_gui_result_cache_file_entries ").append(getResultCacheFileEntries()).append('\n');
+        header(sb, "gui_gui_result_cache_lookups_total", "counter", "Result cache lookups, by where the answer came from.");
+        sb.append("gui_gui_result_cache_lookups_total{result=\"memory\"} ").append(getResultCacheHits()).append('\n');
+        sb.append("gui_gui_result_cache_lookups_total{result=\"disk\"} ").append(getResultCacheDiskHits()).append('\n');
+        sb.append("gui_gui_result_cache_lookups_total{result=\"miss\"} ").append(getResultCacheMisses()).append('\n');
+        header(sb, "gui_gui_result_cache_evictions_total", "counter", "Results dropped from memory to stay within the byte budget.");
+        sb.append("gui_gui_result_cache_evictions_total ").append(getResultCacheEvictions()).append('\n');
+
+        LastError e = lastError;
+        if (e != null) {
+            // labelled by method only: a label per message would make a new series for every error
+            header(sb, "gui_gui_solver_last_error_timestamp_seconds", "gauge", "When the last solver job failed.");
+            sample(sb, "gui_gui_solver_last_error_timestamp_seconds", e.method(), null, null, e.timeMillis() / 1e3);
+        }
+        return sb.toString();
+    }
+
+    private static void header(StringBuilder sb, String metric, String type, String help) {
+        sb.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String metric, String method, String label, String value, double v) {
+        sb.append(metric).append("{method=\"").append(escape(method)).append('"');
+        if (label != null) sb.append(',').append(label).append("=\"").append(escape(value)).append('"');
+        sb.append("} ").append(number(v)).append('\n');
+    }
+
+    private static String number(double v) {
+        return v == Math.rint(v) && Math.abs(v) < 1e15 ? Long.toString((long) v) : Double.toString(v);
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    // ---------------------------------------------------------------- metrics file
+
+    private void startExport(Path file, long intervalSeconds) {
+        metricsFile = file;
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread t = new Thread(task, "metrics-export");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleAtFixedRate(() -> {
+            try {
+                writeSnapshot(file);
+            } catch (IOException | RuntimeException ex) {
+                // keep exporting; a full disk or a removed directory may come back
+            }
+        }, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    // Writes a snapshot next to file and moves it into place
+    public void writeSnapshot(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(tmp, prometheusSnapshot(), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package gui_gui;
+
+// Process-wide solver activity, registered as gui_gui:type=Solvers (see SolverMetrics)
+public interface SolverMetricsMXBean {
+
+    String[] getMethods();
+
+    int getInFlightJobs();
+
+    long getRuns();
+
+    long getFailures();
+
+    long getStops();
+
+    int getExpressionCacheSize();
+
+    int getExpressionCacheCapacity();
+
+    long getExpressionCacheHits();
+
+    long getExpressionCacheMisses();
+
+    int getResultCacheEntries();
+
+    long getResultCacheBytes();
+
+    long getResultCacheHits();
+
+    // Memory misses answered from the cache file
+    long getResultCacheDiskHits();
+
+    long getResultCacheMisses();
+
+    long getResultCacheEvictions();
+
+    int getResultCacheFileEntries();
+
+    // Empty when the cache keeps no file
+    String getResultCacheFile();
+
+    // Empty, and 0, until a job has failed
+    String getLastErrorMethod();
+
+    String getLastErrorMessage();
+
+    long getLastErrorTimeMillis();
+
+    // Empty when no metrics file is configured
+    String getMetricsFile();
+
+    // Everything, in the Prometheus text format the metrics file uses
+    String prometheusSnapshot();
+}
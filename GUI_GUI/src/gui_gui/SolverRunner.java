@@ -0,0 +1,193 @@
+package gui_gui;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.FlowLayout;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.JToggleButton;
+import javax.swing.SwingUtilities;
+
+// Runs one panel's solver jobs off the event dispatch thread. Each job gets a SolverContext
+// with the panel's time limit and trace level; new trace rows are rendered and appended to
+// the result area as they arrive, and the Cancel button stops the job at its next iteration.
+// What each job cost (SolverStats) is shown in a collapsible strip above the controls.
+// runCached() jobs are answered from ResultCache when the same inputs were solved before.
+class SolverRunner {
+
+    public static final double DEFAULT_TIME_LIMIT_SECONDS = 30;
+
+    // A platform thread per job, reused while jobs keep coming: the JVM counts allocated bytes
+    // only for platform threads. Daemon threads, so a running job does not keep the JVM alive.
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(task -> {
+        Thread t = new Thread(task, "solver");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @FunctionalInterface
+    interface SolverTask {
+        String run(SolverContext ctx) throws Exception;
+    }
+
+    private final String method; // the sidebar name, for SolverMetrics
+    private final JTextArea resultArea;
+    private final JTextField timeLimitField = new JTextField(String.valueOf(DEFAULT_TIME_LIMIT_SECONDS), 5);
+    private final JComboBox<IterationTrace.Level> traceLevelBox = new JComboBox<>(IterationTrace.Level.values());
+    private final JButton cancelButton = new JButton("Cancel");
+    private final JLabel statusLabel = new JLabel(" ");
+    private final JToggleButton statsToggle = new JToggleButton("Stats ▾", true);
+    private final JLabel statsLabel = new JLabel("No run yet");
+    private final JPanel controls;
+
+    private SolverContext current; // only touched on the EDT
+    private volatile SolverStats lastStats;
+
+    SolverRunner(String method, JTextArea resultArea, Color bg, Color fg) {
+        this.method = method;
+        this.resultArea = resultArea;
+
+        JPanel strip = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        strip.setBackground(bg);
+        statsToggle.setFocusPainted(false);
+        statsToggle.setToolTipText("Show or hide what the last run cost");
+        statsLabel.setForeground(fg);
+        statsLabel.setToolTipText("Allocations are those of the solver's own thread; work it hands to the fork-join pool is not included");
+        strip.add(statsToggle);
+        strip.add(statsLabel);
+        statsToggle.addActionListener(e -> {
+            statsLabel.setVisible(statsToggle.isSelected());
+            statsToggle.setText(statsToggle.isSelected() ? "Stats ▾" : "Stats ▸");
+        });
+
+        JPanel row = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        row.setBackground(bg);
+        controls = new JPanel(new BorderLayout());
+        controls.setBackground(bg);
+        controls.add(strip, BorderLayout.NORTH);
+        controls.add(row, BorderLayout.CENTER);
+        JLabel limitLabel = new JLabel("Time limit (s):");
+        limitLabel.setForeground(fg);
+        statusLabel.setForeground(fg);
+        row.add(limitLabel);
+        row.add(timeLimitField);
+        JLabel traceLabel = new JLabel("Trace:");
+        traceLabel.setForeground(fg);
+        traceLevelBox.setSelectedItem(IterationTrace.Level.FULL);
+        row.add(traceLabel);
+        row.add(traceLevelBox);
+        row.add(cancelButton);
+        row.add(statusLabel);
+
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> {
+            if (current != null) {
+                current.cancel();
+                statusLabel.setText("Cancelling...");
+            }
+        });
+    }
+
+    JPanel controls() {
+        return controls;
+    }
+
+    // The cost of the last job that finished (or was cancelled), null before the first
+    SolverStats lastStats() {
+        return lastStats;
+    }
+
+    // Must be called on the EDT. A new job replaces (and cancels) any job still running.
+    void run(SolverTask task) {
+        run(task, null);
+    }
+
+    // As run(), for a task whose text depends only on these inputs (and the trace level, which
+    // is added here): a repeat is answered from ResultCache without running the task
+    void runCached(SolverTask task, Object... inputs) {
+        run(task, inputs);
+    }
+
+    private void run(SolverTask task, Object[] inputs) {
+        if (current != null) current.cancel();
+
+        double seconds;
+        try {
+            seconds = Double.parseDouble(timeLimitField.getText().trim());
+        } catch (NumberFormatException ex) {
+            seconds = DEFAULT_TIME_LIMIT_SECONDS;
+        }
+
+        SolverContext[] self = new SolverContext[1];
+        IterationTrace.Level level = (IterationTrace.Level) traceLevelBox.getSelectedItem();
+        ResultCache cache = ResultCache.shared();
+        ResultCache.Key key = inputs != null && cache.enabled() ? ResultCache.key("gui/" + method, level, inputs) : null;
+        SolverContext ctx = new SolverContext(SolverContext.DEFAULT_MAX_ITERATIONS, (long) (seconds * 1e9), level,
+                excerpt -> SwingUtilities.invokeLater(() -> {
+                    if (current == self[0]) resultArea.append(excerpt.render());
+                }));
+        self[0] = ctx;
+        current = ctx;
+
+        resultArea.setText("");
+        statusLabel.setText("Running...");
+        cancelButton.setEnabled(true);
+
+        EXECUTOR.execute(() -> {
+            SolverMetrics.Job job = SolverMetrics.get().started(method);
+            long bytes = SolverStats.threadAllocatedBytes();
+            SolverMetrics.Outcome outcome = SolverMetrics.Outcome.FAILED;
+            String text;
+            String status;
+            try {
+                ResultCache.Cached hit = key == null ? null : cache.get(key);
+                if (hit != null) {
+                    text = hit.text();
+                    status = String.format("Cached result (%.0f µs)", ctx.elapsedNanos() / 1e3);
+                } else {
+                    text = task.run(ctx);
+                    status = String.format("Done in %.1f ms", ctx.elapsedNanos() / 1e6);
+                    if (key != null) cache.put(key, new ResultCache.Cached(text, null));
+                }
+                outcome = SolverMetrics.Outcome.COMPLETED;
+            } catch (SolverCancelledException ex) {
+                text = null;
+                status = ex.getMessage();
+                outcome = SolverMetrics.Outcome.STOPPED;
+            } catch (Exception ex) {
+                text = "Error: " + ex.getMessage();
+                status = "Failed";
+            } catch (StackOverflowError ex) {
+                text = "Error: recursion too deep for this input";
+                status = "Failed";
+            }
+            SolverStats stats = SolverStats.since(ctx, bytes);
+            SolverMetrics.get().finished(job, outcome, stats, text);
+            String finalText = text;
+            String finalStatus = status;
+            SwingUtilities.invokeLater(() -> finish(ctx, finalText, finalStatus, stats));
+        });
+    }
+
+    private void finish(SolverContext ctx, String text, String status, SolverStats stats) {
+        if (current != ctx) return; // superseded by a newer job
+        lastStats = stats;
+        statsLabel.setText(stats.summary());
+        if (text != null) {
+            resultArea.setText(text);
+        } else {
+            resultArea.append("\n" + status);
+        }
+        statusLabel.setText(status);
+        cancelButton.setEnabled(false);
+        current = null;
+        if (StartupProbe.ENABLED) StartupProbe.finished();
+    }
+}
@@ -0,0 +1,258 @@
+package gui_gui;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Local HTTP/JSON front end for the solvers, on the JDK's built-in server. Every method of the
+// batch mode (BatchCli) is an endpoint:
+//
+//   POST /solve/<method>   body: the parameters as a JSON object, as in a BatchCli job line
+//        curl -d '{"f": "x^3 - 4cos(x)", "a": 1, "b": 2, "tol": 1e-10}' localhost:8080/solve/brent
+//   GET  /methods          the method names
+//   GET  /health           {"status":"up", running, queued, rejected}
+//   GET  /metrics          SolverMetrics in the Prometheus text format
+//
+// The answer is the BatchCli result object: 200 for status ok or stopped, 422 for a job the
+// solver rejected, 400 for a body that is not a JSON object, 404 for an unknown method.
+//
+// Each request is read, parsed and answered on its own virtual thread. The solve itself runs on a
+// pool of --concurrency platform threads (default: one per core) behind a queue of --queue jobs:
+// the solvers are CPU-bound and never yield, so on virtual threads they would hold the carriers and
+// leave the real backlog in the scheduler, unbounded and unseen. When the queue is full the server
+// answers 429 with Retry-After at once instead of letting latency grow. A request may lower its
+// limits with "timeLimit" (seconds) and "maxIterations" in the body or the query string;
+// --time-limit and --max-iterations are the ceilings.
+public final class SolverServer {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int QUEUE_PER_SOLVER = 16;
+    public static final double DEFAULT_TIME_LIMIT_SECONDS = 10;
+    static final int MAX_BODY_BYTES = 1 << 20;
+
+    private final HttpServer server;
+    private final ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+    private final ThreadPoolExecutor solvers;
+    private final long maxTimeLimitNanos;
+    private final long maxIterations;
+    private final LongAdder rejected = new LongAdder();
+
+    public SolverServer(InetSocketAddress address, int concurrency, int queue, double timeLimitSeconds,
+                        long maxIterations) throws IOException {
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be at least 1");
+        if (queue < 0) throw new IllegalArgumentException("queue must not be negative");
+        BlockingQueue<Runnable> waiting = queue == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queue);
+        solvers = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.SECONDS, waiting, task -> {
+            Thread t = new Thread(task, "server-solver");
+            t.setDaemon(true);
+            return t;
+        }); // the default AbortPolicy: execute() throws when the queue is full
+        this.maxTimeLimitNanos = (long) (timeLimitSeconds * 1e9);
+        this.maxIterations = maxIterations;
+        // The JDK server writes the headers and the body of a response separately; with Nagle's
+        // algorithm on, the body then waits for the client's delayed ACK, about 40 ms a request.
+        // Read once, when the server classes load, so it must be set before the first create().
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(address, 0);
+        server.setExecutor(requests);
+        server.createContext("/solve/", this::solve);
+        server.createContext("/methods", exchange -> {
+            if (allow(exchange, "GET")) send(exchange, 200, methodsJson());
+        });
+        server.createContext("/health", exchange -> {
+            if (allow(exchange, "GET")) send(exchange, 200, healthJson());
+        });
+        server.createContext("/metrics", exchange -> {
+            if (allow(exchange, "GET")) {
+                send(exchange, 200, "text/plain; version=0.0.4; charset=utf-8", SolverMetrics.get().prometheusSnapshot());
+            }
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = "127.0.0.1";
+        int port = DEFAULT_PORT;
+        int concurrency = Runtime.getRuntime().availableProcessors();
+        int queue = -1;
+        double timeLimit = DEFAULT_TIME_LIMIT_SECONDS;
+        long maxIterations = SolverContext.DEFAULT_MAX_ITERATIONS;
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            if (value == null) usage(args[i] + " needs a value");
+            switch (args[i++]) {
+                case "--host" -> host = value;
+                case "--port" -> port = Integer.parseInt(value);
+                case "--concurrency" -> concurrency = Integer.parseInt(value);
+                case "--queue" -> queue = Integer.parseInt(value);
+                case "--time-limit" -> timeLimit = Double.parseDouble(value);
+                case "--max-iterations" -> maxIterations = Long.parseLong(value);
+                default -> usage("unknown option " + args[i - 1]);
+            }
+        }
+        if (queue < 0) queue = QUEUE_PER_SOLVER * concurrency;
+        SolverMetrics.install();
+        SolverServer server = new SolverServer(new InetSocketAddress(host, port), concurrency, queue, timeLimit,
+                maxIterations);
+        server.start();
+        System.err.printf("Solving on http://%s:%d/ (%d at a time, %d queued)%n", host, server.port(), concurrency, queue);
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("usage: SolverServer [--host 127.0.0.1] [--port 8080] [--concurrency N] [--queue N]"
+                + " [--time-limit S] [--max-iterations N]");
+        System.exit(2);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Stops accepting requests and waits up to delaySeconds for the ones in progress
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        solvers.shutdownNow();
+        requests.shutdown();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    // ---------------------------------------------------------------- /solve/<method>
+
+    private void solve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!allow(exchange, "POST")) return;
+            String method = BatchCli.normalize(exchange.getRequestURI().getPath().substring("/solve/".length()));
+            if (!BatchCli.METHODS.contains(method)) {
+                send(exchange, 404, error("unknown method \"" + method + "\""));
+                return;
+            }
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readNBytes(MAX_BODY_BYTES + 1);
+            }
+            if (body.length > MAX_BODY_BYTES) {
+                send(exchange, 413, error("request body over " + MAX_BODY_BYTES + " bytes"));
+                return;
+            }
+            BatchJob job;
+            long timeLimitNanos, iterations;
+            try {
+                job = BatchJob.fromJson(method, new String(body, StandardCharsets.UTF_8));
+                String query = exchange.getRequestURI().getRawQuery();
+                timeLimitNanos = limit(option(job, query, "timeLimit"), maxTimeLimitNanos, 1e9);
+                iterations = limit(option(job, query, "maxIterations"), maxIterations, 1);
+            } catch (Exception ex) {
+                send(exchange, 400, error(ex.getMessage()));
+                return;
+            }
+
+            Future<BatchCli.Result> solving;
+            try {
+                solving = solvers.submit(() -> BatchCli.solve(job, iterations, timeLimitNanos));
+            } catch (RejectedExecutionException ex) {
+                rejected.increment();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 429, error("solver queue is full, retry later"));
+                return;
+            }
+            BatchCli.Result result;
+            try {
+                result = solving.get(); // unmounts this virtual thread until the solver is done
+            } catch (InterruptedException ex) {
+                solving.cancel(true);
+                send(exchange, 503, error("server is shutting down"));
+                return;
+            } catch (ExecutionException ex) { // BatchCli.solve reports exceptions; this is an Error
+                send(exchange, 500, error(String.valueOf(ex.getCause())));
+                return;
+            }
+            send(exchange, result.status().equals("error") ? 422 : 200, result.json());
+        }
+    }
+
+    // A limit from the body or, failing that, the query string
+    private static String option(BatchJob job, String query, String key) {
+        String value = job.take(key);
+        if (value != null || query == null) return value;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(key)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    // value (in units of scale) capped at ceiling; the ceiling when value is absent
+    private static long limit(String value, long ceiling, double scale) throws Exception {
+        if (value == null) return ceiling;
+        double v;
+        try {
+            v = Double.parseDouble(value.strip());
+        } catch (NumberFormatException ex) {
+            throw new Exception("limit must be a number, got \"" + value + "\"");
+        }
+        if (!(v > 0)) throw new Exception("limits must be positive");
+        long requested = (long) Math.min(v * scale, Long.MAX_VALUE);
+        return ceiling > 0 ? Math.min(requested, ceiling) : requested;
+    }
+
+    // ---------------------------------------------------------------- responses
+
+    private String healthJson() {
+        return "{\"status\":\"up\",\"running\":" + solvers.getActiveCount() + ",\"queued\":" + solvers.getQueue().size()
+                + ",\"rejected\":" + rejected.sum() + "}";
+    }
+
+    private static String methodsJson() {
+        return "[\"" + String.join("\",\"", BatchCli.METHODS) + "\"]";
+    }
+
+    private static String error(String message) {
+        StringBuilder sb = new StringBuilder("{\"status\":\"error\",\"error\":");
+        BatchCli.Result.quote(sb, String.valueOf(message));
+        return sb.append('}').toString();
+    }
+
+    private static boolean allow(HttpExchange exchange, String method) throws IOException {
+        if (exchange.getRequestMethod().equals(method)) return true;
+        exchange.getResponseHeaders().set("Allow", method);
+        send(exchange, 405, error(exchange.getRequestMethod() + " not allowed"));
+        return false;
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        send(exchange, status, "application/json; charset=utf-8", json);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        exchange.close();
+    }
+}
@@ -0,0 +1,88 @@
+package gui_gui;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+// What one solver run cost: evaluations of f (SolverContext.counted / addEvaluations; 0 for the
+// matrix methods, which have no f), iterations (checkpoint() calls), wall time, and bytes
+// allocated by the thread that ran the solver. Work a solver hands to the fork-join pool
+// (sweeps, parallel Jacobi, the root scan) allocates on the pool's threads and is not in
+// allocatedBytes; allocatedBytes is UNAVAILABLE where the JVM cannot measure it, e.g. on a
+// virtual thread.
+public record SolverStats(long evaluations, long iterations, long wallNanos, long allocatedBytes) {
+
+    public static final long UNAVAILABLE = -1;
+
+    // A solver's result together with its cost
+    public record Run<T>(T result, SolverStats stats) {
+    }
+
+    @FunctionalInterface
+    public interface Call<T> {
+        T call(SolverContext ctx) throws Exception;
+    }
+
+    // Runs call on the calling thread with ctx and measures it
+    public static <T> Run<T> measure(SolverContext ctx, Call<T> call) throws Exception {
+        long bytes = threadAllocatedBytes();
+        long evaluations = ctx.evaluations(), iterations = ctx.iterations();
+        long start = System.nanoTime();
+        T result = call.call(ctx);
+        long wall = System.nanoTime() - start;
+        return new Run<>(result, new SolverStats(ctx.evaluations() - evaluations, ctx.iterations() - iterations,
+                wall, allocatedSince(bytes)));
+    }
+
+    // Everything ctx counted since it was created; bytes is threadAllocatedBytes() taken on this
+    // thread when the run started
+    public static SolverStats since(SolverContext ctx, long bytes) {
+        return new SolverStats(ctx.evaluations(), ctx.iterations(), ctx.elapsedNanos(), allocatedSince(bytes));
+    }
+
+    // Bytes allocated so far by the calling thread, or UNAVAILABLE
+    public static long threadAllocatedBytes() {
+        com.sun.management.ThreadMXBean threads = Threads.BEAN;
+        if (threads == null || Thread.currentThread().isVirtual()) return UNAVAILABLE;
+        long bytes = threads.getCurrentThreadAllocatedBytes();
+        return bytes < 0 ? UNAVAILABLE : bytes;
+    }
+
+    private static long allocatedSince(long bytes) {
+        if (bytes == UNAVAILABLE) return UNAVAILABLE;
+        long now = threadAllocatedBytes();
+        return now == UNAVAILABLE ? UNAVAILABLE : now - bytes;
+    }
+
+    // The HotSpot extension of ThreadMXBean, when this JVM has it and allocation counting is on.
+    // Looked up on first use: starting the management classes costs tens of milliseconds, which
+    // a headless run that never measures allocations (BatchCli) should not pay.
+    private static final class Threads {
+        static final com.sun.management.ThreadMXBean BEAN = lookup();
+
+        private static com.sun.management.ThreadMXBean lookup() {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemorySupported()) {
+                if (!threads.isThreadAllocatedMemoryEnabled()) threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+            return null;
+        }
+    }
+
+    // One line for the stats strip
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        if (evaluations > 0) sb.append("f evaluations: ").append(evaluations).append("   ");
+        sb.append("iterations: ").append(iterations).append("   ");
+        sb.append(String.format("wall time: %.3f ms", wallNanos / 1e6)).append("   ");
+        sb.append("allocated: ").append(allocatedBytes == UNAVAILABLE ? "n/a" : formatBytes(allocatedBytes));
+        return sb.toString();
+    }
+
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024d);
+        if (bytes < 1024L * 1024 * 1024) return String.format("%.1f MB", bytes / (1024d * 1024));
+        return String.format("%.2f GB", bytes / (1024d * 1024 * 1024));
+    }
+}
@@ -0,0 +1,108 @@
+package gui_gui;
+
+// Jacobi and Gauss-Seidel / SOR on CSR matrices. Each sweep touches only the nonzeros, so a
+// sweep costs O(nnz) instead of O(n^2); stopping rules, traces and errors are those of the
+// dense versions in DenseSolvers.
+public final class SparseSolvers {
+
+    private SparseSolvers() {
+    }
+
+    public static double[] jacobi(CsrMatrix A, double[] b, double[] x0, int maxIterations, double epsilon,
+                                  SolverContext ctx) throws Exception {
+        int n = checkSystem(A, b);
+        double[] diag = checkDiagonal(A);
+        double[] x = x0 == null ? new double[n] : x0.clone();
+        double[] next = new double[n];
+
+        for (int iter = 0; iter < maxIterations; iter++) {
+            ctx.checkpoint();
+            double maxDelta = jacobiRows(A, diag, b, x, next, 0, n);
+            double[] t = x; x = next; next = t;
+            DenseSolvers.checkFinite(maxDelta, iter + 1);
+            if (maxDelta < epsilon) break;
+        }
+        return x;
+    }
+
+    // Rows [from, to) of one Jacobi sweep; see DenseSolvers.jacobiRows
+    static double jacobiRows(CsrMatrix A, double[] diag, double[] b, double[] x, double[] next, int from, int to) {
+        int[] ptr = A.rowPtr();
+        int[] idx = A.colIdx();
+        double[] val = A.values();
+        double maxDelta = 0;
+        for (int i = from; i < to; i++) {
+            double sum = 0;
+            for (int k = ptr[i]; k < ptr[i + 1]; k++) {
+                int j = idx[k];
+                if (j != i) sum += val[k] * x[j];
+            }
+            double updated = (b[i] - sum) / diag[i];
+            maxDelta = Math.max(maxDelta, Math.abs(updated - x[i]));
+            next[i] = updated;
+        }
+        return maxDelta;
+    }
+
+    public static double[] gaussSeidel(CsrMatrix A, double[] b, double[] x0, int maxIterations, double epsilon,
+                                       String[] names, SolverContext ctx) throws Exception {
+        return sor(A, b, x0, maxIterations, epsilon, 1.0, names, ctx);
+    }
+
+    // In-place sweeps in natural order, each update scaled by omega (1 = Gauss-Seidel); the
+    // trace names the unknowns by names (null = DenseSolvers.defaultNames)
+    public static double[] sor(CsrMatrix A, double[] b, double[] x0, int maxIterations, double epsilon,
+                               double omega, String[] names, SolverContext ctx) throws Exception {
+        int n = checkSystem(A, b);
+        double[] diag = checkDiagonal(A);
+        DenseSolvers.checkRelaxation(omega);
+        int[] ptr = A.rowPtr();
+        int[] idx = A.colIdx();
+        double[] val = A.values();
+        double[] x = x0 == null ? new double[n] : x0.clone();
+
+        if (names == null) names = DenseSolvers.defaultNames(n);
+        IterationTrace trace = ctx.startTrace("", DenseSolvers.iterationFormat(names),
+                Math.min(n, DenseSolvers.TRACE_COLUMNS));
+        int iteration = 0;
+        double maxDelta;
+        do {
+            iteration++;
+            maxDelta = 0;
+            for (int i = 0; i < n; i++) {
+                double sum = b[i];
+                for (int k = ptr[i]; k < ptr[i + 1]; k++) {
+                    int j = idx[k];
+                    if (j != i) sum -= val[k] * x[j];
+                }
+                double updated = sum / diag[i];
+                if (omega != 1) updated = x[i] + omega * (updated - x[i]);
+                maxDelta = Math.max(maxDelta, Math.abs(updated - x[i]));
+                x[i] = updated;
+            }
+            trace.record(iteration, x);
+            ctx.checkpoint();
+            DenseSolvers.checkFinite(maxDelta, iteration);
+        } while (maxDelta > epsilon && iteration < maxIterations);
+        return x;
+    }
+
+    // Size, sweeps, residual max-norm |Ax - b| and the leading unknowns
+    public static String report(CsrMatrix A, double[] b, double[] x, long iterations) {
+        return DenseSolvers.report(A + "\nSweeps: " + iterations, A.multiply(x), b, x);
+    }
+
+    static int checkSystem(CsrMatrix A, double[] b) throws Exception {
+        if (!A.isSquare()) throw new Exception("Coefficient matrix must be square, got " + A.rows() + "x" + A.cols());
+        if (b.length != A.rows()) throw new Exception("Right-hand side has " + b.length + " entries, expected " + A.rows());
+        return A.rows();
+    }
+
+    static double[] checkDiagonal(CsrMatrix A) throws Exception {
+        double[] diag = A.diagonal();
+        for (int i = 0; i < diag.length; i++) {
+            if (diag[i] == 0) throw new Exception("Zero on the diagonal in row " + (i + 1) + "; reorder the equations.");
+        }
+        return diag;
+    }
+}
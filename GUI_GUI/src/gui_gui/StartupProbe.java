@@ -0,0 +1,30 @@
+package gui_gui;
+
+// Startup timing for benchmarks/StartupBenchmark, on with -Dgui_gui.startup.probe=true. The
+// GUI prints "startup window <ms>" when its window opens, presses the first panel's Run button,
+// prints "startup result <ms>" when that job finishes, and exits. Times are milliseconds since
+// -Dgui_gui.startup.launched (the launcher's System.currentTimeMillis()), or since the JVM
+// process started when that is not given.
+final class StartupProbe {
+
+    static final boolean ENABLED = Boolean.getBoolean("gui_gui.startup.probe");
+
+    private StartupProbe() {
+    }
+
+    static void mark(String event) {
+        long launched = Long.getLong("gui_gui.startup.launched", 0);
+        if (launched == 0) {
+            launched = ProcessHandle.current().info().startInstant().map(i -> i.toEpochMilli())
+                    .orElse(System.currentTimeMillis());
+        }
+        System.out.println("startup " + event + " " + (System.currentTimeMillis() - launched));
+        System.out.flush();
+    }
+
+    // Called by SolverRunner when a job finishes
+    static void finished() {
+        mark("result");
+        System.exit(0);
+    }
+}
@@ -0,0 +1,143 @@
+package gui_gui;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+// The file tier of ResultCache: what a fresh process finds in a file an earlier one wrote. A
+// memory budget of 0 keeps every lookup on the file.
+public class ResultCacheTest {
+
+    private static final int MAGIC_BYTES = 8;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file() {
+        return folder.getRoot().toPath().resolve("results.cache");
+    }
+
+    private static ResultCache open(Path file) {
+        return new ResultCache(0, file, ResultCache.DEFAULT_FILE_LIMIT_BYTES);
+    }
+
+    private static ResultCache.Key key(int i) {
+        return ResultCache.key("test", "x^2 - " + i, 1e-6);
+    }
+
+    @Test
+    public void reopenedFileIndexesEveryRecord() {
+        ResultCache first = open(file());
+        first.put(key(1), new ResultCache.Cached("Root ≈ 1", null));
+        first.put(key(2), new ResultCache.Cached("x = [1, 2]", new double[]{1, 2}));
+
+        ResultCache second = open(file());
+        second.preload();
+        assertEquals(2, second.diskEntries());
+        assertEquals("Root ≈ 1", second.get(key(1)).text());
+        assertNull(second.get(key(1)).x());
+        assertArrayEquals(new double[]{1, 2}, second.get(key(2)).x(), 0);
+        assertNull(second.get(key(3)));
+        assertEquals(3, second.diskHitCount());
+        assertEquals(1, second.missCount());
+    }
+
+    @Test
+    public void keysIgnoreWhitespaceAndNumberSpelling() {
+        assertEquals(ResultCache.key("m", "x^2  -  1", "1e-6"), ResultCache.key("m", "x^2 - 1", "0.000001"));
+        assertEquals(ResultCache.key("m", 1e-6), ResultCache.key("m", "1e-6"));
+    }
+
+    @Test
+    public void tornRecordIsCutOff() throws IOException {
+        ResultCache first = open(file());
+        first.put(key(1), new ResultCache.Cached("one", null));
+        long whole = Files.size(file());
+        first.put(key(2), new ResultCache.Cached("two", new double[]{2}));
+        truncate(file(), Files.size(file()) - 3); // a crash in the middle of the second append
+
+        ResultCache second = open(file());
+        assertEquals("one", second.get(key(1)).text());
+        assertNull(second.get(key(2)));
+        assertEquals(1, second.diskEntries());
+        assertEquals(whole, Files.size(file()));
+
+        // appends continue after the last whole record
+        second.put(key(3), new ResultCache.Cached("three", null));
+        ResultCache third = open(file());
+        assertEquals("one", third.get(key(1)).text());
+        assertEquals("three", third.get(key(3)).text());
+    }
+
+    @Test
+    public void corruptRecordEndsTheIndex() throws IOException {
+        ResultCache first = open(file());
+        first.put(key(1), new ResultCache.Cached("one", null));
+        long whole = Files.size(file());
+        first.put(key(2), new ResultCache.Cached("two", null));
+        first.put(key(3), new ResultCache.Cached("three", null));
+        flipByte(file(), whole + 8 + 64 + 4); // the first text byte of the second record
+
+        ResultCache second = open(file());
+        assertEquals("one", second.get(key(1)).text());
+        assertNull(second.get(key(2)));
+        assertNull(second.get(key(3)));
+        assertEquals(whole, Files.size(file()));
+    }
+
+    @Test
+    public void corruptionAfterIndexingIsAMiss() throws IOException {
+        ResultCache cache = open(file());
+        cache.put(key(1), new ResultCache.Cached("one", null));
+        flipByte(file(), Files.size(file()) - 5); // the last text byte; x is absent (-1)
+        assertNull(cache.get(key(1)));
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void foreignFileIsLeftAlone() throws IOException {
+        byte[] contents = "not a result cache".getBytes(StandardCharsets.US_ASCII);
+        Files.write(file(), contents);
+        ResultCache cache = new ResultCache(ResultCache.DEFAULT_MEMORY_BYTES, file(), ResultCache.DEFAULT_FILE_LIMIT_BYTES);
+        cache.put(key(1), new ResultCache.Cached("one", null));
+        assertNotNull(cache.get(key(1)));  // still cached in memory
+        assertEquals(0, cache.diskEntries());
+        assertArrayEquals(contents, Files.readAllBytes(file()));
+    }
+
+    @Test
+    public void fullFileTakesNoMoreEntries() throws IOException {
+        ResultCache first = new ResultCache(0, file(), MAGIC_BYTES + 100);
+        first.put(key(1), new ResultCache.Cached("one", null));
+        first.put(key(2), new ResultCache.Cached("two", null));
+        assertEquals(1, first.diskEntries());
+        ResultCache second = open(file());
+        second.preload();
+        assertEquals(1, second.diskEntries());
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (RandomAccessFile f = new RandomAccessFile(file.toFile(), "rw")) {
+            f.setLength(size);
+        }
+    }
+
+    private static void flipByte(Path file, long at) throws IOException {
+        try (RandomAccessFile f = new RandomAccessFile(file.toFile(), "rw")) {
+            f.seek(at);
+            int b = f.read();
+            f.seek(at);
+            f.write(b ^ 0xff);
+        }
+    }
+}
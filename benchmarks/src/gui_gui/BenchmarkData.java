@@ -0,0 +1,101 @@
+package gui_gui;
+
+import java.util.Random;
+
+// Deterministic inputs shared by the benchmark suites
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    // Fixed-point forms g(x) of increasing cost; the root-finding benchmarks solve f(x) = x - g(x) = 0.
+    // Every f changes sign on [0, 1.5] and every g is a contraction near its root.
+    static String fixedPointForm(String complexity) {
+        return switch (complexity) {
+            case "LOW" -> "cos(x)";
+            case "MEDIUM" -> "exp(-x) + 0.1*x^2";
+            case "HIGH" -> "cos(x) - 0.1*sin(3x)^2 + 0.05*log(1 + x^2) - 0.02*exp(-x)*sqrt(abs(x) + 1)";
+            default -> throw new IllegalArgumentException("Unknown complexity " + complexity);
+        };
+    }
+
+    static String rootForm(String complexity) {
+        return "x - (" + fixedPointForm(complexity) + ")";
+    }
+
+    // Strictly diagonally dominant n x n system, so every iterative method converges
+    static double[][] diagonallyDominantMatrix(int n, long seed) {
+        Random random = new Random(seed);
+        double[][] A = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            double rowSum = 0;
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    A[i][j] = random.nextDouble() * 2 - 1;
+                    rowSum += Math.abs(A[i][j]);
+                }
+            }
+            A[i][i] = rowSum + 1 + random.nextDouble();
+        }
+        return A;
+    }
+
+    // 5-point Laplacian on an m x m grid (n = m^2 unknowns, at most 5 nonzeros per row):
+    // the classic red-black system, weakly diagonally dominant so Gauss-Seidel converges slowly
+    static DenseMatrix poisson2d(int m) {
+        int n = m * m;
+        DenseMatrix A = new DenseMatrix(n, n);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < m; j++) {
+                int r = i * m + j;
+                A.set(r, r, 4);
+                if (i > 0) A.set(r, r - m, -1);
+                if (i < m - 1) A.set(r, r + m, -1);
+                if (j > 0) A.set(r, r - 1, -1);
+                if (j < m - 1) A.set(r, r + 1, -1);
+            }
+        }
+        return A;
+    }
+
+    // The same 5-point operator built directly in CSR form, for grids too large to hold densely
+    static CsrMatrix poisson2dSparse(int m) {
+        int n = m * m;
+        CsrMatrix.Builder A = new CsrMatrix.Builder(n, n, 5 * n);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < m; j++) {
+                int r = i * m + j;
+                A.add(r, r, 4);
+                if (i > 0) A.add(r, r - m, -1);
+                if (i < m - 1) A.add(r, r + m, -1);
+                if (j > 0) A.add(r, r - 1, -1);
+                if (j < m - 1) A.add(r, r + 1, -1);
+            }
+        }
+        return A.build();
+    }
+
+    static double[][] randomMatrix(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        double[][] M = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                M[i][j] = random.nextDouble() * 2 - 1;
+            }
+        }
+        return M;
+    }
+
+    static double[] randomVector(int n, long seed) {
+        Random random = new Random(seed);
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = random.nextDouble() * 20 - 10;
+        return v;
+    }
+
+    static double[][] copy(double[][] M) {
+        double[][] c = new double[M.length][];
+        for (int i = 0; i < M.length; i++) c[i] = M[i].clone();
+        return c;
+    }
+}
@@ -0,0 +1,96 @@
+package gui_gui;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+import net.objecthunter.exp4j.Expression;
+import net.objecthunter.exp4j.ExpressionBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// ns per f(x) evaluation: exp4j's interpreter vs the bytecode engine point by point, and the
+// batch evaluator over the whole array with and without the Vector API, over the default
+// expressions shipped in the root-finding panels (as they look after cleanExpression).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class ExpressionEngineBenchmark {
+
+    private static final int POINTS = 1024;
+
+    @Param({"e^-x", "2^x - 5*x + 2", "x^3 - x - 1", "x^3 + 4x^2 - 10", "x^3 - 4cos(x)"})
+    public String expression;
+
+    private double[] xs;
+    private Expression exp4j;
+    private DoubleUnaryOperator bytecode;
+    private BatchExpression batchVector;
+    private BatchExpression batchScalar;
+    private double[] out;
+
+    @Setup
+    public void setup() {
+        xs = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            xs[i] = -2.0 + 4.0 * i / POINTS;
+        }
+        exp4j = new ExpressionBuilder(expression).variable("x").build();
+        bytecode = ExpressionCompiler.compile(expression);
+        batchVector = BatchExpression.compile(expression, true);
+        batchScalar = BatchExpression.compile(expression, false);
+        out = new double[POINTS];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double exp4jInterpreted() {
+        double sum = 0;
+        for (double x : xs) {
+            sum += exp4j.setVariable("x", x).evaluate();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double bytecodeCompiled() {
+        double sum = 0;
+        for (double x : xs) {
+            sum += bytecode.applyAsDouble(x);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double[] batchVector() {
+        batchVector.evaluate(xs, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double[] batchScalar() {
+        batchScalar.evaluate(xs, out);
+        return out;
+    }
+
+    // What MathParser.evaluate used to cost per call: tokenize, parse and evaluate
+    @Benchmark
+    public double exp4jParsePerCall() {
+        return new ExpressionBuilder(expression).variable("x").build().setVariable("x", 1.5).evaluate();
+    }
+}
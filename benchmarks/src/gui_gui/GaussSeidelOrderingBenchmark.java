@@ -0,0 +1,70 @@
+package gui_gui;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Time to converge (1e-6) on a 2-D Poisson grid: the natural-order dense sweep against the
+// red-black multicolor sweep, plain Gauss-Seidel and over-relaxed. The multicolor solver also
+// skips the zero entries, so part of its lead is sparsity rather than parallelism; the sweep
+// counts are printed by the GUI's comparison mode.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class GaussSeidelOrderingBenchmark {
+
+    @Param({"20", "40"})
+    public int grid;
+
+    @Param({"1.0", "1.8"})
+    public double omega;
+
+    private DenseMatrix A;
+    private double[] B;
+    private MulticolorGaussSeidel multicolor;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() throws Exception {
+        A = BenchmarkData.poisson2d(grid);
+        B = new double[A.rows()];
+        Arrays.fill(B, 1);
+        multicolor = new MulticolorGaussSeidel(A);
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private static SolverContext quiet() {
+        return new SolverContext(SolverContext.DEFAULT_MAX_ITERATIONS, 0, IterationTrace.Level.NONE, null);
+    }
+
+    @Benchmark
+    public double[] sequentialSweep() throws Exception {
+        return DenseSolvers.sor(A, B, null, Integer.MAX_VALUE, 1e-6, omega, null, quiet());
+    }
+
+    @Benchmark
+    public double[] multicolorSweep() throws Exception {
+        return multicolor.solve(B, null, Integer.MAX_VALUE, 1e-6, omega, null, pool, quiet()).x();
+    }
+}
@@ -0,0 +1,64 @@
+package gui_gui;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// A fixed number of Jacobi sweeps (epsilon 0 never converges early) on a large diagonally
+// dominant system: sequential against the row-partitioned fork-join solver. The pool has one
+// worker per available processor, so the ratio is the scaling on the machine at hand.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class JacobiBenchmark {
+
+    static final int SWEEPS = 20;
+
+    @Param({"500", "2000"})
+    public int n;
+
+    private DenseMatrix A;
+    private double[] B;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        A = DenseMatrix.of(BenchmarkData.diagonallyDominantMatrix(n, 42));
+        B = BenchmarkData.randomVector(n, 43);
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private static SolverContext quiet() {
+        return new SolverContext(SolverContext.DEFAULT_MAX_ITERATIONS, 0, IterationTrace.Level.NONE, null);
+    }
+
+    @Benchmark
+    public double[] sequential() throws Exception {
+        return DenseSolvers.jacobi(A, B, null, SWEEPS, 0, quiet());
+    }
+
+    @Benchmark
+    public double[] parallel() throws Exception {
+        return ParallelJacobi.solve(A, B, null, SWEEPS, 0, pool, quiet());
+    }
+}
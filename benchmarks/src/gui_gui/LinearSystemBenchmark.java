@@ -0,0 +1,130 @@
+package gui_gui;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Dense n x n solvers on a diagonally dominant system: the DenseSolvers engine next to the
+// double[][] versions it replaced in the panels (gaussianElimination is the recursive teaching
+// version) and the public NumericalMethods entry points solveCramer, solveJacobi and
+// solveGaussSeidel, which wrap A in a DenseMatrix on every call. The jagged eliminations
+// overwrite A and B, so they start from a fresh copy (O(n^2), small next to the O(n^3) work);
+// DenseSolvers copies internally. offHeapGaussianElimination runs the same elimination on a
+// SegmentMatrix (native memory, as for a mapped .gmat file).
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class LinearSystemBenchmark {
+
+    @Param({"3", "50", "200"})
+    public int n;
+
+    private double[][] A;
+    private double[] B;
+    private DenseMatrix dense;
+    private SegmentMatrix offHeap;
+
+    @Setup
+    public void setup() {
+        A = BenchmarkData.diagonallyDominantMatrix(n, 42);
+        B = BenchmarkData.randomVector(n, 43);
+        dense = DenseMatrix.of(A);
+        offHeap = SegmentMatrix.copyOf(dense);
+    }
+
+    @TearDown
+    public void tearDown() {
+        offHeap.close();
+    }
+
+    private static SolverContext quiet() {
+        return new SolverContext(SolverContext.DEFAULT_MAX_ITERATIONS, 0, IterationTrace.Level.NONE, null);
+    }
+
+    @Benchmark
+    public double[] denseGaussianElimination() throws Exception {
+        return DenseSolvers.gaussianElimination(dense, B, quiet());
+    }
+
+    @Benchmark
+    public double[] offHeapGaussianElimination() throws Exception {
+        return DenseSolvers.gaussianElimination(offHeap, B, quiet());
+    }
+
+    @Benchmark
+    public double[] gaussianElimination() throws Exception {
+        return NumericalMethods.gaussianElimination(BenchmarkData.copy(A), B.clone(), quiet());
+    }
+
+    @Benchmark
+    public double[] runGaussianElimination() {
+        return NumericalMethods.runGaussianElimination(BenchmarkData.copy(A), B.clone());
+    }
+
+    @Benchmark
+    public double[] denseGaussSeidel() throws Exception {
+        return DenseSolvers.gaussSeidel(dense, B, null, Integer.MAX_VALUE, 1e-8, null, quiet());
+    }
+
+    @Benchmark
+    public String gaussSeidelWithConvergence() throws Exception {
+        return NumericalMethods.solveGaussSeidelWithConvergence(A, B, 1e-8, new double[n], quiet());
+    }
+
+    @Benchmark
+    public double[] solveGaussSeidel() throws Exception {
+        return NumericalMethods.solveGaussSeidel(A, B, 50, quiet());
+    }
+
+    @Benchmark
+    public double[] denseJacobi() throws Exception {
+        return DenseSolvers.jacobi(dense, B, null, 50, 0, quiet());
+    }
+
+    @Benchmark
+    public double[] solveJacobi() throws Exception {
+        return NumericalMethods.solveJacobi(A, B, 50, quiet());
+    }
+
+    @Benchmark
+    public double[] denseCramer() throws Exception {
+        return DenseSolvers.cramer(dense, B);
+    }
+
+    @Benchmark
+    public double[] solveCramer() throws Exception {
+        return NumericalMethods.solveCramer(A, B);
+    }
+
+    // The textbook route: n + 1 independent determinants, O(n^4)
+    @Benchmark
+    public double[] cramerByDeterminants() {
+        double detA = DenseSolvers.determinant(dense);
+        double[] x = new double[n];
+        for (int col = 0; col < n; col++) {
+            DenseMatrix Ai = dense.copy();
+            for (int r = 0; r < n; r++) Ai.set(r, col, B[r]);
+            x[col] = DenseSolvers.determinant(Ai) / detA;
+        }
+        return x;
+    }
+
+    @Benchmark
+    public double denseDeterminant() {
+        return DenseSolvers.determinant(dense);
+    }
+}
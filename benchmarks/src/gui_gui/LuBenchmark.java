@@ -0,0 +1,83 @@
+package gui_gui;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One n x n matrix against rhs right-hand sides: a full elimination per right-hand side (what
+// the Gaussian panel did per press), factor + batched solve, and with the factorisation
+// already made, the batched solve against one solve(double[]) call per right-hand side.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class LuBenchmark {
+
+    @Param({"200"})
+    public int n;
+
+    @Param({"16", "256"})
+    public int rhs;
+
+    private DenseMatrix A;
+    private DenseMatrix B;
+    private double[][] columns;
+    private LuDecomposition lu;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() throws Exception {
+        A = DenseMatrix.of(BenchmarkData.diagonallyDominantMatrix(n, 42));
+        B = DenseMatrix.of(BenchmarkData.randomMatrix(n, rhs, 43));
+        columns = MatrixMultiply.transpose(B).toArray();
+        lu = LuDecomposition.factor(A);
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private static SolverContext quiet() {
+        return new SolverContext(SolverContext.DEFAULT_MAX_ITERATIONS, 0, IterationTrace.Level.NONE, null);
+    }
+
+    @Benchmark
+    public double eliminationPerRhs() throws Exception {
+        double sum = 0;
+        for (double[] b : columns) sum += DenseSolvers.gaussianElimination(A, b, quiet())[0];
+        return sum;
+    }
+
+    @Benchmark
+    public DenseMatrix factorAndSolveBatch() throws Exception {
+        return LuDecomposition.factor(A, quiet()).solve(B, pool, quiet());
+    }
+
+    @Benchmark
+    public DenseMatrix solveBatch() throws Exception {
+        return lu.solve(B, pool, quiet());
+    }
+
+    @Benchmark
+    public double solveEach() throws Exception {
+        double sum = 0;
+        for (double[] b : columns) sum += lu.solve(b)[0];
+        return sum;
+    }
+}
@@ -0,0 +1,80 @@
+package gui_gui;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Getting an n x n matrix into the application: mapping a .gmat file (one page touched),
+// mapping it and copying it to the heap, and parsing the same matrix from a text file.
+// The files are written once per trial into a temporary directory and sit in the page cache.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class MatrixFileBenchmark {
+
+    @Param({"500", "2000"})
+    public int n;
+
+    private Path dir;
+    private Path binary;
+    private Path text;
+
+    @Setup
+    public void setup() throws Exception {
+        DenseMatrix M = DenseMatrix.of(BenchmarkData.randomMatrix(n, n, 11));
+        dir = Files.createTempDirectory("matrix-file-bench");
+        binary = dir.resolve("m" + MatrixFile.EXTENSION);
+        text = dir.resolve("m.txt");
+        MatrixFile.write(binary, M);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(text))) {
+            StringBuilder row = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                row.setLength(0);
+                for (int j = 0; j < n; j++) row.append(j == 0 ? "" : " ").append(M.get(i, j));
+                out.println(row);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binary);
+        Files.deleteIfExists(text);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public double openMapped() throws Exception {
+        try (SegmentMatrix M = MatrixFile.open(binary)) {
+            return M.get(n - 1, n - 1);
+        }
+    }
+
+    @Benchmark
+    public DenseMatrix mappedToHeap() throws Exception {
+        return MatrixIO.read(binary);
+    }
+
+    @Benchmark
+    public DenseMatrix parseText() throws Exception {
+        return MatrixIO.read(text);
+    }
+}
@@ -0,0 +1,84 @@
+package gui_gui;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The blocked kernel on flat storage, the same kernel fed tile by tile from off-heap
+// SegmentMatrix operands, the double[][] entry point (which adds the conversions) and the
+// i-j-k triple loop the panel used to run, as a baseline
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class MatrixMultiplyBenchmark {
+
+    @Param({"16", "128", "512"})
+    public int n;
+
+    private double[][] A;
+    private double[][] B;
+    private DenseMatrix denseA;
+    private DenseMatrix denseB;
+    private SegmentMatrix offHeapA;
+    private SegmentMatrix offHeapB;
+
+    @Setup
+    public void setup() {
+        A = BenchmarkData.randomMatrix(n, n, 7);
+        B = BenchmarkData.randomMatrix(n, n, 8);
+        denseA = DenseMatrix.of(A);
+        denseB = DenseMatrix.of(B);
+        offHeapA = SegmentMatrix.copyOf(denseA);
+        offHeapB = SegmentMatrix.copyOf(denseB);
+    }
+
+    @TearDown
+    public void tearDown() {
+        offHeapA.close();
+        offHeapB.close();
+    }
+
+    @Benchmark
+    public DenseMatrix blocked() throws Exception {
+        return MatrixMultiply.multiply(denseA, denseB);
+    }
+
+    @Benchmark
+    public double blockedOffHeap() throws Exception {
+        try (SegmentMatrix C = MatrixMultiply.multiply(offHeapA, offHeapB)) {
+            return C.get(n - 1, n - 1);
+        }
+    }
+
+    @Benchmark
+    public double[][] multiplyMatrices() throws Exception {
+        return NumericalMethods.multiplyMatrices(A, B);
+    }
+
+    @Benchmark
+    public double[][] naiveTripleLoop() {
+        double[][] C = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                for (int k = 0; k < n; k++) {
+                    C[i][j] += A[i][k] * B[k][j];
+                }
+            }
+        }
+        return C;
+    }
+}
@@ -0,0 +1,64 @@
+package gui_gui;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One sweep of x^3 - 2x - p = 0 over `values` parameter values, on the common pool and on a
+// single worker (chunks of warm-started solves in both cases)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ParameterSweepBenchmark {
+
+    @Param({"NEWTON_RAPHSON", "SECANT", "BISECTION"})
+    public String method;
+
+    @Param({"10000"})
+    public int values;
+
+    private ParameterSweep.Method m;
+    private double[] p;
+    private ForkJoinPool single;
+
+    @Setup
+    public void setup() throws Exception {
+        m = ParameterSweep.Method.valueOf(method);
+        p = ParameterSweep.parseValues("-10:10:" + values);
+        single = new ForkJoinPool(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        single.shutdown();
+    }
+
+    private static SolverContext quiet() {
+        return new SolverContext(SolverContext.DEFAULT_MAX_ITERATIONS, 0, IterationTrace.Level.NONE, null);
+    }
+
+    @Benchmark
+    public ParameterSweep.Result commonPool() throws Exception {
+        return ParameterSweep.sweep(m, "x^3 - 2x - p", "p", p, -5, 5, 1e-10, ForkJoinPool.commonPool(), quiet());
+    }
+
+    @Benchmark
+    public ParameterSweep.Result singleThread() throws Exception {
+        return ParameterSweep.sweep(m, "x^3 - 2x - p", "p", p, -5, 5, 1e-10, single, quiet());
+    }
+}
@@ -0,0 +1,93 @@
+package gui_gui;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One full solve per operation for each root finder, over expressions of increasing cost.
+// Includes the trace rendering the panels do, so trace=FULL vs NONE shows the formatting share.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RootFindingBenchmark {
+
+    private static final double TOL = 1e-10;
+
+    @Param({"LOW", "MEDIUM", "HIGH"})
+    public String complexity;
+
+    @Param({"EXP4J", "BYTECODE"})
+    public String engine;
+
+    @Param({"NONE", "FULL"})
+    public String trace;
+
+    private String f;
+    private String g;
+    private DoubleUnaryOperator fFunction;
+    private IterationTrace.Level level;
+
+    @Setup
+    public void setup() throws Exception {
+        MathParser.setEngine(MathParser.Engine.valueOf(engine));
+        f = BenchmarkData.rootForm(complexity);
+        g = BenchmarkData.fixedPointForm(complexity);
+        fFunction = MathParser.function(f);
+        level = IterationTrace.Level.valueOf(trace);
+    }
+
+    private SolverContext ctx() {
+        return new SolverContext(SolverContext.DEFAULT_MAX_ITERATIONS, 0, level, null);
+    }
+
+    @Benchmark
+    public String bisection() throws Exception {
+        return NumericalMethods.runBisectionMethod(f, 0, 1.5, TOL, ctx());
+    }
+
+    @Benchmark
+    public String secant() throws Exception {
+        return NumericalMethods.runSecantMethod(f, 0.5, 1.0, TOL, ctx());
+    }
+
+    // f and f' in one dual-number pass, as the panel runs it
+    @Benchmark
+    public String newtonRaphson() throws Exception {
+        return NumericalMethods.runNewtonRaphsonAuto(f, 1.0, TOL, ctx());
+    }
+
+    // f' by central difference through the selected engine: three evaluations per iteration
+    @Benchmark
+    public String newtonRaphsonCentralDifference() {
+        return NumericalMethods.runNewtonRaphsonAuto(fFunction, 1.0, TOL, ctx());
+    }
+
+    @Benchmark
+    public String falsePosition() throws Exception {
+        return NumericalMethods.runFalsePositionMethod(f, 0, 1.5, TOL, ctx());
+    }
+
+    @Benchmark
+    public String brent() throws Exception {
+        return NumericalMethods.runBrentMethod(f, 0, 1.5, TOL, 100, ctx());
+    }
+
+    @Benchmark
+    public String fixedPoint() throws Exception {
+        return NumericalMethods.runFixedPointIteration(g, 1.0, TOL, 100, ctx());
+    }
+}
@@ -0,0 +1,62 @@
+package gui_gui;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Every root of x cos(x) on [-1000, 1000] (637 of them) from `samples` samples, on the common pool
+// and on a single worker (which samples and refines sequentially)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class RootScanBenchmark {
+
+    @Param({"BISECTION", "FALSE_POSITION", "BRENT"})
+    public String refinement;
+
+    @Param({"100000"})
+    public int samples;
+
+    private RootScan.Refinement r;
+    private ForkJoinPool single;
+
+    @Setup
+    public void setup() {
+        r = RootScan.Refinement.valueOf(refinement);
+        single = new ForkJoinPool(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        single.shutdown();
+    }
+
+    private static SolverContext quiet() {
+        return new SolverContext(SolverContext.DEFAULT_MAX_ITERATIONS, 0, IterationTrace.Level.NONE, null);
+    }
+
+    @Benchmark
+    public RootScan.Result commonPool() throws Exception {
+        return RootScan.findAll("x*cos(x)", -1000, 1000, samples, 1e-10, r, ForkJoinPool.commonPool(), quiet());
+    }
+
+    @Benchmark
+    public RootScan.Result singleThread() throws Exception {
+        return RootScan.findAll("x*cos(x)", -1000, 1000, samples, 1e-10, r, single, quiet());
+    }
+}
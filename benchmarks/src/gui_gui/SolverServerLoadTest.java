@@ -0,0 +1,150 @@
+package gui_gui;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+// Closed-loop load test for SolverServer (not a JMH benchmark; run it with `ant loadtest`):
+// --clients virtual threads each send a request, wait for the answer and send the next, for
+// --warmup then --duration seconds, cycling through a mix of root-finding and linear-system jobs.
+// Reports requests/second and p50/p90/p99/max latency of the 200 answers, and how many were
+// turned away with 429.
+//
+//   ant loadtest -Dloadtest.args="--clients 256 --duration 20"
+//   ant loadtest -Dloadtest.args="--url http://build-box:8080"    (a server started elsewhere)
+//
+// Without --url it starts a server in this JVM on a free port with --concurrency and --queue.
+public final class SolverServerLoadTest {
+
+    // method, body
+    static final List<String[]> MIX = List.of(
+            new String[] {"brent", "{\"f\": \"x^3 - 4cos(x)\", \"a\": 1, \"b\": 2, \"tol\": 1e-12}"},
+            new String[] {"bisection", "{\"f\": \"e^x - 10\", \"a\": 0, \"b\": 5, \"tol\": 1e-10}"},
+            new String[] {"newton", "{\"f\": \"x^2 - 2\", \"x0\": 1, \"tol\": 1e-12}"},
+            new String[] {"secant", "{\"f\": \"x*sin(x) - 1\", \"x0\": 1, \"x1\": 2}"},
+            new String[] {"gauss", "{\"equations\": [\"2x - y + z = 3\", \"x + 3y - 2z = 1\", \"x - y + 4z = 7\"]}"},
+            new String[] {"all-roots", "{\"f\": \"sin(x)\", \"a\": 0, \"b\": 50, \"samples\": 2000}"});
+
+    private SolverServerLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        int clients = 64;
+        int concurrency = Runtime.getRuntime().availableProcessors();
+        int queue = -1;
+        double warmup = 3, duration = 10;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--url" -> url = args[i + 1];
+                case "--clients" -> clients = Integer.parseInt(args[i + 1]);
+                case "--concurrency" -> concurrency = Integer.parseInt(args[i + 1]);
+                case "--queue" -> queue = Integer.parseInt(args[i + 1]);
+                case "--warmup" -> warmup = Double.parseDouble(args[i + 1]);
+                case "--duration" -> duration = Double.parseDouble(args[i + 1]);
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+
+        SolverServer server = null;
+        if (url == null) {
+            if (queue < 0) queue = SolverServer.QUEUE_PER_SOLVER * concurrency;
+            server = new SolverServer(new InetSocketAddress("127.0.0.1", 0), concurrency, queue,
+                    SolverServer.DEFAULT_TIME_LIMIT_SECONDS, SolverContext.DEFAULT_MAX_ITERATIONS);
+            server.start();
+            url = "http://127.0.0.1:" + server.port();
+            System.out.printf("In-process server: %d at a time, %d queued%n", concurrency, queue);
+        }
+        String base = url;
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder().executor(threads).connectTimeout(Duration.ofSeconds(5)).build();
+            List<HttpRequest> requests = MIX.stream()
+                    .map(job -> HttpRequest.newBuilder(URI.create(base + "/solve/" + job[0]))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(job[1])).build())
+                    .toList();
+
+            System.out.printf("%d clients against %s: %.0f s warm-up, %.0f s measured%n", clients, url, warmup, duration);
+            run(client, requests, clients, warmup, threads);
+            Report report = run(client, requests, clients, duration, threads);
+            report.print(duration);
+        } finally {
+            if (server != null) server.stop(0);
+        }
+    }
+
+    private static Report run(HttpClient client, List<HttpRequest> requests, int clients, double seconds,
+                              ExecutorService threads) throws Exception {
+        long end = System.nanoTime() + (long) (seconds * 1e9);
+        LongAdder rejected = new LongAdder(), failed = new LongAdder();
+        Future<?>[] workers = new Future<?>[clients];
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        for (int c = 0; c < clients; c++) {
+            int id = c;
+            workers[c] = threads.submit(() -> {
+                long[] mine = new long[1024];
+                int n = 0;
+                for (int k = id; System.nanoTime() < end; k++) {
+                    HttpRequest request = requests.get(k % requests.size());
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception ex) {
+                        failed.increment();
+                        continue;
+                    }
+                    long took = System.nanoTime() - start;
+                    if (status == 429) {
+                        rejected.increment();
+                        // what a well-behaved client does with Retry-After, scaled down
+                        Thread.sleep(10);
+                    } else if (status != 200) {
+                        failed.increment();
+                    } else {
+                        if (n == mine.length) mine = Arrays.copyOf(mine, n * 2);
+                        mine[n++] = took;
+                    }
+                }
+                latencies[id] = mine;
+                counts[id] = n;
+                return null;
+            });
+        }
+        for (Future<?> w : workers) w.get();
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        for (int c = 0, at = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, at, counts[c]);
+            at += counts[c];
+        }
+        Arrays.sort(all);
+        return new Report(all, rejected.sum(), failed.sum());
+    }
+
+    private record Report(long[] sorted, long rejected, long failed) {
+
+        void print(double seconds) {
+            System.out.printf("ok: %d (%.0f req/s)   429: %d   failed: %d%n",
+                    sorted.length, sorted.length / seconds, rejected, failed);
+            if (sorted.length == 0) return;
+            System.out.printf("latency ms   p50 %.3f   p90 %.3f   p99 %.3f   max %.3f%n",
+                    percentile(0.50), percentile(0.90), percentile(0.99), sorted[sorted.length - 1] / 1e6);
+        }
+
+        private double percentile(double p) {
+            int i = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, i)] / 1e6;
+        }
+    }
+}
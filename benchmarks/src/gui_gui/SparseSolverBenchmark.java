@@ -0,0 +1,69 @@
+package gui_gui;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost of a fixed number of sweeps on a 2-D Poisson grid (n = grid^2 unknowns, 5 nonzeros per
+// row): dense storage does n^2 multiply-adds per sweep, CSR about 5n. epsilon = 0 so every run
+// does exactly SWEEPS sweeps and the scores are per-sweep cost times SWEEPS.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SparseSolverBenchmark {
+
+    static final int SWEEPS = 20;
+
+    @Param({"30", "60"})
+    public int grid;
+
+    private DenseMatrix dense;
+    private CsrMatrix sparse;
+    private double[] B;
+
+    @Setup
+    public void setup() {
+        dense = BenchmarkData.poisson2d(grid);
+        sparse = BenchmarkData.poisson2dSparse(grid);
+        B = new double[sparse.rows()];
+        Arrays.fill(B, 1);
+    }
+
+    private static SolverContext quiet() {
+        return new SolverContext(SolverContext.DEFAULT_MAX_ITERATIONS, 0, IterationTrace.Level.NONE, null);
+    }
+
+    @Benchmark
+    public double[] denseJacobi() throws Exception {
+        return DenseSolvers.jacobi(dense, B, null, SWEEPS, 0, quiet());
+    }
+
+    @Benchmark
+    public double[] sparseJacobi() throws Exception {
+        return SparseSolvers.jacobi(sparse, B, null, SWEEPS, 0, quiet());
+    }
+
+    @Benchmark
+    public double[] denseGaussSeidel() throws Exception {
+        return DenseSolvers.gaussSeidel(dense, B, null, SWEEPS, 0, null, quiet());
+    }
+
+    @Benchmark
+    public double[] sparseGaussSeidel() throws Exception {
+        return SparseSolvers.gaussSeidel(sparse, B, null, SWEEPS, 0, null, quiet());
+    }
+}
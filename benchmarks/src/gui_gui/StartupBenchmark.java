@@ -0,0 +1,163 @@
+package gui_gui;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Cold-start times (not a JMH benchmark; run it with `ant startup` after `ant jar` in GUI_GUI):
+// launches a fresh JVM --runs times per configuration and reports the median and best of
+//   gui    time to first window and time to first result: StartupProbe opens the window, presses
+//          the first panel's Run button and exits when the job is done (needs a display)
+//   batch  time to first result of BatchCli solving one job from stdin (runs anywhere)
+// each with and without the AppCDS archive the GUI_GUI build makes (dist/GUI_GUI.jsa). An
+// archive trained headless holds no window classes; the report says which kind it is, since a
+// headless one does little for the gui times. The result cache is off, so every run solves.
+// --jvmargs must match the options the archive was made with (run.jvmargs in GUI_GUI); a JVM
+// started with other options ignores the archive.
+//
+//   ant startup -Dstartup.args="--runs 20 --modes batch"
+//   ant startup -Dstartup.args="--jvmargs '--enable-preview --add-modules=jdk.incubator.vector'"
+public final class StartupBenchmark {
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String app = "../GUI_GUI/dist";
+        String classpath = null;
+        String jvmArgs = "--add-modules=jdk.incubator.vector";
+        int runs = 10;
+        List<String> modes = new ArrayList<>(List.of("gui", "batch"));
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--dist" -> app = args[i + 1];
+                case "--classpath" -> classpath = args[i + 1];
+                case "--jvmargs" -> jvmArgs = args[i + 1];
+                case "--runs" -> runs = Integer.parseInt(args[i + 1]);
+                case "--modes" -> modes = Arrays.asList(args[i + 1].split(","));
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+        Path dist = Path.of(app);
+        if (classpath == null) {
+            // the same class path the archive was made with, or the JVM refuses it
+            classpath = dist.resolve("GUI_GUI.jar") + java.io.File.pathSeparator + Path.of("../libs/exp4j-0.4.8.jar");
+        }
+        Path archive = dist.resolve("GUI_GUI.jsa");
+        List<String> archives = new ArrayList<>();
+        archives.add(null);
+        String kind = "";
+        if (Files.exists(archive)) {
+            archives.add(archive.toString());
+            if (coversWindow(archive, classpath, jvmArgs)) {
+                System.out.println(archive + " was trained with the window: it covers the AWT peers and panels");
+            } else {
+                kind = " (headless archive)";
+                System.out.println(archive + " was trained headless: it holds no window classes, so it does little"
+                        + " for time to first window; rebuild it with a display for the gui mode");
+            }
+        } else {
+            System.out.println("No " + archive + " (ant jar in GUI_GUI makes it); measuring without AppCDS only");
+        }
+
+        for (String mode : modes) {
+            if (mode.equals("gui") && java.awt.GraphicsEnvironment.isHeadless()) {
+                System.out.println("gui: skipped, no display");
+                continue;
+            }
+            for (String jsa : archives) {
+                Map<String, List<Long>> times = new LinkedHashMap<>();
+                for (int r = 0; r < runs; r++) {
+                    launch(mode, classpath, jvmArgs, jsa).forEach((event, ms) ->
+                            times.computeIfAbsent(event, k -> new ArrayList<>()).add(ms));
+                }
+                String label = mode + (jsa == null ? "" : " + AppCDS" + (mode.equals("gui") ? kind : ""));
+                times.forEach((event, t) -> {
+                    t.sort(null);
+                    System.out.printf("%-36s time to first %-7s median %5d ms   best %5d ms   (%d runs)%n",
+                            label, event, t.get(t.size() / 2), t.get(0), t.size());
+                });
+            }
+        }
+    }
+
+    // Whether the archive's own (dynamic) layer holds a frame peer, which only a training run
+    // that made the real window loads
+    private static boolean coversWindow(Path archive, String classpath, String jvmArgs) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-XX:SharedArchiveFile=" + archive);
+        command.add("-XX:+PrintSharedArchiveAndExit");
+        for (String arg : jvmArgs.trim().split("\\s+")) {
+            if (!arg.isEmpty()) command.add(arg);
+        }
+        command.add("-cp");
+        command.add(classpath);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        boolean dynamic = false, window = false;
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (line.startsWith("Dynamic archive name")) dynamic = true;
+                else if (dynamic && line.contains(" java.awt.peer.FramePeer ")) window = true;
+            }
+        }
+        process.waitFor(60, TimeUnit.SECONDS);
+        return window;
+    }
+
+    // One cold start; event -> milliseconds since the launch
+    private static Map<String, Long> launch(String mode, String classpath, String jvmArgs, String jsa)
+            throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (jsa != null) command.add("-XX:SharedArchiveFile=" + jsa);
+        for (String arg : jvmArgs.trim().split("\\s+")) {
+            if (!arg.isEmpty()) command.add(arg);
+        }
+        command.add("-Dgui_gui.cache=off");
+        long launched = System.currentTimeMillis();
+        command.add("-Dgui_gui.startup.launched=" + launched);
+        command.add("-cp");
+        command.add(classpath);
+        if (mode.equals("gui")) {
+            command.add("-Dgui_gui.startup.probe=true");
+            command.add("gui_gui.GUI_GUI");
+        } else {
+            command.add("gui_gui.BatchCli");
+            command.add("-");
+        }
+
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+        Map<String, Long> times = new LinkedHashMap<>();
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            if (mode.equals("batch")) {
+                try (OutputStream in = process.getOutputStream()) {
+                    in.write("brent f=\"x^3 - 4cos(x)\" a=1 b=2 tol=1e-10\n".getBytes(StandardCharsets.UTF_8));
+                }
+                if (out.readLine() != null) times.put("result", System.currentTimeMillis() - launched);
+            } else {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    String[] parts = line.split(" ");
+                    if (parts.length == 3 && parts[0].equals("startup")) times.put(parts[1], Long.parseLong(parts[2]));
+                }
+            }
+        }
+        if (!process.waitFor(60, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException(mode + " did not exit within 60 s");
+        }
+        if (times.isEmpty()) throw new IllegalStateException(mode + " reported nothing (exit " + process.exitValue() + ")");
+        return times;
+    }
+}